@@ -0,0 +1,94 @@
+package io.temporal.openapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+/**
+ * Compares the throughput of I/O-bound activity calls on the SDK's default activity thread pool with
+ * the executors of the generated worker bootstrap. Each operation issues a burst of calls that each
+ * block for the simulated downstream latency, bounded by the worker's activity slots, and completes
+ * when all calls have returned; the score is bursts per second, so calls per second is the score times
+ * {@code calls}. The {@code virtual} executor needs JDK 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ActivityExecutorBenchmark {
+
+    /**
+     * {@code default}: 200 platform threads, the SDK's default maxConcurrentActivityExecutionSize;
+     * {@code platform}: the generated bootstrap's platform thread fallback of 400 threads;
+     * {@code virtual}: the generated bootstrap's virtual threads with 2000 activity slots
+     */
+    @Param({ "default", "platform", "virtual" })
+    public String executor;
+
+    @Param({ "20" })
+    public int latencyMillis;
+
+    @Param({ "4000" })
+    public int calls;
+
+    private ExecutorService executorService;
+    private Semaphore slots;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        switch (executor) {
+            case "default":
+                executorService = platformThreads(200);
+                slots = new Semaphore(200);
+                break;
+            case "platform":
+                executorService = platformThreads(400);
+                slots = new Semaphore(400);
+                break;
+            case "virtual":
+                if (Runtime.version().feature() < 21) {
+                    throw new IllegalStateException("Virtual threads require JDK 21 or later");
+                }
+                executorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+                slots = new Semaphore(2000);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + executor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(calls);
+        for (int i = 0; i < calls; i++) {
+            // Activity tasks are only polled while the worker has free slots
+            slots.acquire();
+            executorService.execute(() -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    slots.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static ExecutorService platformThreads(int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,114 @@
+package io.temporal.openapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares an activity invocation that creates the tag's API class on every call with one that reuses
+ * an instance created by the activity constructor. The client classes mirror the constructor and
+ * getters of OpenAPI Generator's {@code native} Java library, where creating an API class builds an
+ * {@link HttpClient} and copies the {@link ObjectMapper}. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiClientReuseBenchmark {
+
+    private ApiClient apiClient;
+    private PetsApi petsApi;
+    private long petId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        apiClient = new ApiClient(HttpClient.newBuilder(), new ObjectMapper(), "https://petstore.example.com/v1");
+        petsApi = new PetsApi(apiClient);
+    }
+
+    /**
+     * The previously generated method body: {@code PetsApi api = new PetsApi(apiClient)} per invocation
+     */
+    @Benchmark
+    public HttpRequest newApiPerInvocation() {
+        PetsApi api = new PetsApi(apiClient);
+        return api.getPet(++petId);
+    }
+
+    /**
+     * The generated method body calling the API instance held in a final field
+     */
+    @Benchmark
+    public HttpRequest sharedApiInstance() {
+        return petsApi.getPet(++petId);
+    }
+
+    /**
+     * Client settings shared by all API classes, as in the {@code native} library's {@code ApiClient}
+     */
+    static class ApiClient {
+        private final HttpClient.Builder builder;
+        private final ObjectMapper mapper;
+        private final String baseUri;
+
+        ApiClient(HttpClient.Builder builder, ObjectMapper mapper, String baseUri) {
+            this.builder = builder;
+            this.mapper = mapper;
+            this.baseUri = baseUri;
+        }
+
+        HttpClient getHttpClient() {
+            return builder.build();
+        }
+
+        ObjectMapper getObjectMapper() {
+            return mapper.copy();
+        }
+
+        String getBaseUri() {
+            return baseUri;
+        }
+
+        Duration getReadTimeout() {
+            return null;
+        }
+    }
+
+    /**
+     * A tag's API class; stateless apart from the settings copied from the client
+     */
+    static class PetsApi {
+        private final HttpClient memberVarHttpClient;
+        private final ObjectMapper memberVarObjectMapper;
+        private final String memberVarBaseUri;
+        private final Duration memberVarReadTimeout;
+
+        PetsApi(ApiClient apiClient) {
+            memberVarHttpClient = apiClient.getHttpClient();
+            memberVarObjectMapper = apiClient.getObjectMapper();
+            memberVarBaseUri = apiClient.getBaseUri();
+            memberVarReadTimeout = apiClient.getReadTimeout();
+        }
+
+        /**
+         * Build the request the generated client would send; sending it is outside the measured cost
+         */
+        HttpRequest getPet(long petId) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(memberVarBaseUri + "/pets/" + petId))
+                .header("Accept", "application/json")
+                .GET();
+            if (memberVarReadTimeout != null) {
+                request.timeout(memberVarReadTimeout);
+            }
+            return request.build();
+        }
+    }
+}
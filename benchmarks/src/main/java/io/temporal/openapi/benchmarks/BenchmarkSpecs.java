@@ -0,0 +1,86 @@
+package io.temporal.openapi.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the {@code spec} benchmark parameter to a spec file on disk:
+ * <ul>
+ *   <li>{@code petstore} and {@code aquasec} - the specs shipped with the example projects</li>
+ *   <li>{@code synthetic-<operations>x<schemas>} - a spec built by {@link SyntheticSpecGenerator}</li>
+ *   <li>anything else - a path to a spec file</li>
+ * </ul>
+ */
+final class BenchmarkSpecs {
+
+    static final String MODEL_PACKAGE = "com.example.benchmark.model";
+    static final String ACTIVITY_PACKAGE = "com.example.benchmark.activities";
+    static final String API_CLIENT_PACKAGE = "com.example.benchmark.client.api";
+    static final String ACTIVITY_NAME = "BenchmarkActivity";
+
+    private static final Pattern SYNTHETIC = Pattern.compile("synthetic-(\\d+)x(\\d+)");
+
+    private BenchmarkSpecs() {
+    }
+
+    /**
+     * Materialize the named spec into the given directory and return its path
+     */
+    static Path resolve(String spec, Path workDirectory) throws IOException {
+        switch (spec) {
+            case "petstore":
+                return copyResource("petstore-openapi.yaml", workDirectory);
+            case "aquasec":
+                return copyResource("aquasec-openapi.json", workDirectory);
+            default:
+                Matcher synthetic = SYNTHETIC.matcher(spec);
+                if (synthetic.matches()) {
+                    Path file = workDirectory.resolve(spec + ".json");
+                    new SyntheticSpecGenerator(Integer.parseInt(synthetic.group(1)), Integer.parseInt(synthetic.group(2)))
+                        .write(file);
+                    return file;
+                }
+                Path file = Path.of(spec);
+                if (!Files.isRegularFile(file)) {
+                    throw new IllegalArgumentException("Unknown benchmark spec: " + spec);
+                }
+                return file.toAbsolutePath();
+        }
+    }
+
+    /**
+     * Recursively delete a benchmark work directory
+     */
+    static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private static Path copyResource(String name, Path workDirectory) throws IOException {
+        Path file = workDirectory.resolve(name);
+        try (InputStream in = BenchmarkSpecs.class.getResourceAsStream("/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Benchmark spec not on classpath: " + name);
+            }
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+}
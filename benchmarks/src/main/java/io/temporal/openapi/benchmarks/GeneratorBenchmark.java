@@ -0,0 +1,111 @@
+package io.temporal.openapi.benchmarks;
+
+import com.squareup.javapoet.JavaFile;
+import io.temporal.openapi.generator.codegen.ActivityImplementationGenerator;
+import io.temporal.openapi.generator.codegen.ActivityInterfaceGenerator;
+import io.temporal.openapi.generator.codegen.ModelGenerator;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.SchemaModel;
+import io.temporal.openapi.generator.parser.OpenAPIParser;
+import io.temporal.openapi.generator.writer.GeneratedSourceWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures code generation from extracted models and writing the generated sources.
+ * Run with {@code -prof gc} to see allocation rates alongside timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({ "petstore", "aquasec", "synthetic-1000x500", "synthetic-10000x5000" })
+    public String spec;
+
+    private Path workDirectory;
+    private List<OperationModel> operations;
+    private List<SchemaModel> schemas;
+    private List<JavaFile> generatedFiles;
+    private Path unchangedOutput;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("generator-benchmark");
+        Path specFile = BenchmarkSpecs.resolve(spec, workDirectory);
+        OpenAPIParser parser = new OpenAPIParser(specFile.toString(), BenchmarkSpecs.MODEL_PACKAGE);
+        operations = parser.parseOperations();
+        schemas = parser.parseSchemas();
+
+        generatedFiles = new ArrayList<>(generateModels());
+        generatedFiles.add(generateInterface());
+        generatedFiles.add(generateImplementation());
+
+        unchangedOutput = workDirectory.resolve("unchanged");
+        writeAll(unchangedOutput);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkSpecs.delete(workDirectory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteWrittenSources() throws IOException {
+        try (var outputs = Files.newDirectoryStream(workDirectory, "written-*")) {
+            for (Path output : outputs) {
+                BenchmarkSpecs.delete(output);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<JavaFile> generateModels() {
+        return new ModelGenerator(BenchmarkSpecs.MODEL_PACKAGE).generateModels(schemas);
+    }
+
+    @Benchmark
+    public JavaFile generateInterface() {
+        return new ActivityInterfaceGenerator(BenchmarkSpecs.ACTIVITY_PACKAGE, BenchmarkSpecs.ACTIVITY_NAME)
+            .generateActivityInterface(operations);
+    }
+
+    @Benchmark
+    public JavaFile generateImplementation() {
+        return new ActivityImplementationGenerator(BenchmarkSpecs.ACTIVITY_PACKAGE, BenchmarkSpecs.ACTIVITY_NAME,
+            BenchmarkSpecs.API_CLIENT_PACKAGE).generateImplementation(operations);
+    }
+
+    /**
+     * Render and write every generated file into an empty directory
+     */
+    @Benchmark
+    public int writeSources() throws IOException {
+        return writeAll(Files.createTempDirectory(workDirectory, "written-"));
+    }
+
+    /**
+     * Render every generated file over identical existing output, which only compares content
+     */
+    @Benchmark
+    public int writeSourcesUnchanged() throws IOException {
+        return writeAll(unchangedOutput);
+    }
+
+    private int writeAll(Path outputDirectory) throws IOException {
+        GeneratedSourceWriter writer = new GeneratedSourceWriter(outputDirectory);
+        for (JavaFile file : generatedFiles) {
+            writer.write(file);
+        }
+        return writer.getWrittenCount();
+    }
+}
@@ -0,0 +1,112 @@
+package io.temporal.openapi.benchmarks;
+
+import com.uber.m3.tally.Buckets;
+import com.uber.m3.tally.Capabilities;
+import com.uber.m3.tally.CapableOf;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.ScopeCloseException;
+import com.uber.m3.tally.StatsReporter;
+import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.tally.ValueBuckets;
+import com.uber.m3.util.Duration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of the metrics the generated activity implementation records around an
+ * API call: tagging the activity's scope with the operation, the latency timer, the status class
+ * counter and the response size histogram. The activity scope is a tally root scope, as configured on
+ * the worker's service stubs, tagged like the SDK's per-activity scope, with a reporter that discards
+ * the values. Compare the score with the latency of the HTTP call itself; run with {@code -prof gc}
+ * for the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationMetricsBenchmark {
+
+    private static final Buckets PAYLOAD_SIZE_BUCKETS = ValueBuckets.exponential(64, 4, 10);
+
+    private com.uber.m3.tally.Scope rootScope;
+    private com.uber.m3.tally.Scope activityScope;
+    private Map<String, List<String>> headers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rootScope = new RootScopeBuilder()
+            .reporter(new DiscardingReporter())
+            .reportEvery(Duration.ofSeconds(10));
+        activityScope = rootScope.tagged(Map.of("namespace", "default", "task_queue", "pets",
+            "activity_type", "GetPet", "workflow_type", "PetWorkflow"));
+        headers = Map.of("Content-Length", List.of("512"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws ScopeCloseException {
+        rootScope.close();
+    }
+
+    /**
+     * The metrics recorded around a successful call by the generated method
+     */
+    @Benchmark
+    public void recordCall() {
+        com.uber.m3.tally.Scope metrics = activityScope.tagged(
+            Map.of("operation_id", "getPet", "api_tag", "pets", "http_method", "GET"));
+        Stopwatch latency = metrics.timer("openapi_request_latency").start();
+        latency.stop();
+        metrics.tagged(Map.of("status_class", "2xx")).counter("openapi_requests").inc(1);
+        List<String> contentLength = headers.get("Content-Length");
+        if (contentLength != null && !contentLength.isEmpty()) {
+            metrics.histogram("openapi_response_size", PAYLOAD_SIZE_BUCKETS)
+                .recordValue(Long.parseLong(contentLength.get(0).trim()));
+        }
+    }
+
+    /**
+     * Reporter standing in for a metrics backend; tally aggregates values in memory between reports
+     */
+    static class DiscardingReporter implements StatsReporter {
+        @Override
+        public void reportCounter(String name, Map<String, String> tags, long value) {
+        }
+
+        @Override
+        public void reportGauge(String name, Map<String, String> tags, double value) {
+        }
+
+        @Override
+        public void reportTimer(String name, Map<String, String> tags, Duration interval) {
+        }
+
+        @Override
+        public void reportHistogramValueSamples(String name, Map<String, String> tags, Buckets buckets,
+                                                double bucketLowerBound, double bucketUpperBound, long samples) {
+        }
+
+        @Override
+        public void reportHistogramDurationSamples(String name, Map<String, String> tags, Buckets buckets,
+                                                   Duration bucketLowerBound, Duration bucketUpperBound,
+                                                   long samples) {
+        }
+
+        @Override
+        public Capabilities capabilities() {
+            return CapableOf.REPORTING_TAGGING;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
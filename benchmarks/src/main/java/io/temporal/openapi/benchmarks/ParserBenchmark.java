@@ -0,0 +1,74 @@
+package io.temporal.openapi.benchmarks;
+
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.SchemaModel;
+import io.temporal.openapi.generator.parser.OpenAPIParser;
+import io.temporal.openapi.generator.parser.TypeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spec loading and extraction of the operation and schema models.
+ * Run with {@code -prof gc} to see allocation rates alongside timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "petstore", "aquasec", "synthetic-1000x500", "synthetic-10000x5000" })
+    public String spec;
+
+    private Path workDirectory;
+    private String specPath;
+    private OpenAPIParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("parser-benchmark");
+        specPath = BenchmarkSpecs.resolve(spec, workDirectory).toString();
+        parser = new OpenAPIParser(specPath, BenchmarkSpecs.MODEL_PACKAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkSpecs.delete(workDirectory);
+    }
+
+    /**
+     * Read and resolve the spec with swagger-parser
+     */
+    @Benchmark
+    public OpenAPIParser loadSpec() {
+        return new OpenAPIParser(specPath, BenchmarkSpecs.MODEL_PACKAGE);
+    }
+
+    /**
+     * Extract operation models from an already loaded spec.
+     * A fresh parser is used so type resolution is not served from a previous invocation.
+     */
+    @Benchmark
+    public List<OperationModel> parseOperations() {
+        return newParser().parseOperations();
+    }
+
+    /**
+     * Extract schema models from an already loaded spec
+     */
+    @Benchmark
+    public List<SchemaModel> parseSchemas() {
+        return newParser().parseSchemas();
+    }
+
+    private OpenAPIParser newParser() {
+        return new OpenAPIParser(parser.getOpenAPI(), new TypeMapper(parser.getOpenAPI(), BenchmarkSpecs.MODEL_PACKAGE));
+    }
+}
@@ -0,0 +1,172 @@
+package io.temporal.openapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates OpenAPI 3 specs of arbitrary size for benchmarking.
+ * Output is deterministic for a given operation and schema count, so runs are comparable.
+ *
+ * <p>Operations are laid out as REST resources of five operations each
+ * (list, create, get, update, delete), grouped into tags of 50 operations.
+ * Schemas mix primitive, date, array, map and {@code $ref} properties and
+ * reference each other so type resolution and reachability see realistic graphs.
+ */
+public class SyntheticSpecGenerator {
+
+    private static final String[] METHODS = { "get", "post", "get", "put", "delete" };
+    private static final String[] VERBS = { "list", "create", "get", "update", "delete" };
+
+    private final int operationCount;
+    private final int schemaCount;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public SyntheticSpecGenerator(int operationCount, int schemaCount) {
+        if (operationCount < 1 || schemaCount < 1) {
+            throw new IllegalArgumentException("Operation and schema counts must be positive");
+        }
+        this.operationCount = operationCount;
+        this.schemaCount = schemaCount;
+    }
+
+    /**
+     * Usage: {@code SyntheticSpecGenerator <operations> <schemas> <output.json>}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: SyntheticSpecGenerator <operations> <schemas> <output.json>");
+            System.exit(1);
+        }
+        new SyntheticSpecGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]))
+            .write(Paths.get(args[2]));
+    }
+
+    /**
+     * Write the spec as JSON to the given file
+     */
+    public void write(Path file) throws IOException {
+        mapper.writeValue(file.toFile(), generate());
+    }
+
+    /**
+     * Build the spec document
+     */
+    public ObjectNode generate() {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("openapi", "3.0.3");
+        root.putObject("info")
+            .put("title", "Synthetic API " + operationCount + "x" + schemaCount)
+            .put("version", "1.0.0");
+
+        ObjectNode paths = root.putObject("paths");
+        for (int i = 0; i < operationCount; i++) {
+            addOperation(paths, i);
+        }
+
+        ObjectNode schemas = root.putObject("components").putObject("schemas");
+        for (int i = 0; i < schemaCount; i++) {
+            schemas.set(schemaName(i), schema(i));
+        }
+        return root;
+    }
+
+    private void addOperation(ObjectNode paths, int index) {
+        int resource = index / METHODS.length;
+        int slot = index % METHODS.length;
+        boolean item = slot >= 2;
+        String path = "/resources" + resource + (item ? "/{id}" : "");
+        String schema = schemaRef(resource);
+
+        ObjectNode pathItem = paths.has(path) ? (ObjectNode) paths.get(path) : paths.putObject(path);
+        ObjectNode operation = pathItem.putObject(METHODS[slot]);
+        operation.put("operationId", VERBS[slot] + "Resource" + resource);
+        operation.put("summary", VERBS[slot] + " resource " + resource);
+        operation.putArray("tags").add("Group" + (index / 50));
+
+        ArrayNode parameters = operation.putArray("parameters");
+        if (item) {
+            parameters.add(parameter("id", "path", true, mapper.createObjectNode().put("type", "string")));
+        } else if (slot == 0) {
+            parameters.add(parameter("page", "query", false,
+                mapper.createObjectNode().put("type", "integer").put("format", "int32")));
+            parameters.add(parameter("pageSize", "query", false,
+                mapper.createObjectNode().put("type", "integer").put("format", "int32")));
+        }
+        parameters.add(parameter("X-Request-Id", "header", false,
+            mapper.createObjectNode().put("type", "string").put("format", "uuid")));
+
+        if (slot == 1 || slot == 3) {
+            operation.putObject("requestBody")
+                .put("required", true)
+                .set("content", jsonContent(ref(schema)));
+        }
+
+        ObjectNode responses = operation.putObject("responses");
+        if (slot == 4) {
+            responses.putObject("204").put("description", "Deleted");
+        } else {
+            ObjectNode body = slot == 0
+                ? mapper.createObjectNode().put("type", "array").set("items", ref(schema))
+                : ref(schema);
+            responses.putObject("200")
+                .put("description", "Success")
+                .set("content", jsonContent(body));
+        }
+        responses.putObject("404").put("description", "Not found");
+    }
+
+    private ObjectNode schema(int index) {
+        ObjectNode schema = mapper.createObjectNode();
+        schema.put("type", "object");
+        schema.put("description", "Synthetic schema " + index);
+        schema.putArray("required").add("id").add("name");
+
+        ObjectNode properties = schema.putObject("properties");
+        properties.putObject("id").put("type", "string").put("format", "uuid");
+        properties.putObject("name").put("type", "string").put("description", "Display name");
+        properties.putObject("count").put("type", "integer").put("format", "int64");
+        properties.putObject("ratio").put("type", "number").put("format", "double");
+        properties.putObject("enabled").put("type", "boolean");
+        properties.putObject("createdAt").put("type", "string").put("format", "date-time");
+        properties.putObject("labels").put("type", "array")
+            .putObject("items").put("type", "string");
+        properties.putObject("attributes").put("type", "object")
+            .putObject("additionalProperties").put("type", "string");
+        properties.set("parent", ref(schemaRef(index + 1)));
+        properties.putObject("children").put("type", "array")
+            .set("items", ref(schemaRef(index * 7 + 3)));
+        return schema;
+    }
+
+    private ObjectNode parameter(String name, String in, boolean required, ObjectNode schema) {
+        ObjectNode parameter = mapper.createObjectNode();
+        parameter.put("name", name);
+        parameter.put("in", in);
+        parameter.put("required", required);
+        parameter.set("schema", schema);
+        return parameter;
+    }
+
+    private ObjectNode jsonContent(ObjectNode schema) {
+        ObjectNode content = mapper.createObjectNode();
+        content.putObject("application/json").set("schema", schema);
+        return content;
+    }
+
+    private ObjectNode ref(String schemaName) {
+        return mapper.createObjectNode().put("$ref", "#/components/schemas/" + schemaName);
+    }
+
+    private String schemaRef(int index) {
+        return schemaName(index % schemaCount);
+    }
+
+    private static String schemaName(int index) {
+        return "Schema" + index;
+    }
+}
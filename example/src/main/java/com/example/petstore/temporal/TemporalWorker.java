@@ -1,7 +1,7 @@
 package com.example.petstore.temporal;
 
 import com.example.petstore.client.ApiClient;
-import com.example.petstore.temporal.activities.PetStoreActivityImpl;
+import com.example.petstore.temporal.activities.PetStoreActivityWorker;
 import com.example.petstore.temporal.workflow.PetManagementWorkflow;
 import com.example.petstore.temporal.workflow.PetManagementWorkflowImpl;
 import io.temporal.client.WorkflowClient;
@@ -22,20 +22,19 @@ public class TemporalWorker {
         WorkflowClient client = WorkflowClient.newInstance(service);
         WorkerFactory factory = WorkerFactory.newInstance(client);
 
-        // Create worker
-        Worker worker = factory.newWorker(TASK_QUEUE);
-
-        // Register workflow implementation
-        worker.registerWorkflowImplementationTypes(PetManagementWorkflowImpl.class);
-
         // Create and configure OpenAPI client
         ApiClient apiClient = new ApiClient();
         apiClient.setBasePath("https://api.petstore.example.com/v1");
         // Add authentication if needed
         // apiClient.setApiKey("your-api-key");
 
-        // Register activity implementation with the API client
-        worker.registerActivitiesImplementations(new PetStoreActivityImpl(apiClient));
+        // Create a worker with the generated WorkerOptions, overridable by system properties such as
+        // -Dtemporal.worker.pet-store-task-queue.maxConcurrentActivityExecutionSize=100,
+        // and register the activity implementation with the API client
+        Worker worker = PetStoreActivityWorker.newWorker(factory, TASK_QUEUE, apiClient);
+
+        // Register workflow implementation
+        worker.registerWorkflowImplementationTypes(PetManagementWorkflowImpl.class);
 
         // Start the worker
         System.out.println("Starting Temporal worker for task queue: " + TASK_QUEUE);
@@ -0,0 +1,291 @@
+package io.temporal.openapi.generator.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Dependency graph of an OpenAPI spec following {@code $ref} edges from operations to
+ * components and from components to nested components. Every node carries a hash of its
+ * own content, and the hash of a node's subgraph covers everything reachable from it.
+ */
+public class DependencyGraph {
+
+    private static final String COMPONENTS_PREFIX = "#/components/";
+    private static final String SCHEMAS_PREFIX = COMPONENTS_PREFIX + "schemas/";
+    private static final String OPERATION_PREFIX = "operation:";
+
+    private final Map<String, Node> nodes;
+    private final Map<String, String> subgraphHashes = new HashMap<>();
+
+    public DependencyGraph(Map<String, Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Build the graph for all operations and components of a parsed spec
+     */
+    public static DependencyGraph build(OpenAPI openAPI) {
+        ObjectMapper mapper = Json.mapper();
+        Map<String, Node> nodes = new LinkedHashMap<>();
+
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
+                for (Map.Entry<PathItem.HttpMethod, Operation> operationEntry :
+                        pathEntry.getValue().readOperationsMap().entrySet()) {
+                    String id = operationNodeId(operationEntry.getKey().name(), pathEntry.getKey());
+                    nodes.put(id, toNode(mapper, operationEntry.getValue()));
+                }
+            }
+        }
+
+        Components components = openAPI.getComponents();
+        if (components != null) {
+            addComponents(mapper, nodes, "schemas", components.getSchemas());
+            addComponents(mapper, nodes, "responses", components.getResponses());
+            addComponents(mapper, nodes, "parameters", components.getParameters());
+            addComponents(mapper, nodes, "examples", components.getExamples());
+            addComponents(mapper, nodes, "requestBodies", components.getRequestBodies());
+            addComponents(mapper, nodes, "headers", components.getHeaders());
+        }
+
+        return new DependencyGraph(nodes);
+    }
+
+    /**
+     * Node id of a component schema
+     */
+    public static String schemaNodeId(String schemaName) {
+        return SCHEMAS_PREFIX + schemaName;
+    }
+
+    /**
+     * Node id of an operation
+     */
+    public static String operationNodeId(String httpMethod, String path) {
+        return OPERATION_PREFIX + httpMethod.toUpperCase(Locale.ROOT) + " " + path;
+    }
+
+    /**
+     * Get the hash of everything reachable from a node, including the node itself.
+     * Unknown nodes hash to a marker value so dangling references still compare stably.
+     */
+    public synchronized String subgraphHash(String id) {
+        String cached = subgraphHashes.get(id);
+        if (cached == null) {
+            hashComponentsFrom(id);
+            cached = subgraphHashes.get(id);
+        }
+        return cached;
+    }
+
+    /**
+     * Combine the subgraph hashes of several nodes, in the given order
+     */
+    public String aggregateHash(Collection<String> ids) {
+        MessageDigest digest = GenerationFingerprint.newDigest();
+        for (String id : ids) {
+            update(digest, id + "=" + subgraphHash(id));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Get all node ids transitively reachable from the given start nodes, in sorted order
+     */
+    public SortedSet<String> reachableFrom(Collection<String> startIds) {
+        SortedSet<String> visited = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(startIds);
+        while (!pending.isEmpty()) {
+            String id = pending.pop();
+            if (!visited.add(id)) {
+                continue;
+            }
+            Node node = nodes.get(id);
+            if (node != null) {
+                pending.addAll(node.getReferences());
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Get the names of all component schemas transitively reachable from the given start nodes
+     */
+    public Set<String> reachableSchemas(Collection<String> startIds) {
+        Set<String> schemaNames = new LinkedHashSet<>();
+        for (String id : reachableFrom(startIds)) {
+            if (id.startsWith(SCHEMAS_PREFIX)) {
+                schemaNames.add(id.substring(SCHEMAS_PREFIX.length()));
+            }
+        }
+        return schemaNames;
+    }
+
+    public Map<String, Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Hash every strongly connected component reachable from the start node, children first
+     * (Tarjan's algorithm, iteratively). A component's hash covers its members' own hashes and
+     * the hashes of the components it references, so each node is hashed once however many
+     * nodes reach it, and every member of a reference cycle shares the cycle's hash.
+     */
+    private void hashComponentsFrom(String startId) {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<Map.Entry<String, Iterator<String>>> calls = new ArrayDeque<>();
+
+        visit(startId, index, lowLink, stack, onStack, calls);
+        while (!calls.isEmpty()) {
+            Map.Entry<String, Iterator<String>> call = calls.peek();
+            String id = call.getKey();
+            if (call.getValue().hasNext()) {
+                String next = call.getValue().next();
+                if (subgraphHashes.containsKey(next)) {
+                    continue;
+                }
+                if (!index.containsKey(next)) {
+                    visit(next, index, lowLink, stack, onStack, calls);
+                } else if (onStack.contains(next)) {
+                    lowLink.put(id, Math.min(lowLink.get(id), index.get(next)));
+                }
+                continue;
+            }
+
+            calls.pop();
+            if (!calls.isEmpty()) {
+                String parent = calls.peek().getKey();
+                lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(id)));
+            }
+            if (lowLink.get(id).equals(index.get(id))) {
+                SortedSet<String> members = new TreeSet<>();
+                String member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    members.add(member);
+                } while (!member.equals(id));
+                hashComponent(members);
+            }
+        }
+    }
+
+    private void visit(String id, Map<String, Integer> index, Map<String, Integer> lowLink, Deque<String> stack,
+                       Set<String> onStack, Deque<Map.Entry<String, Iterator<String>>> calls) {
+        index.put(id, index.size());
+        lowLink.put(id, index.get(id));
+        stack.push(id);
+        onStack.add(id);
+        calls.push(new AbstractMap.SimpleEntry<>(id, references(id).iterator()));
+    }
+
+    private void hashComponent(SortedSet<String> members) {
+        SortedSet<String> referencedComponents = new TreeSet<>();
+        for (String member : members) {
+            for (String reference : references(member)) {
+                if (!members.contains(reference)) {
+                    referencedComponents.add(subgraphHashes.get(reference));
+                }
+            }
+        }
+
+        MessageDigest digest = GenerationFingerprint.newDigest();
+        for (String member : members) {
+            Node node = nodes.get(member);
+            update(digest, member + "=" + (node != null ? node.getHash() : "<missing>"));
+        }
+        for (String referencedComponent : referencedComponents) {
+            update(digest, "->" + referencedComponent);
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        for (String member : members) {
+            subgraphHashes.put(member, hash);
+        }
+    }
+
+    private List<String> references(String id) {
+        Node node = nodes.get(id);
+        return node != null ? node.getReferences() : Collections.emptyList();
+    }
+
+    private static void addComponents(ObjectMapper mapper, Map<String, Node> nodes,
+                                      String type, Map<String, ?> components) {
+        if (components == null) {
+            return;
+        }
+        for (Map.Entry<String, ?> entry : components.entrySet()) {
+            nodes.put(COMPONENTS_PREFIX + type + "/" + entry.getKey(), toNode(mapper, entry.getValue()));
+        }
+    }
+
+    private static Node toNode(ObjectMapper mapper, Object value) {
+        JsonNode tree = mapper.valueToTree(value);
+        Set<String> references = new TreeSet<>();
+        collectReferences(tree, references);
+
+        MessageDigest digest = GenerationFingerprint.newDigest();
+        update(digest, tree.toString());
+        return new Node(HexFormat.of().formatHex(digest.digest()), new ArrayList<>(references));
+    }
+
+    private static void collectReferences(JsonNode tree, Set<String> references) {
+        if (tree.isObject()) {
+            JsonNode ref = tree.get("$ref");
+            if (ref != null && ref.isTextual() && ref.asText().startsWith("#/")) {
+                references.add(ref.asText());
+            }
+        }
+        for (JsonNode child : tree) {
+            collectReferences(child, references);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * A node of the graph: the hash of its own content and the ids it references
+     */
+    public static class Node {
+        private String hash;
+        private List<String> references = new ArrayList<>();
+
+        public Node() {
+        }
+
+        public Node(String hash, List<String> references) {
+            this.hash = hash;
+            this.references = references;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public List<String> getReferences() {
+            return references;
+        }
+
+        public void setReferences(List<String> references) {
+            this.references = references;
+        }
+    }
+}
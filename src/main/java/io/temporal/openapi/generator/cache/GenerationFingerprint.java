@@ -0,0 +1,117 @@
+package io.temporal.openapi.generator.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a SHA-256 fingerprint over everything that influences generated sources:
+ * the spec bytes, local files it references through {@code $ref}, plugin configuration
+ * values and the plugin version.
+ */
+public class GenerationFingerprint {
+
+    // Matches the target of a $ref in both JSON ("$ref": "x") and YAML ($ref: x / $ref: 'x')
+    private static final Pattern REF_PATTERN =
+        Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}]+)");
+
+    private final MessageDigest digest;
+    private final Set<Path> visitedFiles = new HashSet<>();
+    private boolean untrackedReferences;
+
+    public GenerationFingerprint() {
+        this.digest = newDigest();
+    }
+
+    /**
+     * Add a named configuration value
+     */
+    public GenerationFingerprint putValue(String name, Object value) {
+        update("value:" + name + "=" + Objects.toString(value, "<null>"));
+        return this;
+    }
+
+    /**
+     * Add a spec file and, transitively, every local file it references through {@code $ref}.
+     * Remote references cannot be tracked and mark the fingerprint as untracked.
+     */
+    public GenerationFingerprint putSpec(Path specFile) throws IOException {
+        Path normalized = specFile.toAbsolutePath().normalize();
+        if (!visitedFiles.add(normalized)) {
+            return this;
+        }
+
+        byte[] content = Files.readAllBytes(normalized);
+        update("spec:" + normalized);
+        digest.update(content);
+
+        for (String reference : findExternalReferences(new String(content, StandardCharsets.UTF_8))) {
+            if (reference.startsWith("http://") || reference.startsWith("https://")) {
+                untrackedReferences = true;
+                update("remote:" + reference);
+                continue;
+            }
+            Path referenced = normalized.resolveSibling(reference).normalize();
+            if (Files.isRegularFile(referenced)) {
+                putSpec(referenced);
+            } else {
+                update("missing:" + referenced);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Whether the spec references remote documents whose content is not covered by this fingerprint
+     */
+    public boolean hasUntrackedReferences() {
+        return untrackedReferences;
+    }
+
+    /**
+     * Get the fingerprint as a lowercase hex string
+     */
+    public String toHex() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest is not cloneable", e);
+        }
+    }
+
+    /**
+     * Extract the document part of every non-local $ref in the given spec text
+     */
+    static Set<String> findExternalReferences(String specText) {
+        Set<String> references = new TreeSet<>();
+        Matcher matcher = REF_PATTERN.matcher(specText);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            int fragment = ref.indexOf('#');
+            String document = fragment >= 0 ? ref.substring(0, fragment) : ref;
+            if (!document.isEmpty()) {
+                references.add(document);
+            }
+        }
+        return references;
+    }
+
+    private void update(String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
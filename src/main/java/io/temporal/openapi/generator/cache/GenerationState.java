@@ -0,0 +1,106 @@
+package io.temporal.openapi.generator.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of the previous generator run, persisted as JSON under the build directory
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GenerationState {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String fingerprint;
+    private String configFingerprint;
+    private List<String> files = new ArrayList<>();
+    private Map<String, String> inputs = new LinkedHashMap<>();
+
+    public GenerationState() {
+    }
+
+    public GenerationState(String fingerprint, List<String> files) {
+        this.fingerprint = fingerprint;
+        this.files = files;
+    }
+
+    /**
+     * Load state from the given file, returning null if it is missing or unreadable
+     */
+    public static GenerationState load(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(stateFile.toFile(), GenerationState.class);
+        } catch (IOException e) {
+            // A corrupt state file only costs a full regeneration
+            return null;
+        }
+    }
+
+    public void save(Path stateFile) throws IOException {
+        Files.createDirectories(stateFile.getParent());
+        MAPPER.writeValue(stateFile.toFile(), this);
+    }
+
+    /**
+     * Check whether every recorded output file still exists below the output directory
+     */
+    public boolean outputsExist(Path outputDirectory) {
+        if (files == null || files.isEmpty()) {
+            return false;
+        }
+        for (String file : files) {
+            if (!Files.isRegularFile(outputDirectory.resolve(file))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getConfigFingerprint() {
+        return configFingerprint;
+    }
+
+    public void setConfigFingerprint(String configFingerprint) {
+        this.configFingerprint = configFingerprint;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<String> files) {
+        this.files = files;
+    }
+
+    /**
+     * Get the input hash each generated file was produced from, keyed by relative path
+     */
+    public Map<String, String> getInputs() {
+        return inputs;
+    }
+
+    public void setInputs(Map<String, String> inputs) {
+        this.inputs = inputs;
+    }
+}
@@ -0,0 +1,46 @@
+package io.temporal.openapi.generator.cache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Decides which generated files must be rebuilt by comparing the hash of each file's
+ * inputs with the hash recorded by the previous run
+ */
+public class IncrementalPlan {
+
+    private final Map<String, String> previousInputs;
+    private final Path outputDirectory;
+    private final Map<String, String> inputs = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param previousInputs input hashes of the previous run, or null to rebuild everything
+     * @param outputDirectory directory the files were generated into
+     */
+    public IncrementalPlan(Map<String, String> previousInputs, Path outputDirectory) {
+        this.previousInputs = previousInputs;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Check whether a file was generated from the same inputs and still exists
+     */
+    public boolean isUpToDate(String relativePath, String inputHash) {
+        return previousInputs != null
+            && inputHash.equals(previousInputs.get(relativePath))
+            && Files.isRegularFile(outputDirectory.resolve(relativePath));
+    }
+
+    /**
+     * Record the input hash a file is produced from in this run. Safe to call from several threads.
+     */
+    public void record(String relativePath, String inputHash) {
+        inputs.put(relativePath, inputHash);
+    }
+
+    public Map<String, String> getInputs() {
+        return inputs;
+    }
+}
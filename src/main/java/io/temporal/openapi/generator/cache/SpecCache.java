@@ -0,0 +1,98 @@
+package io.temporal.openapi.generator.cache;
+
+import io.temporal.openapi.generator.model.SpecModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide, bounded cache of extracted spec models. Modules of a parallel reactor build,
+ * or successive builds in a long-lived Maven daemon, that point at the same spec with the same
+ * extraction settings share one parse. Entries are keyed by canonical path, size and a content
+ * hash that also covers locally referenced files, so an edited spec is never served stale.
+ * Only the extracted {@link SpecModel} is cached; the swagger model it was built from becomes
+ * unreachable as soon as extraction completes. Cached models are shared and must be treated as read-only.
+ */
+public final class SpecCache {
+
+    private static final int MAX_ENTRIES = 8;
+
+    private static final SpecCache INSTANCE = new SpecCache(MAX_ENTRIES);
+
+    private final Map<String, CompletableFuture<SpecModel>> entries;
+
+    SpecCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<SpecModel>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static SpecCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the extracted model of a spec, running the loader only if no identical extraction is cached.
+     * Concurrent callers asking for the same extraction wait for a single load, which runs on the
+     * thread of the first caller.
+     *
+     * @param contentHash hash of the spec computed with {@link GenerationFingerprint#putSpec}
+     * @param extractionKey settings that influence extraction, such as the model package and operation filter
+     * @param loader parses and extracts the spec
+     */
+    public SpecModel getModel(Path specFile, String contentHash, String extractionKey,
+                              Supplier<SpecModel> loader) throws IOException {
+        Path canonical = specFile.toRealPath();
+        String key = canonical + "|" + Files.size(canonical) + "|" + contentHash + "|" + extractionKey;
+        CompletableFuture<SpecModel> entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new CompletableFuture<>();
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            try {
+                entry.complete(loader.get());
+            } catch (Throwable e) {
+                // Also on errors such as a StackOverflowError, so waiting callers do not hang
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Remove all cached specs
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package io.temporal.openapi.generator.cache;
+
+import io.temporal.openapi.generator.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * On-disk cache of extracted {@link SpecModel}s in a compact binary format, so warm builds
+ * can skip swagger-parser entirely. Entries are keyed by the spec content hash together with
+ * everything else that influences extraction, and are written atomically so concurrent
+ * builds sharing a cache directory never observe partial files.
+ */
+public class SpecModelCache {
+
+    private static final int MAGIC = 0x54_4F_41_43; // "TOAC"
+    private static final int FORMAT_VERSION = 7;
+
+    private static final int NULL_STRING = -1;
+    private static final int NEW_STRING = -2;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_VOID = 1;
+    private static final byte TYPE_CLASS = 2;
+    private static final byte TYPE_LIST = 3;
+    private static final byte TYPE_MAP = 4;
+    private static final byte TYPE_BYTE_ARRAY = 5;
+
+    private final Path directory;
+
+    public SpecModelCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Compute the cache key for a spec
+     *
+     * @param specContentHash hash of the spec and its locally referenced files
+     * @param pluginVersion version of the plugin performing the extraction
+     * @param extractionSettings settings that influence extraction, such as the model package
+     */
+    public static String key(String specContentHash, String pluginVersion, Object... extractionSettings) {
+        StringBuilder value = new StringBuilder()
+            .append(FORMAT_VERSION).append('|')
+            .append(specContentHash).append('|')
+            .append(pluginVersion);
+        for (Object setting : extractionSettings) {
+            value.append('|').append(setting);
+        }
+        MessageDigest digest = GenerationFingerprint.newDigest();
+        return HexFormat.of().formatHex(digest.digest(value.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Load a cached spec model, returning null if it is missing or unreadable
+     */
+    public SpecModel load(String key) {
+        Path file = directory.resolve(key + ".bin");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return new Reader(in).readSpec();
+        } catch (IOException | RuntimeException e) {
+            // A corrupt entry only costs a fresh parse
+            return null;
+        }
+    }
+
+    /**
+     * Store a spec model under the given key
+     */
+    public void save(String key, SpecModel spec) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(key + ".bin");
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                new Writer(out).writeSpec(spec);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Writes a spec model, replacing repeated strings with references into a string table
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeSpec(SpecModel spec) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(spec.getOperations().size());
+            for (OperationModel operation : spec.getOperations()) {
+                writeOperation(operation);
+            }
+
+            out.writeInt(spec.getSchemas().size());
+            for (SchemaModel schema : spec.getSchemas()) {
+                writeString(schema.getName());
+                writeString(schema.getDescription());
+                out.writeInt(schema.getProperties().size());
+                for (PropertyModel property : schema.getProperties()) {
+                    writeString(property.getName());
+                    writeType(property.getJavaType());
+                    out.writeBoolean(property.isRequired());
+                    writeString(property.getDescription());
+                }
+            }
+
+            Map<String, DependencyGraph.Node> nodes = spec.getGraph().getNodes();
+            out.writeInt(nodes.size());
+            for (Map.Entry<String, DependencyGraph.Node> entry : nodes.entrySet()) {
+                writeString(entry.getKey());
+                writeString(entry.getValue().getHash());
+                writeStrings(entry.getValue().getReferences());
+            }
+        }
+
+        private void writeOperation(OperationModel operation) throws IOException {
+            writeString(operation.getOperationId());
+            writeString(operation.getHttpMethod());
+            writeString(operation.getPath());
+            writeString(operation.getSummary());
+            writeString(operation.getDescription());
+
+            out.writeInt(operation.getParameters().size());
+            for (ParameterModel parameter : operation.getParameters()) {
+                writeString(parameter.getName());
+                writeString(parameter.getIn());
+                writeString(parameter.getType());
+                writeType(parameter.getJavaType());
+                out.writeBoolean(parameter.isRequired());
+                writeString(parameter.getDescription());
+                writeString(parameter.getSchemaRef());
+            }
+
+            RequestBodyModel requestBody = operation.getRequestBody();
+            out.writeBoolean(requestBody != null);
+            if (requestBody != null) {
+                writeString(requestBody.getDescription());
+                out.writeBoolean(requestBody.isRequired());
+                writeContent(requestBody.getContentTypes());
+            }
+
+            ResponseModel response = operation.getResponse();
+            writeString(response.getStatusCode());
+            writeString(response.getDescription());
+            writeContent(response.getContentTypes());
+            writeStrings(operation.getErrorStatusCodes());
+
+            writeStrings(operation.getTags());
+
+            RetryMetadata retry = operation.getRetryMetadata();
+            out.writeInt(retry.getInitialInterval());
+            out.writeInt(retry.getMaximumInterval());
+            out.writeDouble(retry.getBackoffCoefficient());
+            out.writeInt(retry.getMaximumAttempts());
+
+            out.writeBoolean(operation.isIdempotent());
+            out.writeBoolean(operation.hasIdempotencyKey());
+            out.writeDouble(operation.getRateLimit());
+            out.writeInt(operation.getBatchConcurrency());
+
+            PaginationModel pagination = operation.getPagination();
+            out.writeBoolean(pagination != null);
+            if (pagination != null) {
+                writeString(pagination.getStyle().name());
+                writeString(pagination.getParameter());
+                writeString(pagination.getSizeParameter());
+                writeString(pagination.getItemsProperty());
+                writeString(pagination.getNextCursorProperty());
+                out.writeLong(pagination.getFirstPage());
+            }
+        }
+
+        private void writeContent(Map<String, MediaTypeModel> content) throws IOException {
+            out.writeInt(content.size());
+            for (MediaTypeModel mediaType : content.values()) {
+                writeString(mediaType.getContentType());
+                writeType(mediaType.getJavaType());
+                writeString(mediaType.getSchemaRef());
+                out.writeBoolean(mediaType.isArray());
+                writeType(mediaType.getItemType());
+            }
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        private void writeType(JavaType type) throws IOException {
+            if (type == null) {
+                out.writeByte(TYPE_NULL);
+                return;
+            }
+            switch (type.getKind()) {
+                case VOID:
+                    out.writeByte(TYPE_VOID);
+                    break;
+                case BYTE_ARRAY:
+                    out.writeByte(TYPE_BYTE_ARRAY);
+                    break;
+                case LIST:
+                    out.writeByte(TYPE_LIST);
+                    writeType(type.getTypeArguments().get(0));
+                    break;
+                case MAP:
+                    out.writeByte(TYPE_MAP);
+                    writeType(type.getTypeArguments().get(1));
+                    break;
+                default:
+                    out.writeByte(TYPE_CLASS);
+                    writeString(type.toString());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(NEW_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a spec model written by {@link Writer}
+     */
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, JavaType> classTypes = new HashMap<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        SpecModel readSpec() throws IOException {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported spec model cache format");
+            }
+
+            int operationCount = in.readInt();
+            List<OperationModel> operations = new ArrayList<>(operationCount);
+            for (int i = 0; i < operationCount; i++) {
+                operations.add(readOperation());
+            }
+
+            int schemaCount = in.readInt();
+            List<SchemaModel> schemas = new ArrayList<>(schemaCount);
+            for (int i = 0; i < schemaCount; i++) {
+                String name = readString();
+                String description = readString();
+                int propertyCount = in.readInt();
+                List<PropertyModel> properties = new ArrayList<>(propertyCount);
+                for (int j = 0; j < propertyCount; j++) {
+                    properties.add(new PropertyModel(readString(), readType(), in.readBoolean(), readString()));
+                }
+                schemas.add(new SchemaModel(name, description, properties));
+            }
+
+            int nodeCount = in.readInt();
+            Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+            for (int i = 0; i < nodeCount; i++) {
+                String id = readString();
+                nodes.put(id, new DependencyGraph.Node(readString(), readStrings()));
+            }
+
+            return new SpecModel(operations, schemas, new DependencyGraph(nodes));
+        }
+
+        private OperationModel readOperation() throws IOException {
+            String operationId = readString();
+            String httpMethod = readString();
+            String path = readString();
+            String summary = readString();
+            String description = readString();
+
+            int parameterCount = in.readInt();
+            List<ParameterModel> parameters = new ArrayList<>(parameterCount);
+            for (int i = 0; i < parameterCount; i++) {
+                parameters.add(new ParameterModel(readString(), readString(), readString(), readType(),
+                    in.readBoolean(), readString(), readString()));
+            }
+
+            RequestBodyModel requestBody = null;
+            if (in.readBoolean()) {
+                requestBody = new RequestBodyModel(readString(), in.readBoolean(), readContent());
+            }
+
+            ResponseModel response = new ResponseModel(readString(), readString(), readContent());
+            List<String> errorStatusCodes = readStrings();
+            List<String> tags = readStrings();
+            RetryMetadata retryMetadata = new RetryMetadata(in.readInt(), in.readInt(), in.readDouble(), in.readInt());
+            boolean idempotent = in.readBoolean();
+            boolean idempotencyKey = in.readBoolean();
+            double rateLimit = in.readDouble();
+            int batchConcurrency = in.readInt();
+            PaginationModel pagination = null;
+            if (in.readBoolean()) {
+                pagination = new PaginationModel(PaginationModel.Style.valueOf(readString()), readString(), readString(),
+                    readString(), readString(), in.readLong());
+            }
+
+            return new OperationModel(operationId, httpMethod, path, summary, description,
+                parameters, requestBody, response, errorStatusCodes, tags, retryMetadata, idempotent, idempotencyKey,
+                rateLimit, batchConcurrency, pagination);
+        }
+
+        private Map<String, MediaTypeModel> readContent() throws IOException {
+            int count = in.readInt();
+            // Same map type as the parser so the primary content type resolves identically
+            Map<String, MediaTypeModel> content = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                MediaTypeModel mediaType = new MediaTypeModel(readString(), readType(), readString(),
+                    in.readBoolean(), readType());
+                content.put(mediaType.getContentType(), mediaType);
+            }
+            return content;
+        }
+
+        private JavaType readType() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_VOID:
+                    return JavaType.VOID;
+                case TYPE_BYTE_ARRAY:
+                    return JavaType.BYTE_ARRAY;
+                case TYPE_LIST:
+                    return JavaType.listOf(readType());
+                case TYPE_MAP:
+                    return JavaType.mapOf(readType());
+                case TYPE_CLASS:
+                    // Class names repeat across the model, share one instance per name
+                    return classTypes.computeIfAbsent(readString(), JavaType::classType);
+                default:
+                    throw new IOException("Unknown type tag " + tag);
+            }
+        }
+
+        private List<String> readStrings() throws IOException {
+            int count = in.readInt();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private String readString() throws IOException {
+            int marker = in.readInt();
+            if (marker == NULL_STRING) {
+                return null;
+            }
+            if (marker != NEW_STRING) {
+                return strings.get(marker);
+            }
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.*;
+import io.temporal.openapi.generator.model.JavaType;
+import io.temporal.openapi.generator.model.MediaTypeModel;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.ParameterModel;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Generates a workflow-side companion of the activity interface whose methods start the activity and
+ * return a {@code Promise} of its result, and a helper running a call per input with bounded parallelism,
+ * so workflows can fan out over independent API calls without writing {@code Async.function} per call.
+ */
+public class ActivityAsyncGenerator {
+
+    private static final ClassName ASYNC = ClassName.get("io.temporal.workflow", "Async");
+    private static final ClassName PROMISE = ClassName.get("io.temporal.workflow", "Promise");
+    private static final ClassName FUNCTIONS = ClassName.get("io.temporal.workflow", "Functions");
+
+    /**
+     * Arguments {@code Async.function} and {@code Async.procedure} accept with a method reference
+     */
+    private static final int MAX_ASYNC_ARGUMENTS = 6;
+
+    private final String packageName;
+    private final String interfaceName;
+
+    public ActivityAsyncGenerator(String packageName, String interfaceName) {
+        this.packageName = packageName;
+        this.interfaceName = interfaceName;
+    }
+
+    /**
+     * Generate the asynchronous companion class
+     */
+    public JavaFile generateActivityAsync(List<OperationModel> operations) {
+        ClassName interfaceClass = ClassName.get(packageName, interfaceName);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(interfaceName + "Async")
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addJavadoc("Asynchronous calls of {@link $T} for workflows. Every method starts the activity\n", interfaceClass)
+            .addJavadoc("and returns a Promise of its result, so independent API calls run concurrently;\n")
+            .addJavadoc("{@link #allOf} runs a call per input with bounded parallelism.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        classBuilder.addField(FieldSpec.builder(interfaceClass, "activity", Modifier.PRIVATE, Modifier.FINAL)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("@param activity The activity stub, from {@code Workflow.newActivityStub}\n")
+            .addParameter(interfaceClass, "activity")
+            .addStatement("this.activity = activity")
+            .build());
+
+        for (OperationModel operation : operations) {
+            classBuilder.addMethod(generateAsyncMethod(operation, interfaceClass));
+            if (BatchGenerator.hasBatch(operation)) {
+                classBuilder.addMethod(generateAsyncBatchMethod(operation, interfaceClass));
+            }
+            if (PaginationGenerator.hasPagination(operation)) {
+                classBuilder.addMethod(generateAsyncPaginatedMethod(operation, interfaceClass));
+            }
+        }
+
+        addAllOfMethod(classBuilder);
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    private MethodSpec generateAsyncMethod(OperationModel operation, ClassName interfaceClass) {
+        String methodName = operation.getMethodName();
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        boolean isVoid = returnType.isVoid();
+
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(PROMISE,
+                isVoid ? ClassName.get(Void.class) : returnType.toTypeName().box()))
+            .addJavadoc("Starts {@link $T#$L}: $L $L\n", interfaceClass, methodName,
+                operation.getHttpMethod(), operation.getPath());
+
+        List<String> arguments = new ArrayList<>();
+        if (OperationSignatures.usesRequestObject(operation)) {
+            String requestClassName = OperationSignatures.capitalize(methodName) + "Request";
+            methodBuilder.addParameter(ClassName.get(packageName + ".requests", requestClassName), "request");
+            arguments.add("request");
+        } else {
+            if (operation.getParameters() != null) {
+                for (ParameterModel param : operation.getParameters()) {
+                    methodBuilder.addParameter(param.getJavaType().toTypeName(), param.getJavaFieldName());
+                    arguments.add(param.getJavaFieldName());
+                }
+            }
+            if (operation.getRequestBody() != null) {
+                MediaTypeModel mediaType = operation.getRequestBody().getPrimaryContentType();
+                if (mediaType != null) {
+                    methodBuilder.addParameter(mediaType.getJavaType().toTypeName(), "body");
+                    arguments.add("body");
+                }
+            }
+        }
+
+        String asyncMethod = isVoid ? "procedure" : "function";
+        if (arguments.size() <= MAX_ASYNC_ARGUMENTS) {
+            // A method reference to the stub starts the activity without a workflow thread of its own
+            StringBuilder format = new StringBuilder("return $T.$L(activity::$L");
+            for (String argument : arguments) {
+                format.append(", ").append(argument);
+            }
+            methodBuilder.addStatement(format.append(")").toString(), ASYNC, asyncMethod, methodName);
+        } else {
+            methodBuilder.addStatement("return $T.$L(() -> activity.$L($L))", ASYNC, asyncMethod, methodName,
+                String.join(", ", arguments));
+        }
+        methodBuilder.addJavadoc("@return A promise completing with the $L of the activity\n",
+            isVoid ? "completion" : "result");
+        return methodBuilder.build();
+    }
+
+    private MethodSpec generateAsyncBatchMethod(OperationModel operation, ClassName interfaceClass) {
+        String methodName = BatchGenerator.methodName(operation);
+        return MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(PROMISE, BatchGenerator.returnType(packageName, operation)))
+            .addJavadoc("Starts {@link $T#$L}: $L $L for every input\n", interfaceClass, methodName,
+                operation.getHttpMethod(), operation.getPath())
+            .addJavadoc("@return A promise completing with the result or failure of each input\n")
+            .addParameter(ParameterizedTypeName.get(ClassName.get(List.class),
+                BatchGenerator.inputType(packageName, interfaceName, operation)), "inputs")
+            .addStatement("return $T.function(activity::$L, inputs)", ASYNC, methodName)
+            .build();
+    }
+
+    private MethodSpec generateAsyncPaginatedMethod(OperationModel operation, ClassName interfaceClass) {
+        String methodName = PaginationGenerator.methodName(operation);
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(PROMISE, ClassName.get(packageName, PaginationGenerator.PROGRESS_CLASS)))
+            .addJavadoc("Starts {@link $T#$L}: $L $L for every page\n", interfaceClass, methodName,
+                operation.getHttpMethod(), operation.getPath())
+            .addJavadoc("@return A promise completing with the pages and items handed to the sink\n");
+        List<String> arguments = new ArrayList<>();
+        for (ParameterSpec argument : PaginationGenerator.arguments(packageName, operation)) {
+            methodBuilder.addParameter(argument);
+            arguments.add(argument.name);
+        }
+        if (arguments.size() <= MAX_ASYNC_ARGUMENTS) {
+            StringBuilder format = new StringBuilder("return $T.function(activity::$L");
+            for (String argument : arguments) {
+                format.append(", ").append(argument);
+            }
+            methodBuilder.addStatement(format.append(")").toString(), ASYNC, methodName);
+        } else {
+            methodBuilder.addStatement("return $T.function(() -> activity.$L($L))", ASYNC, methodName,
+                String.join(", ", arguments));
+        }
+        return methodBuilder.build();
+    }
+
+    /**
+     * Add {@code allOf}, which starts a call per input while at most the given number are in flight and
+     * completes with the results in input order
+     */
+    private void addAllOfMethod(TypeSpec.Builder classBuilder) {
+        TypeVariableName input = TypeVariableName.get("I");
+        TypeVariableName result = TypeVariableName.get("R");
+        TypeName promise = ParameterizedTypeName.get(PROMISE, result);
+        TypeName promises = ParameterizedTypeName.get(ClassName.get(List.class), promise);
+        TypeName results = ParameterizedTypeName.get(ClassName.get(List.class), result);
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("allOf")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(input)
+            .addTypeVariable(result)
+            .returns(ParameterizedTypeName.get(PROMISE, results))
+            .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), WildcardTypeName.subtypeOf(input)),
+                "inputs")
+            .addParameter(TypeName.INT, "parallelism")
+            .addParameter(ParameterizedTypeName.get(FUNCTIONS.nestedClass("Func1"),
+                WildcardTypeName.supertypeOf(input), promise), "call")
+            .addJavadoc("Starts {@code call} for every input, with at most {@code parallelism} calls in flight,\n")
+            .addJavadoc("e.g. {@code allOf(ids, 20, async::getPet)}. The returned promise completes with the\n")
+            .addJavadoc("results in input order, or fails with the first failure; calls already started are not cancelled.\n")
+            .beginControlFlow("if (parallelism < 1)")
+            .addStatement("throw new $T($S + parallelism)", IllegalArgumentException.class,
+                "parallelism must be positive: ")
+            .endControlFlow()
+            .addComment("Start the calls on a workflow thread of their own so the caller is not blocked")
+            .addCode("return $T.function(() -> {\n$>", ASYNC)
+            .addStatement("$T started = new $T<>(inputs.size())", promises, ArrayList.class)
+            .addStatement("$T inFlight = new $T<>()", promises, ArrayList.class)
+            .beginControlFlow("for (I input : inputs)")
+            .beginControlFlow("if (inFlight.size() >= parallelism)")
+            .addComment("Wait for a call to complete; a failed call fails the whole")
+            .addStatement("$T.anyOf(inFlight).get()", PROMISE)
+            .addStatement("inFlight.removeIf($T::isCompleted)", PROMISE)
+            .endControlFlow()
+            .addStatement("$T promise = call.apply(input)", promise)
+            .addStatement("started.add(promise)")
+            .addStatement("inFlight.add(promise)")
+            .endControlFlow()
+            .addStatement("$T values = new $T<>(started.size())", results, ArrayList.class)
+            .beginControlFlow("for ($T promise : started)", promise)
+            .addStatement("values.add(promise.get())")
+            .endControlFlow()
+            .addStatement("return values")
+            .addCode("$<});\n")
+            .build());
+    }
+}
@@ -0,0 +1,75 @@
+package io.temporal.openapi.generator.codegen;
+
+import io.temporal.openapi.generator.parser.OperationFilter;
+
+/**
+ * A group of operations generated into its own activity interface and implementation, so it can be
+ * registered by its own workers on its own task queue. Operations are selected with the criteria of an
+ * {@link OperationFilter}; an operation belongs to the first group that selects it.
+ */
+public class ActivityGroup {
+
+    private String name;
+    private String namePrefix;
+    private String taskQueue;
+    private OperationFilter operations = new OperationFilter();
+
+    public ActivityGroup() {
+    }
+
+    public ActivityGroup(String name, String namePrefix, String taskQueue, OperationFilter operations) {
+        this.name = name;
+        this.namePrefix = namePrefix;
+        this.taskQueue = taskQueue;
+        this.operations = operations;
+    }
+
+    /**
+     * Name of the group, e.g. {@code reports}, from which the interface name is derived
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Prefix of the group's activity types; defaults to the group name followed by an underscore
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * Task queue of the group's workers; defaults to the interface name
+     */
+    public String getTaskQueue() {
+        return taskQueue;
+    }
+
+    public void setTaskQueue(String taskQueue) {
+        this.taskQueue = taskQueue;
+    }
+
+    public OperationFilter getOperations() {
+        return operations;
+    }
+
+    public void setOperations(OperationFilter operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public String toString() {
+        return "ActivityGroup{name=" + name
+            + ", namePrefix=" + namePrefix
+            + ", taskQueue=" + taskQueue
+            + ", operations=" + operations + "}";
+    }
+}
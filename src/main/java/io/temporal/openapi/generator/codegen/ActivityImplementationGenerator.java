@@ -1,29 +1,93 @@
 package io.temporal.openapi.generator.codegen;
 
 import com.squareup.javapoet.*;
+import io.temporal.openapi.generator.model.JavaType;
 import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.PaginationModel;
 import io.temporal.openapi.generator.model.ParameterModel;
 import io.temporal.openapi.generator.model.MediaTypeModel;
 
 import javax.lang.model.element.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Generates the implementation class for Temporal Activities that delegates to OpenAPI Generator client
  */
 public class ActivityImplementationGenerator {
+
+    private static final ClassName SCOPE = ClassName.get("com.uber.m3.tally", "Scope");
+    private static final ClassName STOPWATCH = ClassName.get("com.uber.m3.tally", "Stopwatch");
+
+    /**
+     * Timer of the API call latency
+     */
+    static final String LATENCY_METRIC = "openapi_request_latency";
+
+    /**
+     * Counter of completed API calls, tagged with the response's status class
+     */
+    static final String REQUESTS_METRIC = "openapi_requests";
+
+    /**
+     * Counter of failed API calls, tagged with the exception type
+     */
+    static final String FAILURES_METRIC = "openapi_request_failures";
+
+    /**
+     * Histograms of the request and response body sizes in bytes
+     */
+    static final String REQUEST_SIZE_METRIC = "openapi_request_size";
+    static final String RESPONSE_SIZE_METRIC = "openapi_response_size";
     
     private final String packageName;
     private final String interfaceName;
     private final String implClassName;
     private final String apiClientPackage;
+    private final CompletionMode completionMode;
+    private final boolean metrics;
 
     public ActivityImplementationGenerator(String packageName, 
                                           String interfaceName, String apiClientPackage) {
+        this(packageName, interfaceName, apiClientPackage, CompletionMode.BLOCKING);
+    }
+
+    /**
+     * @param completionMode how methods wait for API calls; manual modes release the worker thread
+     *                       while a call is in flight
+     */
+    public ActivityImplementationGenerator(String packageName, String interfaceName,
+                                           String apiClientPackage, CompletionMode completionMode) {
+        this(packageName, interfaceName, apiClientPackage, completionMode, false);
+    }
+
+    /**
+     * @param completionMode how methods wait for API calls; manual modes release the worker thread
+     *                       while a call is in flight
+     * @param metrics        whether methods record per-operation metrics through the activity's metrics scope
+     */
+    public ActivityImplementationGenerator(String packageName, String interfaceName,
+                                           String apiClientPackage, CompletionMode completionMode,
+                                           boolean metrics) {
         this.packageName = packageName;
         this.interfaceName = interfaceName;
         this.implClassName = interfaceName + "Impl";
         this.apiClientPackage = apiClientPackage;
+        this.completionMode = completionMode;
+        this.metrics = metrics;
     }
 
     /**
@@ -38,27 +102,136 @@ public class ActivityImplementationGenerator {
             .addJavadoc("Implementation of $L that delegates to OpenAPI Generator client.\n", interfaceName)
             .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
 
-        // Add API client field for each unique tag/API
         // ApiClient is in the root of the invoker package, not the .api subpackage
         ClassName apiClientClass = ClassName.get(apiClientPackage.replace(".api", ""), "ApiClient");
         FieldSpec apiClientField = FieldSpec.builder(apiClientClass, "apiClient", Modifier.PRIVATE, Modifier.FINAL)
             .build();
         classBuilder.addField(apiClientField);
 
+        // Add one field per unique tag/API; the API classes are stateless wrappers over the shared
+        // client, so each is created once instead of on every activity invocation
+        Map<ClassName, String> apiFields = getApiFields(operations);
+        for (Map.Entry<ClassName, String> apiField : apiFields.entrySet()) {
+            classBuilder.addField(FieldSpec.builder(apiField.getKey(), apiField.getValue(),
+                Modifier.PRIVATE, Modifier.FINAL).build());
+        }
+
+        boolean idempotencyKeys = operations.stream().anyMatch(OperationModel::hasIdempotencyKey);
+        if (idempotencyKeys) {
+            classBuilder.addField(FieldSpec.builder(
+                    ParameterizedTypeName.get(ThreadLocal.class, String.class), "IDEMPOTENCY_KEY",
+                    Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Idempotency-Key header of the call in progress on this thread\n")
+                .initializer("new $T<>()", ThreadLocal.class)
+                .build());
+        }
+
+        boolean requestSizes = metrics && operations.stream().anyMatch(operation -> operation.getRequestBody() != null);
+        if (metrics) {
+            ClassName valueBuckets = ClassName.get("com.uber.m3.tally", "ValueBuckets");
+            classBuilder.addField(FieldSpec.builder(valueBuckets,
+                    "PAYLOAD_SIZE_BUCKETS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Buckets of the payload size histograms: 64 bytes to 16 MiB in powers of 4\n")
+                .initializer("$T.exponential(64, 4, 10)", valueBuckets)
+                .build());
+        }
+        if (requestSizes) {
+            classBuilder.addField(FieldSpec.builder(
+                    ParameterizedTypeName.get(ClassName.get(ThreadLocal.class), SCOPE), "CALL_METRICS",
+                    Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Metrics scope of the call in progress on this thread, for the request size\n")
+                .initializer("new $T<>()", ThreadLocal.class)
+                .build());
+        }
+
+        if (idempotencyKeys || requestSizes) {
+            classBuilder.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(Set.class), apiClientClass),
+                    "INTERCEPTED_CLIENTS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Clients on which the request interceptor of this class is installed\n")
+                .initializer("$T.newSetFromMap(new $T<>())", Collections.class, WeakHashMap.class)
+                .build());
+        }
+
+        ClassName executorClass = ClassName.get("java.util.concurrent", "Executor");
+        if (completionMode == CompletionMode.EXECUTOR) {
+            classBuilder.addField(FieldSpec.builder(executorClass, "executor", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+        }
+
+        ClassName pageSinkClass = ClassName.get(packageName, PaginationGenerator.SINK_CLASS);
+        boolean pagination = PaginationGenerator.hasPagination(operations);
+        if (pagination) {
+            classBuilder.addField(FieldSpec.builder(pageSinkClass, "pageSink", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+        }
+
         // Add constructor
-        MethodSpec constructor = MethodSpec.constructorBuilder()
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
             .addModifiers(Modifier.PUBLIC)
             .addParameter(apiClientClass, "apiClient")
             .addStatement("this.$N = $N", "apiClient", "apiClient")
             .addJavadoc("Creates a new activity implementation with the provided API client.\n")
-            .addJavadoc("@param apiClient The OpenAPI generator client\n")
-            .build();
-        classBuilder.addMethod(constructor);
+            .addJavadoc("@param apiClient The OpenAPI generator client\n");
+        if (completionMode == CompletionMode.EXECUTOR) {
+            constructor.addParameter(executorClass, "executor")
+                .addStatement("this.$N = $N", "executor", "executor")
+                .addJavadoc("@param executor Executor running the blocking API calls, e.g. one backed by virtual threads\n");
+        }
+        if (idempotencyKeys || requestSizes) {
+            constructor.addStatement("installRequestInterceptor(apiClient)");
+        }
+        for (Map.Entry<ClassName, String> apiField : apiFields.entrySet()) {
+            constructor.addStatement("this.$N = new $T(apiClient)", apiField.getValue(), apiField.getKey());
+        }
+        if (pagination) {
+            // Without a sink, only the paginated methods fail
+            MethodSpec.Builder withoutSink = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(apiClientClass, "apiClient")
+                .addJavadoc("Creates a new activity implementation with the provided API client, whose paginated\n")
+                .addJavadoc("methods fail without a {@link $T}.\n", pageSinkClass)
+                .addJavadoc("@param apiClient The OpenAPI generator client\n");
+            if (completionMode == CompletionMode.EXECUTOR) {
+                withoutSink.addParameter(executorClass, "executor")
+                    .addJavadoc("@param executor Executor running the blocking API calls, e.g. one backed by virtual threads\n")
+                    .addStatement("this(apiClient, executor, null)");
+            } else {
+                withoutSink.addStatement("this(apiClient, null)");
+            }
+            classBuilder.addMethod(withoutSink.build());
+
+            constructor.addParameter(pageSinkClass, "pageSink")
+                .addStatement("this.$N = $N", "pageSink", "pageSink")
+                .addJavadoc("@param pageSink Receives the items of each page walked by the paginated methods\n");
+        }
+        classBuilder.addMethod(constructor.build());
 
         // Generate implementation methods
         for (OperationModel operation : operations) {
-            MethodSpec method = generateImplementationMethod(operation);
+            MethodSpec method = generateImplementationMethod(operation, apiFields);
             classBuilder.addMethod(method);
+            if (BatchGenerator.hasBatch(operation)) {
+                classBuilder.addMethod(generateBatchMethod(operation));
+                classBuilder.addMethod(generateBatchItemMethod(operation, apiFields));
+            }
+            if (PaginationGenerator.hasPagination(operation)) {
+                classBuilder.addMethod(generatePaginatedMethod(operation));
+                classBuilder.addMethod(generatePageMethod(operation, apiFields));
+            }
+        }
+        classBuilder.addMethod(generateApiFailureMethod());
+        classBuilder.addMethod(generateRetryAfterMethod());
+        if (idempotencyKeys || requestSizes) {
+            classBuilder.addMethod(generateInstallRequestInterceptorMethod(apiClientClass, idempotencyKeys, requestSizes));
+        }
+        if (idempotencyKeys) {
+            classBuilder.addMethod(generateIdempotencyKeyMethod());
+        }
+        if (operations.stream().anyMatch(operation -> BatchGenerator.hasBatch(operation) && operation.hasIdempotencyKey())) {
+            classBuilder.addMethod(generateItemIdempotencyKeyMethod());
+        }
+        if (metrics) {
+            addMetricsMethods(classBuilder, requestSizes);
         }
 
         TypeSpec implClass = classBuilder.build();
@@ -71,7 +244,7 @@ public class ActivityImplementationGenerator {
     /**
      * Generate implementation method that calls the OpenAPI client
      */
-    private MethodSpec generateImplementationMethod(OperationModel operation) {
+    private MethodSpec generateImplementationMethod(OperationModel operation, Map<ClassName, String> apiFields) {
         String methodName = operation.getMethodName();
         
         MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
@@ -79,17 +252,17 @@ public class ActivityImplementationGenerator {
             .addAnnotation(Override.class);
 
         // Determine if using request object
-        boolean useRequestObject = shouldUseRequestObject(operation);
+        boolean useRequestObject = OperationSignatures.usesRequestObject(operation);
         
         // Add parameters
         if (useRequestObject) {
-            String requestClassName = capitalize(methodName) + "Request";
+            String requestClassName = OperationSignatures.capitalize(methodName) + "Request";
             TypeName requestType = ClassName.get(packageName + ".requests", requestClassName);
             methodBuilder.addParameter(requestType, "request");
         } else {
             if (operation.getParameters() != null) {
                 for (ParameterModel param : operation.getParameters()) {
-                    TypeName paramType = getTypeName(param.getJavaType());
+                    TypeName paramType = param.getJavaType().toTypeName();
                     methodBuilder.addParameter(paramType, param.getJavaFieldName());
                 }
             }
@@ -97,18 +270,18 @@ public class ActivityImplementationGenerator {
             if (operation.getRequestBody() != null) {
                 MediaTypeModel mediaType = operation.getRequestBody().getPrimaryContentType();
                 if (mediaType != null) {
-                    TypeName bodyType = getTypeName(mediaType.getJavaType());
+                    TypeName bodyType = mediaType.getJavaType().toTypeName();
                     methodBuilder.addParameter(bodyType, "body");
                 }
             }
         }
 
         // Set return type
-        String returnType = operation.getResponse().getJavaReturnType();
-        methodBuilder.returns(getTypeName(returnType));
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        methodBuilder.returns(returnType.toTypeName());
 
         // Generate method body
-        generateMethodBody(methodBuilder, operation, useRequestObject);
+        generateMethodBody(methodBuilder, operation, useRequestObject, apiFields);
 
         return methodBuilder.build();
     }
@@ -117,23 +290,19 @@ public class ActivityImplementationGenerator {
      * Generate the method body that calls the OpenAPI client
      */
     private void generateMethodBody(MethodSpec.Builder methodBuilder, OperationModel operation, 
-                                    boolean useRequestObject) {
-        // Determine which API class to use based on tags
-        String apiClassName = getApiClassName(operation);
-        ClassName apiClass = ClassName.get(apiClientPackage, apiClassName);
-
-        // Create API instance
-        methodBuilder.addStatement("$T api = new $T(apiClient)", apiClass, apiClass);
+                                    boolean useRequestObject, Map<ClassName, String> apiFields) {
+        // Determine which API instance to use based on tags
+        String apiField = apiFields.get(getApiClass(operation));
 
         // Build the API method call
         StringBuilder callBuilder = new StringBuilder();
-        String returnType = operation.getResponse().getJavaReturnType();
+        JavaType returnType = operation.getResponse().getJavaReturnType();
         
-        if (!"void".equals(returnType)) {
+        if (!returnType.isVoid()) {
             callBuilder.append("$T result = ");
         }
         
-        callBuilder.append("api.$L(");
+        callBuilder.append(apiField).append(".$L(");
         
         // Add parameters to the call
         List<String> callParams = new java.util.ArrayList<>();
@@ -142,7 +311,7 @@ public class ActivityImplementationGenerator {
             // Extract parameters from request object
             if (operation.getParameters() != null) {
                 for (ParameterModel param : operation.getParameters()) {
-                    callParams.add("request.get" + capitalize(param.getJavaFieldName()) + "()");
+                    callParams.add("request.get" + OperationSignatures.capitalize(param.getJavaFieldName()) + "()");
                 }
             }
             if (operation.getRequestBody() != null) {
@@ -163,12 +332,37 @@ public class ActivityImplementationGenerator {
         callBuilder.append(String.join(", ", callParams));
         callBuilder.append(")");
 
+        if (completionMode == CompletionMode.ASYNC_CLIENT) {
+            generateAsyncMethodBody(methodBuilder, operation, apiField, callParams);
+            return;
+        }
+        if (completionMode == CompletionMode.EXECUTOR) {
+            generateExecutorMethodBody(methodBuilder, operation, apiField, callParams);
+            return;
+        }
+
+        if (metrics) {
+            addOperationMetrics(methodBuilder, operation);
+        }
+        if (operation.hasIdempotencyKey()) {
+            methodBuilder.addStatement("IDEMPOTENCY_KEY.set(idempotencyKey())");
+        }
+        if (metrics) {
+            addCallMetrics(methodBuilder, operation);
+        }
+
         // Add try-catch for error handling
         methodBuilder.beginControlFlow("try");
         
-        if (!"void".equals(returnType)) {
+        if (metrics) {
+            methodBuilder.addStatement("$T response = $L", apiResponseType(returnType), httpInfoCall(apiField, operation, callParams));
+            methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+            if (!returnType.isVoid()) {
+                methodBuilder.addStatement("return response.getData()");
+            }
+        } else if (!returnType.isVoid()) {
             methodBuilder.addStatement(callBuilder.toString(), 
-                getTypeName(returnType), 
+                returnType.toTypeName(), 
                 operation.getMethodName());
             methodBuilder.addStatement("return result");
         } else {
@@ -177,82 +371,734 @@ public class ActivityImplementationGenerator {
         }
         
         methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
-        methodBuilder.addComment("Log the error and throw a Temporal ApplicationFailure");
-        methodBuilder.addStatement("throw $T.newFailure($S + e.getMessage(), $S, e)",
-            ClassName.get("io.temporal.failure", "ApplicationFailure"),
-            "API call failed: ",
-            "API_ERROR");
+        if (metrics) {
+            methodBuilder.addStatement("recordFailure(metrics, latency, e)");
+        }
+        methodBuilder.addComment("Throw a Temporal ApplicationFailure classified by the HTTP status");
+        methodBuilder.addStatement("throw apiFailure(e)");
+        addThreadLocalCleanUp(methodBuilder, operation);
         methodBuilder.endControlFlow();
     }
 
     /**
-     * Get the API class name based on operation tags
+     * Generate a method body that starts the call on the non-blocking client and completes the
+     * activity when the returned future completes; the method's return value is ignored
      */
-    private String getApiClassName(OperationModel operation) {
-        if (operation.getTags() != null && !operation.getTags().isEmpty()) {
-            String tag = operation.getTags().get(0);
-            return capitalize(tag) + "Api";
+    private void generateAsyncMethodBody(MethodSpec.Builder methodBuilder, OperationModel operation,
+                                         String apiField, List<String> callParams) {
+        methodBuilder.addComment("Release the worker thread and report the result when the call completes");
+        methodBuilder.addStatement("$T completion = $T.getExecutionContext().useLocalManualCompletion()",
+            ClassName.get("io.temporal.activity", "ManualActivityCompletionClient"),
+            ClassName.get("io.temporal.activity", "Activity"));
+        if (metrics) {
+            addOperationMetrics(methodBuilder, operation);
+        }
+        if (operation.hasIdempotencyKey()) {
+            // The client adds the header while building the request, before the call returns
+            methodBuilder.addStatement("IDEMPOTENCY_KEY.set(idempotencyKey())");
+        }
+        if (metrics) {
+            addCallMetrics(methodBuilder, operation);
+        }
+
+        methodBuilder.beginControlFlow("try");
+        if (metrics) {
+            methodBuilder.addCode("$L.whenComplete((response, error) -> {\n$>",
+                httpInfoCall(apiField, operation, callParams));
+            methodBuilder.beginControlFlow("if (error != null)");
+            methodBuilder.addStatement("recordFailure(metrics, latency, error)");
+            methodBuilder.addStatement("completion.fail(apiFailure(error))");
+            methodBuilder.nextControlFlow("else");
+            methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+            methodBuilder.addStatement("completion.complete(response.getData())");
+            methodBuilder.endControlFlow();
+        } else {
+            methodBuilder.addCode("$L.$L($L).whenComplete((result, error) -> {\n$>",
+                apiField, operation.getMethodName(), String.join(", ", callParams));
+            methodBuilder.beginControlFlow("if (error != null)");
+            methodBuilder.addStatement("completion.fail(apiFailure(error))");
+            methodBuilder.nextControlFlow("else");
+            methodBuilder.addStatement("completion.complete(result)");
+            methodBuilder.endControlFlow();
+        }
+        methodBuilder.addCode("$<});\n");
+        methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
+        if (metrics) {
+            methodBuilder.addStatement("recordFailure(metrics, latency, e)");
+        }
+        methodBuilder.addStatement("completion.fail(apiFailure(e))");
+        addThreadLocalCleanUp(methodBuilder, operation);
+        methodBuilder.endControlFlow();
+
+        if (!operation.getResponse().getJavaReturnType().isVoid()) {
+            methodBuilder.addStatement("return null");
         }
-        return "DefaultApi";
     }
 
-    private boolean shouldUseRequestObject(OperationModel operation) {
-        int paramCount = operation.getParameters() != null ? operation.getParameters().size() : 0;
-        // Use request object if we have more than 5 parameters
-        return paramCount > 5;
+    /**
+     * Generate a method body that runs the blocking call on the executor and completes the activity
+     * when the call returns; the method's return value is ignored
+     */
+    private void generateExecutorMethodBody(MethodSpec.Builder methodBuilder, OperationModel operation,
+                                            String apiField, List<String> callParams) {
+        String call = apiField + "." + operation.getMethodName() + "(" + String.join(", ", callParams) + ")";
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+
+        methodBuilder.addComment("Release the worker thread and report the result when the call returns");
+        methodBuilder.addStatement("$T completion = $T.getExecutionContext().useLocalManualCompletion()",
+            ClassName.get("io.temporal.activity", "ManualActivityCompletionClient"),
+            ClassName.get("io.temporal.activity", "Activity"));
+        if (metrics) {
+            addOperationMetrics(methodBuilder, operation);
+        }
+        if (operation.hasIdempotencyKey()) {
+            // The execution context is only available on the activity thread
+            methodBuilder.addStatement("String idempotencyKey = idempotencyKey()");
+        }
+
+        methodBuilder.beginControlFlow("try");
+        methodBuilder.addCode("executor.execute(() -> {\n$>");
+        if (operation.hasIdempotencyKey()) {
+            methodBuilder.addStatement("IDEMPOTENCY_KEY.set(idempotencyKey)");
+        }
+        if (metrics) {
+            addCallMetrics(methodBuilder, operation);
+        }
+        methodBuilder.beginControlFlow("try");
+        if (metrics) {
+            methodBuilder.addStatement("$T response = $L", apiResponseType(returnType), httpInfoCall(apiField, operation, callParams));
+            methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+            methodBuilder.addStatement(returnType.isVoid() ? "completion.complete(null)" : "completion.complete(response.getData())");
+        } else if (returnType.isVoid()) {
+            methodBuilder.addStatement("$L", call);
+            methodBuilder.addStatement("completion.complete(null)");
+        } else {
+            methodBuilder.addStatement("completion.complete($L)", call);
+        }
+        methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
+        if (metrics) {
+            methodBuilder.addStatement("recordFailure(metrics, latency, e)");
+        }
+        methodBuilder.addStatement("completion.fail(apiFailure(e))");
+        addThreadLocalCleanUp(methodBuilder, operation);
+        methodBuilder.endControlFlow();
+        methodBuilder.addCode("$<});\n");
+        methodBuilder.nextControlFlow("catch ($T e)",
+            ClassName.get("java.util.concurrent", "RejectedExecutionException"));
+        methodBuilder.addStatement("completion.fail(apiFailure(e))");
+        methodBuilder.endControlFlow();
+
+        if (!returnType.isVoid()) {
+            methodBuilder.addStatement("return null");
+        }
     }
 
-    private TypeName getTypeName(String javaType) {
-        if (javaType == null || "void".equals(javaType)) {
-            return TypeName.VOID;
+    /**
+     * Generate the batch variant of an operation, which starts the call of every input through
+     * {@code BatchExecution}. With blocking calls, the batch runs them on a thread pool of its own.
+     */
+    private MethodSpec generateBatchMethod(OperationModel operation) {
+        String batchMethod = BatchGenerator.methodName(operation);
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(batchMethod)
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .addParameter(ParameterizedTypeName.get(ClassName.get(List.class),
+                BatchGenerator.inputType(packageName, interfaceName, operation)), "inputs")
+            .returns(BatchGenerator.returnType(packageName, operation));
+
+        List<String> itemArguments = new java.util.ArrayList<>();
+        itemArguments.add("input");
+        if (completionMode != CompletionMode.ASYNC_CLIENT) {
+            itemArguments.add("executor");
+        }
+        if (metrics) {
+            addOperationMetrics(methodBuilder, operation);
+            itemArguments.add("metrics");
+        }
+        if (operation.hasIdempotencyKey()) {
+            // The execution context is only available on the activity thread
+            methodBuilder.addStatement("String idempotencyKey = idempotencyKey()");
+            itemArguments.add("itemIdempotencyKey(idempotencyKey, index)");
         }
 
-        if (javaType.contains("<")) {
-            return parseGenericType(javaType);
+        String run = "return $T.run(inputs, $L, $T.resultType($T.class, $S),\n(input, index) -> $L($L))";
+        Object[] runArguments = {ClassName.get(packageName, BatchGenerator.EXECUTION_CLASS),
+            operation.getBatchConcurrency(), ClassName.get(packageName, BatchGenerator.EXECUTION_CLASS),
+            ClassName.get(packageName, interfaceName), batchMethod, batchItemMethodName(operation),
+            String.join(", ", itemArguments)};
+        if (completionMode == CompletionMode.BLOCKING) {
+            ClassName executorService = ClassName.get("java.util.concurrent", "ExecutorService");
+            ClassName atomicInteger = ClassName.get("java.util.concurrent.atomic", "AtomicInteger");
+            methodBuilder.addComment("Run the blocking calls of the batch on threads of its own, named after the batch");
+            methodBuilder.addStatement("$T threads = new $T()", atomicInteger, atomicInteger);
+            methodBuilder.addCode("$T executor = $T.newFixedThreadPool($L, call -> {\n$>", executorService,
+                ClassName.get("java.util.concurrent", "Executors"), operation.getBatchConcurrency());
+            methodBuilder.addStatement("Thread thread = new Thread(call, $S + threads.incrementAndGet())",
+                implClassName + "." + batchMethod + "-");
+            methodBuilder.addStatement("thread.setDaemon(true)");
+            methodBuilder.addStatement("return thread");
+            methodBuilder.addCode("$<});\n");
+            methodBuilder.beginControlFlow("try");
+            methodBuilder.addStatement(run, runArguments);
+            methodBuilder.nextControlFlow("finally");
+            methodBuilder.addComment("A completed batch has no calls left; a failed or cancelled attempt interrupts the");
+            methodBuilder.addComment("calls in flight, so they do not overlap with its retry");
+            methodBuilder.addStatement("executor.shutdownNow()");
+            methodBuilder.endControlFlow();
+        } else {
+            methodBuilder.addStatement(run, runArguments);
+        }
+        return methodBuilder.build();
+    }
+
+    /**
+     * Generate the method starting the call of one input of a batch: on the executor for blocking calls,
+     * and on the non-blocking client otherwise. The returned future fails with the ApplicationFailure
+     * the single call would throw.
+     */
+    private MethodSpec generateBatchItemMethod(OperationModel operation, Map<ClassName, String> apiFields) {
+        String apiField = apiFields.get(getApiClass(operation));
+        List<String> callParams = BatchGenerator.callArguments(operation);
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        TypeName valueType = returnType.isVoid() ? ClassName.get(Void.class) : returnType.toTypeName().box();
+
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(batchItemMethodName(operation))
+            .addModifiers(Modifier.PRIVATE)
+            .returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), valueType))
+            .addJavadoc("Starts the call of one input of {@link #$L}.\n", BatchGenerator.methodName(operation))
+            .addParameter(BatchGenerator.inputType(packageName, interfaceName, operation),
+                BatchGenerator.inputName(operation));
+        if (completionMode != CompletionMode.ASYNC_CLIENT) {
+            methodBuilder.addParameter(ClassName.get("java.util.concurrent", "Executor"), "executor");
+        }
+        if (metrics) {
+            methodBuilder.addParameter(SCOPE, "metrics");
+        }
+        if (operation.hasIdempotencyKey()) {
+            methodBuilder.addParameter(String.class, "idempotencyKey");
         }
 
-        switch (javaType) {
-            case "String": return ClassName.get(String.class);
-            case "Integer": return ClassName.get(Integer.class);
-            case "Long": return ClassName.get(Long.class);
-            case "Double": return ClassName.get(Double.class);
-            case "Float": return ClassName.get(Float.class);
-            case "Boolean": return ClassName.get(Boolean.class);
-            case "byte[]": return ArrayTypeName.of(TypeName.BYTE);
-            case "Object": return ClassName.get(Object.class);
+        if (completionMode != CompletionMode.ASYNC_CLIENT) {
+            methodBuilder.addCode("return $T.supplyAsync(() -> {\n$>", CompletableFuture.class);
+        }
+        if (operation.hasIdempotencyKey()) {
+            methodBuilder.addStatement("IDEMPOTENCY_KEY.set(idempotencyKey)");
+        }
+        if (metrics) {
+            addCallMetrics(methodBuilder, operation);
+        }
+        methodBuilder.beginControlFlow("try");
+        if (completionMode == CompletionMode.ASYNC_CLIENT) {
+            String result = metrics ? "response" : "result";
+            methodBuilder.addCode("return $L.handle(($L, error) -> {\n$>",
+                metrics ? httpInfoCall(apiField, operation, callParams)
+                    : apiField + "." + operation.getMethodName() + "(" + String.join(", ", callParams) + ")",
+                result);
+            methodBuilder.beginControlFlow("if (error != null)");
+            if (metrics) {
+                methodBuilder.addStatement("recordFailure(metrics, latency, error)");
+            }
+            methodBuilder.addStatement("throw apiFailure(error)");
+            methodBuilder.endControlFlow();
+            if (metrics) {
+                methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+                methodBuilder.addStatement("return response.getData()");
+            } else {
+                methodBuilder.addStatement("return result");
+            }
+            methodBuilder.addCode("$<});\n");
+        } else if (metrics) {
+            methodBuilder.addStatement("$T response = $L", apiResponseType(returnType), httpInfoCall(apiField, operation, callParams));
+            methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+            methodBuilder.addStatement("return response.getData()");
+        } else if (returnType.isVoid()) {
+            methodBuilder.addStatement("$L.$L($L)", apiField, operation.getMethodName(), String.join(", ", callParams));
+            methodBuilder.addStatement("return null");
+        } else {
+            methodBuilder.addStatement("return $L.$L($L)", apiField, operation.getMethodName(), String.join(", ", callParams));
+        }
+        methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
+        if (metrics) {
+            methodBuilder.addStatement("recordFailure(metrics, latency, e)");
+        }
+        methodBuilder.addStatement("throw apiFailure(e)");
+        addThreadLocalCleanUp(methodBuilder, operation);
+        methodBuilder.endControlFlow();
+        if (completionMode != CompletionMode.ASYNC_CLIENT) {
+            methodBuilder.addCode("$<}, executor);\n");
+        }
+        return methodBuilder.build();
+    }
+
+    private String batchItemMethodName(OperationModel operation) {
+        return operation.getMethodName() + "Item";
+    }
+
+    /**
+     * Generate the paginated variant of an operation, which calls the client for one page after another
+     * on the activity thread, hands the items of each page to the sink and heartbeats where the next page
+     * starts. A retried attempt resumes from the heartbeated progress, so at most one page is received twice.
+     */
+    private MethodSpec generatePaginatedMethod(OperationModel operation) {
+        PaginationModel pagination = operation.getPagination();
+        ClassName progressClass = ClassName.get(packageName, PaginationGenerator.PROGRESS_CLASS);
+        ClassName activity = ClassName.get("io.temporal.activity", "Activity");
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        String methodName = PaginationGenerator.methodName(operation);
+
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(methodName)
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(progressClass);
+        for (ParameterSpec argument : PaginationGenerator.arguments(packageName, operation)) {
+            methodBuilder.addParameter(argument);
+        }
+
+        methodBuilder.beginControlFlow("if (pageSink == null)");
+        methodBuilder.addStatement("throw $T.newNonRetryableFailure($S, $S)",
+            ClassName.get("io.temporal.failure", "ApplicationFailure"),
+            "No " + PaginationGenerator.SINK_CLASS + " configured for " + methodName, "PageSinkMissing");
+        methodBuilder.endControlFlow();
+        methodBuilder.addStatement("$T context = $T.getExecutionContext()",
+            ClassName.get("io.temporal.activity", "ActivityExecutionContext"), activity);
+        methodBuilder.addComment("Resume after the last page a previous attempt handed to the sink");
+        methodBuilder.addStatement("$T progress = context.getHeartbeatDetails($T.class)\n.orElseGet(() -> $T.startAt($L))",
+            progressClass, progressClass, progressClass,
+            pagination.getStyle() == PaginationModel.Style.CURSOR
+                ? "0, " + PaginationGenerator.startExpression(operation)
+                : PaginationGenerator.startExpression(operation) + ", null");
+        List<String> pageArguments = PaginationGenerator.pageArguments(operation);
+        if (metrics) {
+            addOperationMetrics(methodBuilder, operation);
+            pageArguments.add(0, "metrics");
+        }
+
+        methodBuilder.beginControlFlow("while (!progress.isComplete())");
+        methodBuilder.addStatement("$T pageResponse = $L($L)", returnType.toTypeName(),
+            PaginationGenerator.pageMethodName(operation), String.join(", ", pageArguments));
+        String itemsGetter = PaginationGenerator.itemsGetter(operation);
+        methodBuilder.addStatement("$T pageItems = $L", ParameterizedTypeName.get(ClassName.get(List.class),
+                WildcardTypeName.subtypeOf(Object.class)),
+            itemsGetter != null ? "pageResponse != null ? pageResponse." + itemsGetter + "() : null" : "pageResponse");
+        methodBuilder.addStatement("int itemCount = pageItems != null ? pageItems.size() : 0");
+        methodBuilder.beginControlFlow("if (itemCount > 0)");
+        methodBuilder.beginControlFlow("try");
+        methodBuilder.addStatement("pageSink.accept($S, pageItems)", operation.getMethodName());
+        methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
+        methodBuilder.addStatement("throw $T.wrap(e)", activity);
+        methodBuilder.endControlFlow();
+        methodBuilder.endControlFlow();
+        switch (pagination.getStyle()) {
+            case CURSOR:
+                methodBuilder.addStatement("$T nextCursor = pageResponse != null ? pageResponse.$L() : null", String.class,
+                    PaginationGenerator.nextCursorGetter(operation));
+                methodBuilder.addComment("A repeated cursor would request the same page forever");
+                methodBuilder.addStatement("progress = nextCursor == null || nextCursor.isEmpty()"
+                    + " || nextCursor.equals(progress.getCursor())\n"
+                    + "? progress.next(0, null, itemCount).completed() : progress.next(0, nextCursor, itemCount)");
+                break;
+            case PAGE:
+                methodBuilder.addStatement("progress = itemCount > 0\n"
+                    + "? progress.next(progress.getPosition() + 1, null, itemCount) : progress.completed()");
+                break;
             default:
-                if (javaType.contains(".")) {
-                    int lastDot = javaType.lastIndexOf('.');
-                    String pkg = javaType.substring(0, lastDot);
-                    String className = javaType.substring(lastDot + 1);
-                    return ClassName.get(pkg, className);
-                }
-                return ClassName.get(packageName, javaType);
+                methodBuilder.addStatement("progress = itemCount > 0\n"
+                    + "? progress.next(progress.getPosition() + itemCount, null, itemCount) : progress.completed()");
+        }
+        methodBuilder.addStatement("context.heartbeat(progress)");
+        methodBuilder.endControlFlow();
+        methodBuilder.addStatement("return progress");
+        return methodBuilder.build();
+    }
+
+    /**
+     * Generate the method calling the client for one page of a paginated operation on the calling
+     * thread, waiting for the non-blocking client if there is one
+     */
+    private MethodSpec generatePageMethod(OperationModel operation, Map<ClassName, String> apiFields) {
+        String apiField = apiFields.get(getApiClass(operation));
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        List<ParameterSpec> parameters = PaginationGenerator.callParameters(operation);
+        List<String> callParams = new java.util.ArrayList<>();
+        for (ParameterSpec parameter : parameters) {
+            callParams.add(parameter.name);
+        }
+        String join = completionMode == CompletionMode.ASYNC_CLIENT ? ".join()" : "";
+
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(PaginationGenerator.pageMethodName(operation))
+            .addModifiers(Modifier.PRIVATE)
+            .returns(returnType.toTypeName())
+            .addJavadoc("Calls the client for one page of {@link #$L}.\n", PaginationGenerator.methodName(operation));
+        if (metrics) {
+            methodBuilder.addParameter(SCOPE, "metrics");
+        }
+        for (ParameterSpec parameter : parameters) {
+            methodBuilder.addParameter(parameter);
+        }
+
+        if (metrics) {
+            addCallMetrics(methodBuilder, operation);
+        }
+        methodBuilder.beginControlFlow("try");
+        if (metrics) {
+            methodBuilder.addStatement("$T response = $L$L", apiResponseType(returnType),
+                httpInfoCall(apiField, operation, callParams), join);
+            methodBuilder.addStatement("recordResponse(metrics, latency, response)");
+            methodBuilder.addStatement("return response.getData()");
+        } else {
+            methodBuilder.addStatement("return $L.$L($L)$L", apiField, operation.getMethodName(),
+                String.join(", ", callParams), join);
+        }
+        methodBuilder.nextControlFlow("catch ($T e)", ClassName.get(Exception.class));
+        if (metrics) {
+            methodBuilder.addStatement("recordFailure(metrics, latency, e)");
+        }
+        methodBuilder.addComment("Throw a Temporal ApplicationFailure classified by the HTTP status");
+        methodBuilder.addStatement("throw apiFailure(e)");
+        addThreadLocalCleanUp(methodBuilder, operation);
+        methodBuilder.endControlFlow();
+        return methodBuilder.build();
+    }
+
+    /**
+     * Add the statement tagging the activity's metrics scope with the operation; the execution
+     * context is only available on the activity thread
+     */
+    private void addOperationMetrics(MethodSpec.Builder methodBuilder, OperationModel operation) {
+        methodBuilder.addStatement("$T metrics = operationMetrics($S, $S, $S)", SCOPE,
+            operation.getOperationId() != null ? operation.getOperationId() : operation.getMethodName(),
+            operation.getTags() != null && !operation.getTags().isEmpty() ? operation.getTags().get(0) : "default",
+            operation.getHttpMethod());
+    }
+
+    /**
+     * Add the statements starting the latency timer and, for calls with a request body, exposing the
+     * metrics scope to the request interceptor that records the request size
+     */
+    private void addCallMetrics(MethodSpec.Builder methodBuilder, OperationModel operation) {
+        if (operation.getRequestBody() != null) {
+            methodBuilder.addStatement("CALL_METRICS.set(metrics)");
         }
+        methodBuilder.addStatement("$T latency = metrics.timer($S).start()", STOPWATCH, LATENCY_METRIC);
     }
 
-    private TypeName parseGenericType(String javaType) {
-        if (javaType.startsWith("java.util.List<")) {
-            String innerType = javaType.substring(15, javaType.length() - 1);
-            return ParameterizedTypeName.get(
-                ClassName.get(List.class),
-                getTypeName(innerType)
-            );
-        }
-        if (javaType.startsWith("java.util.Map<")) {
-            String inner = javaType.substring(14, javaType.length() - 1);
-            String[] types = inner.split(",\\s*");
-            return ParameterizedTypeName.get(
-                ClassName.get(java.util.Map.class),
-                getTypeName(types[0]),
-                getTypeName(types[1])
-            );
-        }
-        return ClassName.bestGuess(javaType);
+    /**
+     * Add a finally block clearing the thread locals the call set, if any
+     */
+    private void addThreadLocalCleanUp(MethodSpec.Builder methodBuilder, OperationModel operation) {
+        boolean callMetrics = metrics && operation.getRequestBody() != null;
+        if (!callMetrics && !operation.hasIdempotencyKey()) {
+            return;
+        }
+        methodBuilder.nextControlFlow("finally");
+        if (callMetrics) {
+            methodBuilder.addStatement("CALL_METRICS.remove()");
+        }
+        if (operation.hasIdempotencyKey()) {
+            methodBuilder.addStatement("IDEMPOTENCY_KEY.remove()");
+        }
+    }
+
+    /**
+     * The call of the client method that also returns the response status and headers
+     */
+    private String httpInfoCall(String apiField, OperationModel operation, List<String> callParams) {
+        return apiField + "." + operation.getMethodName() + "WithHttpInfo(" + String.join(", ", callParams) + ")";
+    }
+
+    private TypeName apiResponseType(JavaType returnType) {
+        return ParameterizedTypeName.get(apiResponseClass(), returnType.toTypeName().box());
+    }
+
+    private ClassName apiResponseClass() {
+        return ClassName.get(apiClientPackage.replace(".api", ""), "ApiResponse");
+    }
+
+    /**
+     * Generate the helper converting a failed API call into a Temporal ApplicationFailure: responses
+     * with a client error other than 408 and 429 are not retried, the failure type carries the HTTP
+     * status, and the Retry-After delay of a retryable response is attached as the failure details.
+     * Timeouts and connection errors, which the client reports without a status, remain retryable.
+     */
+    private MethodSpec generateApiFailureMethod() {
+        ClassName applicationFailure = ClassName.get("io.temporal.failure", "ApplicationFailure");
+        ClassName apiExceptionClass = ClassName.get(apiClientPackage.replace(".api", ""), "ApiException");
+        return MethodSpec.methodBuilder("apiFailure")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(applicationFailure)
+            .addParameter(Throwable.class, "error")
+            .addJavadoc("Converts a failed API call into a Temporal ApplicationFailure. Client errors other than\n")
+            .addJavadoc("408 and 429 are not retried, and the type of an HTTP error is {@code HTTP_<status>}.\n")
+            .addJavadoc("A retryable response's Retry-After delay, in seconds, is attached as the failure details.\n")
+            .addStatement("$T cause = error instanceof $T && error.getCause() != null ? error.getCause() : error",
+                Throwable.class, ClassName.get("java.util.concurrent", "CompletionException"))
+            .beginControlFlow("if (!(cause instanceof $T) || (($T) cause).getCode() <= 0)",
+                apiExceptionClass, apiExceptionClass)
+            .addComment("No response, e.g. a timeout or connection error")
+            .addStatement("return $T.newFailureWithCause($S + cause.getMessage(), $S, cause)",
+                applicationFailure, "API call failed: ", "API_ERROR")
+            .endControlFlow()
+            .addStatement("$T apiException = ($T) cause", apiExceptionClass, apiExceptionClass)
+            .addStatement("int status = apiException.getCode()")
+            .addStatement("String message = $S + status + $S + cause.getMessage()", "API call failed with HTTP ", ": ")
+            .addStatement("String type = $S + status", "HTTP_")
+            .beginControlFlow("if (status >= 400 && status < 500 && status != 408 && status != 429)")
+            .addStatement("return $T.newNonRetryableFailureWithCause(message, type, cause)", applicationFailure)
+            .endControlFlow()
+            .addStatement("Long retryAfter = retryAfterSeconds(apiException.getResponseHeaders())")
+            .beginControlFlow("if (retryAfter != null)")
+            .addStatement("return $T.newFailureWithCause(message, type, cause, retryAfter)", applicationFailure)
+            .endControlFlow()
+            .addStatement("return $T.newFailureWithCause(message, type, cause)", applicationFailure)
+            .build();
+    }
+
+    /**
+     * Generate the helper reading the Retry-After header, given as seconds or an HTTP date, from the
+     * response headers of the client's ApiException: {@code HttpHeaders} in the {@code native} library
+     * and a map of header values in the other libraries
+     */
+    private MethodSpec generateRetryAfterMethod() {
+        ClassName httpHeaders = ClassName.get("java.net.http", "HttpHeaders");
+        return MethodSpec.methodBuilder("retryAfterSeconds")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(Long.class)
+            .addParameter(Object.class, "headers")
+            .addJavadoc("Reads the Retry-After response header as seconds from now, or null when absent or invalid.\n")
+            .addStatement("String value = null")
+            .beginControlFlow("if (headers instanceof $T)", httpHeaders)
+            .addStatement("value = (($T) headers).firstValue($S).orElse(null)", httpHeaders, "Retry-After")
+            .nextControlFlow("else if (headers instanceof $T)", Map.class)
+            .beginControlFlow("for ($T<?, ?> header : (($T<?, ?>) headers).entrySet())", Map.Entry.class, Map.class)
+            .beginControlFlow("if ($S.equalsIgnoreCase(String.valueOf(header.getKey()))\n$>$>"
+                + "&& header.getValue() instanceof $T && !(($T<?>) header.getValue()).isEmpty()$<$<)",
+                "Retry-After", List.class, List.class)
+            .addStatement("value = String.valueOf((($T<?>) header.getValue()).get(0))", List.class)
+            .endControlFlow()
+            .endControlFlow()
+            .endControlFlow()
+            .beginControlFlow("if (value == null)")
+            .addStatement("return null")
+            .endControlFlow()
+            .beginControlFlow("try")
+            .addStatement("return Math.max(0L, Long.parseLong(value.trim()))")
+            .nextControlFlow("catch ($T e)", NumberFormatException.class)
+            .beginControlFlow("try")
+            .addStatement("$T date = $T.parse(value.trim(), $T.RFC_1123_DATE_TIME)",
+                ZonedDateTime.class, ZonedDateTime.class, DateTimeFormatter.class)
+            .addStatement("return Math.max(0L, $T.between($T.now(), date.toInstant()).getSeconds())",
+                Duration.class, Instant.class)
+            .nextControlFlow("catch ($T invalid)", DateTimeParseException.class)
+            .addStatement("return null")
+            .endControlFlow()
+            .endControlFlow()
+            .build();
+    }
+
+    /**
+     * Generate the method installing the request interceptor that applies the Idempotency-Key and records
+     * the request size of the call in progress on the current thread. It wraps the interceptor already
+     * configured on the client, once per client, so implementations sharing a client do not stack wrappers.
+     * The API classes read the interceptor when they are created, so the constructor installs it first.
+     */
+    private MethodSpec generateInstallRequestInterceptorMethod(ClassName apiClientClass, boolean idempotencyKeys,
+                                                               boolean requestSizes) {
+        TypeName interceptorType = ParameterizedTypeName.get(ClassName.get(Consumer.class),
+            ClassName.get("java.net.http", "HttpRequest", "Builder"));
+        MethodSpec.Builder method = MethodSpec.methodBuilder("installRequestInterceptor")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addParameter(apiClientClass, "apiClient")
+            .addJavadoc("Installs the request interceptor applying the settings of the call in progress on the current\n")
+            .addJavadoc("thread, after the interceptor already configured on the client. The constructor calls this;\n")
+            .addJavadoc("it installs the interceptor only once per client, however many implementations share it.\n")
+            .beginControlFlow("synchronized (INTERCEPTED_CLIENTS)")
+            .beginControlFlow("if (!INTERCEPTED_CLIENTS.add(apiClient))")
+            .addStatement("return")
+            .endControlFlow()
+            .addStatement("$T interceptor = apiClient.getRequestInterceptor()", interceptorType)
+            .addCode("apiClient.setRequestInterceptor(request -> {\n$>")
+            .beginControlFlow("if (interceptor != null)")
+            .addStatement("interceptor.accept(request)")
+            .endControlFlow();
+        if (idempotencyKeys) {
+            method.addStatement("String idempotencyKey = IDEMPOTENCY_KEY.get()")
+                .beginControlFlow("if (idempotencyKey != null)")
+                .addStatement("request.setHeader($S, idempotencyKey)", "Idempotency-Key")
+                .endControlFlow();
+        }
+        if (requestSizes) {
+            method.addStatement("$T metrics = CALL_METRICS.get()", SCOPE)
+                .beginControlFlow("if (metrics != null)")
+                .addStatement("recordRequestSize(metrics, request)")
+                .endControlFlow();
+        }
+        return method.addCode("$<});\n")
+            .endControlFlow()
+            .build();
+    }
+
+    /**
+     * Generate the helper deriving the Idempotency-Key of the current activity from the workflow ID,
+     * run ID and activity ID, which stay the same across its retry attempts
+     */
+    private MethodSpec generateIdempotencyKeyMethod() {
+        ClassName activityInfo = ClassName.get("io.temporal.activity", "ActivityInfo");
+        return MethodSpec.methodBuilder("idempotencyKey")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(String.class)
+            .addJavadoc("Derives the Idempotency-Key of the current activity from its workflow, run and activity IDs,\n")
+            .addJavadoc("so every retry attempt sends the same key.\n")
+            .addStatement("$T info = $T.getExecutionContext().getInfo()",
+                activityInfo, ClassName.get("io.temporal.activity", "Activity"))
+            .addStatement("String seed = info.getWorkflowId() + $S + info.getRunId() + $S + info.getActivityId()",
+                "/", "/")
+            .addStatement("return $T.nameUUIDFromBytes(seed.getBytes($T.UTF_8)).toString()",
+                UUID.class, StandardCharsets.class)
+            .build();
+    }
+
+    /**
+     * Generate the helper deriving the Idempotency-Key of one input of a batch from the key of the batch
+     * activity and the input's index, so every attempt sends the same key for the same input
+     */
+    private MethodSpec generateItemIdempotencyKeyMethod() {
+        return MethodSpec.methodBuilder("itemIdempotencyKey")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(String.class)
+            .addParameter(String.class, "idempotencyKey")
+            .addParameter(TypeName.INT, "index")
+            .addJavadoc("Derives the Idempotency-Key of the input of a batch at the index.\n")
+            .addStatement("return $T.nameUUIDFromBytes((idempotencyKey + $S + index).getBytes($T.UTF_8)).toString()",
+                UUID.class, "/", StandardCharsets.class)
+            .build();
+    }
+
+    /**
+     * Add the helpers recording the call metrics. Metric objects are looked up per call; tally caches
+     * them per name and tags, so the cost is a map lookup and no registration.
+     */
+    private void addMetricsMethods(TypeSpec.Builder classBuilder, boolean requestSizes) {
+        ClassName activity = ClassName.get("io.temporal.activity", "Activity");
+        ClassName apiExceptionClass = ClassName.get(apiClientPackage.replace(".api", ""), "ApiException");
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("operationMetrics")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(SCOPE)
+            .addParameter(String.class, "operationId")
+            .addParameter(String.class, "tag")
+            .addParameter(String.class, "httpMethod")
+            .addJavadoc("Returns the activity's metrics scope tagged with the operation.\n")
+            .addStatement("return $T.getExecutionContext().getMetricsScope()\n"
+                    + ".tagged($T.of($S, operationId, $S, tag, $S, httpMethod))",
+                activity, Map.class, "operation_id", "api_tag", "http_method")
+            .build());
+
+        if (requestSizes) {
+            ClassName requestBuilder = ClassName.get("java.net.http", "HttpRequest", "Builder");
+            classBuilder.addMethod(MethodSpec.methodBuilder("recordRequestSize")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(SCOPE, "metrics")
+                .addParameter(requestBuilder, "request")
+                .addJavadoc("Records the size of the request body, when known.\n")
+                .addStatement("long size = request.copy().build().bodyPublisher().map(body -> body.contentLength()).orElse(-1L)")
+                .beginControlFlow("if (size >= 0)")
+                .addStatement("metrics.histogram($S, PAYLOAD_SIZE_BUCKETS).recordValue(size)", REQUEST_SIZE_METRIC)
+                .endControlFlow()
+                .build());
+        }
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("recordResponse")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addParameter(SCOPE, "metrics")
+            .addParameter(STOPWATCH, "latency")
+            .addParameter(ParameterizedTypeName.get(apiResponseClass(), WildcardTypeName.subtypeOf(Object.class)),
+                "response")
+            .addJavadoc("Records the latency, status class and body size of a successful response.\n")
+            .addStatement("latency.stop()")
+            .addStatement("metrics.tagged($T.of($S, statusClass(response.getStatusCode()))).counter($S).inc(1)",
+                Map.class, "status_class", REQUESTS_METRIC)
+            .addStatement("$T<String> contentLength = response.getHeaders() != null\n"
+                    + "? response.getHeaders().get($S) : null", List.class, "Content-Length")
+            .beginControlFlow("if (contentLength != null && !contentLength.isEmpty())")
+            .beginControlFlow("try")
+            .addStatement("metrics.histogram($S, PAYLOAD_SIZE_BUCKETS)\n"
+                    + ".recordValue(Long.parseLong(contentLength.get(0).trim()))", RESPONSE_SIZE_METRIC)
+            .nextControlFlow("catch ($T ignored)", NumberFormatException.class)
+            .addComment("Not a size")
+            .endControlFlow()
+            .endControlFlow()
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("recordFailure")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addParameter(SCOPE, "metrics")
+            .addParameter(STOPWATCH, "latency")
+            .addParameter(Throwable.class, "error")
+            .addJavadoc("Records the latency, status class, body size and exception type of a failed call.\n")
+            .addStatement("latency.stop()")
+            .addStatement("$T cause = error instanceof $T && error.getCause() != null ? error.getCause() : error",
+                Throwable.class, ClassName.get("java.util.concurrent", "CompletionException"))
+            .addStatement("int status = cause instanceof $T ? (($T) cause).getCode() : 0",
+                apiExceptionClass, apiExceptionClass)
+            .addStatement("metrics.tagged($T.of($S, statusClass(status))).counter($S).inc(1)",
+                Map.class, "status_class", REQUESTS_METRIC)
+            .beginControlFlow("if (status > 0 && (($T) cause).getResponseBody() != null)", apiExceptionClass)
+            .addStatement("metrics.histogram($S, PAYLOAD_SIZE_BUCKETS)\n"
+                    + ".recordValue((($T) cause).getResponseBody().getBytes($T.UTF_8).length)",
+                RESPONSE_SIZE_METRIC, apiExceptionClass, StandardCharsets.class)
+            .endControlFlow()
+            .addComment("Without a response the client wraps the I/O exception, e.g. a timeout, which is the useful type")
+            .addStatement("$T type = status <= 0 && cause instanceof $T && cause.getCause() != null\n"
+                    + "? cause.getCause() : cause", Throwable.class, apiExceptionClass)
+            .addStatement("metrics.tagged($T.of($S, type.getClass().getSimpleName())).counter($S).inc(1)",
+                Map.class, "exception", FAILURES_METRIC)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("statusClass")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(String.class)
+            .addParameter(TypeName.INT, "status")
+            .addJavadoc("Returns the status class tag of an HTTP status, e.g. {@code 4xx}, or {@code none} without a response.\n")
+            .beginControlFlow("switch (status / 100)")
+            .addStatement("case 1: return $S", "1xx")
+            .addStatement("case 2: return $S", "2xx")
+            .addStatement("case 3: return $S", "3xx")
+            .addStatement("case 4: return $S", "4xx")
+            .addStatement("case 5: return $S", "5xx")
+            .addStatement("default: return $S", "none")
+            .endControlFlow()
+            .build());
+    }
+
+    /**
+     * Map each API class used by the operations to its field name, in order of first use
+     */
+    private Map<ClassName, String> getApiFields(List<OperationModel> operations) {
+        Map<ClassName, String> apiFields = new LinkedHashMap<>();
+        for (OperationModel operation : operations) {
+            ClassName apiClass = getApiClass(operation);
+            apiFields.computeIfAbsent(apiClass, api -> decapitalize(api.simpleName()));
+        }
+        return apiFields;
+    }
+
+    private ClassName getApiClass(OperationModel operation) {
+        return ClassName.get(apiClientPackage, getApiClassName(operation));
+    }
+
+    /**
+     * Get the API class name based on operation tags
+     */
+    private String getApiClassName(OperationModel operation) {
+        if (operation.getTags() != null && !operation.getTags().isEmpty()) {
+            String tag = operation.getTags().get(0);
+            return OperationSignatures.capitalize(tag) + "Api";
+        }
+        return "DefaultApi";
     }
 
-    private String capitalize(String str) {
+    private String decapitalize(String str) {
         if (str == null || str.isEmpty()) return str;
-        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+        return Character.toLowerCase(str.charAt(0)) + str.substring(1);
     }
 }
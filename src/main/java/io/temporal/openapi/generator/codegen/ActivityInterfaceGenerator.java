@@ -3,12 +3,15 @@ package io.temporal.openapi.generator.codegen;
 import com.squareup.javapoet.*;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
+import io.temporal.openapi.generator.model.JavaType;
 import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.PaginationModel;
 import io.temporal.openapi.generator.model.ParameterModel;
 import io.temporal.openapi.generator.model.MediaTypeModel;
 import io.temporal.openapi.generator.parser.TypeMapper;
 
 import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,10 +21,26 @@ public class ActivityInterfaceGenerator {
     
     private final String packageName;
     private final String interfaceName;
+    private final String namePrefix;
+    private final String taskQueue;
 
-    public ActivityInterfaceGenerator(TypeMapper typeMapper, String packageName, String interfaceName) {
+    public ActivityInterfaceGenerator(String packageName, String interfaceName) {
+        this(packageName, interfaceName, null, null);
+    }
+
+    /**
+     * @param namePrefix prefix of the activity types, or null to use the method names
+     * @param taskQueue  task queue of the interface's workers, generated as a constant, or null for none
+     */
+    public ActivityInterfaceGenerator(String packageName, String interfaceName, String namePrefix, String taskQueue) {
         this.packageName = packageName;
         this.interfaceName = interfaceName;
+        this.namePrefix = namePrefix;
+        this.taskQueue = taskQueue;
+    }
+
+    public ActivityInterfaceGenerator(TypeMapper typeMapper, String packageName, String interfaceName) {
+        this(packageName, interfaceName);
     }
 
     /**
@@ -30,14 +49,40 @@ public class ActivityInterfaceGenerator {
     public JavaFile generateActivityInterface(List<OperationModel> operations) {
         TypeSpec.Builder interfaceBuilder = TypeSpec.interfaceBuilder(interfaceName)
             .addModifiers(Modifier.PUBLIC)
-            .addAnnotation(ActivityInterface.class)
-            .addJavadoc("Temporal Activity interface generated from OpenAPI specification.\n")
-            .addJavadoc("This interface contains all API operations as Activity methods.\n");
+            .addJavadoc("Temporal Activity interface generated from OpenAPI specification.\n");
+        if (namePrefix != null) {
+            interfaceBuilder.addAnnotation(AnnotationSpec.builder(ActivityInterface.class)
+                .addMember("namePrefix", "$S", namePrefix)
+                .build());
+        } else {
+            interfaceBuilder.addAnnotation(ActivityInterface.class);
+        }
+        if (taskQueue != null) {
+            interfaceBuilder.addJavadoc("This interface contains a group of the API operations as Activity methods,\n")
+                .addJavadoc("registered by the workers of its own task queue.\n")
+                .addField(FieldSpec.builder(String.class, "TASK_QUEUE",
+                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("Task queue of the workers registering this interface's implementation\n")
+                    .initializer("$S", taskQueue)
+                    .build());
+        } else {
+            interfaceBuilder.addJavadoc("This interface contains all API operations as Activity methods.\n");
+        }
 
         // Generate a method for each operation
         for (OperationModel operation : operations) {
             MethodSpec method = generateActivityMethod(operation);
             interfaceBuilder.addMethod(method);
+            if (BatchGenerator.hasBatch(operation)) {
+                interfaceBuilder.addMethod(generateBatchMethod(operation));
+                TypeSpec itemClass = BatchGenerator.itemClass(operation);
+                if (itemClass != null) {
+                    interfaceBuilder.addType(itemClass);
+                }
+            }
+            if (PaginationGenerator.hasPagination(operation)) {
+                interfaceBuilder.addMethod(generatePaginatedMethod(operation));
+            }
         }
 
         TypeSpec activityInterface = interfaceBuilder.build();
@@ -70,19 +115,43 @@ public class ActivityInterfaceGenerator {
         // Add idempotency hint in javadoc
         if (operation.isIdempotent()) {
             methodBuilder.addJavadoc("@idempotent This operation is idempotent and can be safely retried\n");
+        } else if (operation.hasIdempotencyKey()) {
+            methodBuilder.addJavadoc("@idempotencyKey This operation sends an Idempotency-Key header and can be safely retried\n");
         } else {
             methodBuilder.addJavadoc("@nonIdempotent This operation is NOT idempotent, use caution with retries\n");
         }
 
+        // Add the declared error responses and whether the activity retries them
+        List<String> nonRetryable = new ArrayList<>();
+        List<String> retryable = new ArrayList<>();
+        for (String statusCode : operation.getErrorStatusCodes()) {
+            (isRetryableStatus(statusCode) ? retryable : nonRetryable).add(statusCode);
+        }
+        if (!nonRetryable.isEmpty() || !retryable.isEmpty()) {
+            List<String> errors = new ArrayList<>();
+            if (!nonRetryable.isEmpty()) {
+                errors.add(String.join(", ", nonRetryable) + " (non-retryable)");
+            }
+            if (!retryable.isEmpty()) {
+                errors.add(String.join(", ", retryable) + " (retryable)");
+            }
+            methodBuilder.addJavadoc("@apiErrors $L\n", String.join("; ", errors));
+        }
+
+        // Add the declared rate limit, which bounds the task queue of the generated worker when all operations share it
+        if (operation.getRateLimit() > 0) {
+            methodBuilder.addJavadoc("@rateLimit $L requests per second\n", formatRate(operation.getRateLimit()));
+        }
+
         // Add ActivityMethod annotation
         methodBuilder.addAnnotation(ActivityMethod.class);
 
         // Build parameter object if we have multiple parameters or a request body
-        boolean useRequestObject = shouldUseRequestObject(operation);
+        boolean useRequestObject = OperationSignatures.usesRequestObject(operation);
         
         if (useRequestObject) {
             // Create a single request parameter object
-            String requestClassName = capitalize(methodName) + "Request";
+            String requestClassName = OperationSignatures.capitalize(methodName) + "Request";
             TypeName requestType = ClassName.get(packageName + ".requests", requestClassName);
             methodBuilder.addParameter(requestType, "request");
             methodBuilder.addJavadoc("@param request The request parameters\n");
@@ -90,7 +159,7 @@ public class ActivityInterfaceGenerator {
             // Add individual parameters
             if (operation.getParameters() != null) {
                 for (ParameterModel param : operation.getParameters()) {
-                    TypeName paramType = getTypeName(param.getJavaType());
+                    TypeName paramType = param.getJavaType().toTypeName();
                     methodBuilder.addParameter(paramType, param.getJavaFieldName());
                     methodBuilder.addJavadoc("@param $L $L\n", 
                         param.getJavaFieldName(), 
@@ -102,7 +171,7 @@ public class ActivityInterfaceGenerator {
             if (operation.getRequestBody() != null) {
                 MediaTypeModel mediaType = operation.getRequestBody().getPrimaryContentType();
                 if (mediaType != null) {
-                    TypeName bodyType = getTypeName(mediaType.getJavaType());
+                    TypeName bodyType = mediaType.getJavaType().toTypeName();
                     methodBuilder.addParameter(bodyType, "body");
                     methodBuilder.addJavadoc("@param body Request body\n");
                 }
@@ -110,10 +179,10 @@ public class ActivityInterfaceGenerator {
         }
 
         // Set return type
-        String returnType = operation.getResponse().getJavaReturnType();
-        methodBuilder.returns(getTypeName(returnType));
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        methodBuilder.returns(returnType.toTypeName());
         
-        if (!"void".equals(returnType)) {
+        if (!returnType.isVoid()) {
             methodBuilder.addJavadoc("@return $L\n", 
                 operation.getResponse().getDescription() != null ? 
                 operation.getResponse().getDescription() : "The response");
@@ -123,76 +192,70 @@ public class ActivityInterfaceGenerator {
     }
 
     /**
-     * Determine if we should use a request object instead of individual parameters
+     * Generate the batch variant of an operation, which runs its call for every input inside one activity
      */
-    private boolean shouldUseRequestObject(OperationModel operation) {
-        int paramCount = operation.getParameters() != null ? operation.getParameters().size() : 0;
-        
-        // Use request object if we have more than 5 parameters
-        // Don't use request object just because we have parameters + body (common pattern)
-        return paramCount > 5;
+    private MethodSpec generateBatchMethod(OperationModel operation) {
+        return MethodSpec.methodBuilder(BatchGenerator.methodName(operation))
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addJavadoc("Batch variant of {@link #$L}: calls $L $L for every input, running up to $L calls\n",
+                operation.getMethodName(), operation.getHttpMethod(), operation.getPath(),
+                operation.getBatchConcurrency())
+            .addJavadoc("concurrently. The results completed so far are heartbeated, so a retried attempt only calls\n")
+            .addJavadoc("the inputs without a result or with a retryable failure.\n\n")
+            .addJavadoc("@apiOperation $L $L\n", operation.getHttpMethod(), operation.getPath())
+            .addJavadoc("@param inputs The inputs of the calls\n")
+            .addJavadoc("@return The result or failure of each input, in input order\n")
+            .addAnnotation(ActivityMethod.class)
+            .addParameter(ParameterizedTypeName.get(ClassName.get(List.class),
+                BatchGenerator.inputType(packageName, interfaceName, operation)), "inputs")
+            .returns(BatchGenerator.returnType(packageName, operation))
+            .build();
     }
 
-    /**
-     * Convert string type name to TypeName
-     */
-    private TypeName getTypeName(String javaType) {
-        if (javaType == null || "void".equals(javaType)) {
-            return TypeName.VOID;
+    private MethodSpec generatePaginatedMethod(OperationModel operation) {
+        PaginationModel pagination = operation.getPagination();
+        ParameterModel pageParameter = PaginationGenerator.pageParameter(operation);
+        MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(PaginationGenerator.methodName(operation))
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addJavadoc("Paginated variant of {@link #$L}: calls $L $L for every page, from the requested $L on,\n",
+                operation.getMethodName(), operation.getHttpMethod(), operation.getPath(), pageParameter.getName())
+            .addJavadoc("and hands the items of each page to the implementation's {@link $L} instead of returning them.\n",
+                PaginationGenerator.SINK_CLASS)
+            .addJavadoc("The progress is heartbeated after every page, so a retried attempt resumes with the next page.\n");
+        switch (pagination.getStyle()) {
+            case CURSOR:
+                methodBuilder.addJavadoc("Stops when a page returns no $L.\n", pagination.getNextCursorProperty());
+                break;
+            case PAGE:
+                methodBuilder.addJavadoc("Stops at the first empty page.\n");
+                break;
+            default:
+                methodBuilder.addJavadoc("The $L is advanced by the items of each page; stops at the first empty page.\n",
+                    pageParameter.getName());
         }
-
-        // Handle generic types
-        if (javaType.contains("<")) {
-            return parseGenericType(javaType);
+        if (pagination.getSizeParameter() != null) {
+            methodBuilder.addJavadoc("Every page is requested with the given $L.\n", pagination.getSizeParameter());
         }
-
-        // Handle primitive types
-        switch (javaType) {
-            case "String": return ClassName.get(String.class);
-            case "Integer": return ClassName.get(Integer.class);
-            case "Long": return ClassName.get(Long.class);
-            case "Double": return ClassName.get(Double.class);
-            case "Float": return ClassName.get(Float.class);
-            case "Boolean": return ClassName.get(Boolean.class);
-            case "byte[]": return ArrayTypeName.of(TypeName.BYTE);
-            case "Object": return ClassName.get(Object.class);
-            default:
-                // Assume it's a fully qualified class name
-                if (javaType.contains(".")) {
-                    int lastDot = javaType.lastIndexOf('.');
-                    String pkg = javaType.substring(0, lastDot);
-                    String className = javaType.substring(lastDot + 1);
-                    return ClassName.get(pkg, className);
-                }
-                return ClassName.get(packageName, javaType);
+        methodBuilder.addJavadoc("\n@apiOperation $L $L\n", operation.getHttpMethod(), operation.getPath());
+        for (ParameterSpec argument : PaginationGenerator.arguments(packageName, operation)) {
+            methodBuilder.addParameter(argument);
         }
+        return methodBuilder
+            .addJavadoc("@return The pages and items handed to the sink\n")
+            .addAnnotation(ActivityMethod.class)
+            .returns(ClassName.get(packageName, PaginationGenerator.PROGRESS_CLASS))
+            .build();
     }
 
-    /**
-     * Parse generic types like List<String> or Map<String, Integer>
-     */
-    private TypeName parseGenericType(String javaType) {
-        if (javaType.startsWith("java.util.List<")) {
-            String innerType = javaType.substring(15, javaType.length() - 1);
-            return ParameterizedTypeName.get(
-                ClassName.get(List.class),
-                getTypeName(innerType)
-            );
-        }
-        if (javaType.startsWith("java.util.Map<")) {
-            String inner = javaType.substring(14, javaType.length() - 1);
-            String[] types = inner.split(",\\s*");
-            return ParameterizedTypeName.get(
-                ClassName.get(java.util.Map.class),
-                getTypeName(types[0]),
-                getTypeName(types[1])
-            );
-        }
-        return ClassName.bestGuess(javaType);
+    static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
     }
 
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) return str;
-        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    /**
+     * Whether the generated implementation retries a response with the status code: server errors,
+     * 408 Request Timeout and 429 Too Many Requests
+     */
+    private boolean isRetryableStatus(String statusCode) {
+        return statusCode.startsWith("5") || statusCode.equals("408") || statusCode.equals("429");
     }
 }
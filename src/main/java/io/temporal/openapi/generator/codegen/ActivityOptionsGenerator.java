@@ -0,0 +1,278 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.*;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.RetryMetadata;
+import io.temporal.worker.WorkflowImplementationOptions;
+
+import javax.lang.model.element.Modifier;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Generates a class of precomputed, immutable ActivityOptions per activity method, carrying the retry
+ * policy derived from each operation, and a map of them keyed by activity type for
+ * {@code WorkflowImplementationOptions.Builder.setActivityOptions}.
+ * Operations with the same retry policy share one ActivityOptions instance, and the map is filled in
+ * chunks, so the generated static initializer stays within the class file limits for large specs.
+ */
+public class ActivityOptionsGenerator {
+
+    /**
+     * Map entries added per generated method
+     */
+    private static final int ENTRIES_PER_METHOD = 1000;
+
+    private final String packageName;
+    private final String activityName;
+    private final String className;
+    private final String namePrefix;
+
+    public ActivityOptionsGenerator(String packageName, String activityName) {
+        this(packageName, activityName, null);
+    }
+
+    /**
+     * @param namePrefix prefix of the activity types given to the interface, or null if there is none
+     */
+    public ActivityOptionsGenerator(String packageName, String activityName, String namePrefix) {
+        this.packageName = packageName;
+        this.activityName = activityName;
+        this.className = activityName + "Options";
+        this.namePrefix = namePrefix != null ? namePrefix : "";
+    }
+
+    /**
+     * Generate the options class
+     */
+    public JavaFile generateActivityOptions(List<OperationModel> operations) {
+        TypeName mapType = ParameterizedTypeName.get(Map.class, String.class, ActivityOptions.class);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addJavadoc("Per-method ActivityOptions for $L with retry policies derived from each operation:\n", activityName)
+            .addJavadoc("idempotent operations retry quickly and often, non-idempotent operations back off.\n")
+            .addJavadoc("Create activity stubs with {@link #DEFAULT} and register {@link #ACTIVITY_OPTIONS} through\n")
+            .addJavadoc("{@link #workflowImplementationOptions()} so every method uses its own retry policy.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        classBuilder.addField(FieldSpec.builder(Duration.class, "START_TO_CLOSE_TIMEOUT",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Start-to-close timeout of the default options\n")
+            .initializer("$T.ofMinutes(5)", Duration.class)
+            .build());
+        classBuilder.addField(FieldSpec.builder(ActivityOptions.class, "DEFAULT",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Options for activity stubs; per-method options are merged over them\n")
+            .initializer("$T.newBuilder()\n$>.setStartToCloseTimeout(START_TO_CLOSE_TIMEOUT)\n.build()$<",
+                ActivityOptions.class)
+            .build());
+
+        Set<String> usedNames = new HashSet<>(Arrays.asList("START_TO_CLOSE_TIMEOUT", "DEFAULT", "ACTIVITY_OPTIONS"));
+
+        boolean batches = BatchGenerator.hasBatch(operations);
+        if (batches) {
+            usedNames.addAll(Arrays.asList("BATCH_START_TO_CLOSE_TIMEOUT", "BATCH_HEARTBEAT_TIMEOUT"));
+            classBuilder.addField(FieldSpec.builder(Duration.class, "BATCH_START_TO_CLOSE_TIMEOUT",
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Start-to-close timeout of the batch methods, which make many calls in one activity\n")
+                .initializer("$T.ofHours(1)", Duration.class)
+                .build());
+            classBuilder.addField(FieldSpec.builder(Duration.class, "BATCH_HEARTBEAT_TIMEOUT",
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Heartbeat timeout of the batch methods, after which a retry resumes from the last checkpoint\n")
+                .initializer("$T.ofSeconds(30)", Duration.class)
+                .build());
+        }
+        if (PaginationGenerator.hasPagination(operations)) {
+            usedNames.addAll(Arrays.asList("PAGINATION_START_TO_CLOSE_TIMEOUT", "PAGINATION_HEARTBEAT_TIMEOUT"));
+            classBuilder.addField(FieldSpec.builder(Duration.class, "PAGINATION_START_TO_CLOSE_TIMEOUT",
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Start-to-close timeout of the paginated methods, which walk every page in one activity\n")
+                .initializer("$T.ofHours(1)", Duration.class)
+                .build());
+            classBuilder.addField(FieldSpec.builder(Duration.class, "PAGINATION_HEARTBEAT_TIMEOUT",
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Heartbeat timeout of the paginated methods, after which a retry resumes with the next page\n")
+                .initializer("$T.ofSeconds(30)", Duration.class)
+                .build());
+        }
+
+        // One options instance per distinct retry policy, in order of first use
+        Map<String, String> policyFields = new LinkedHashMap<>();
+        for (OperationModel operation : operations) {
+            RetryMetadata retry = operation.getRetryMetadata();
+            String policy = policyKey(retry);
+            if (!policyFields.containsKey(policy)) {
+                String fieldName = uniqueName(policyName(retry, policyFields.size()), usedNames);
+                policyFields.put(policy, fieldName);
+                classBuilder.addField(FieldSpec.builder(ActivityOptions.class, fieldName,
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer(retryOptions(retry))
+                    .build());
+            }
+        }
+
+        // Per-method constants referencing the shared instances
+        Map<String, String> activityTypes = new LinkedHashMap<>();
+        for (OperationModel operation : operations) {
+            String fieldName = uniqueName(constantName(operation.getMethodName()), usedNames);
+            activityTypes.put(namePrefix + OperationSignatures.capitalize(operation.getMethodName()), fieldName);
+            classBuilder.addField(FieldSpec.builder(ActivityOptions.class, fieldName,
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Options for {@code $L}: $L $L\n", operation.getMethodName(),
+                    operation.getHttpMethod(), operation.getPath())
+                .initializer("$N", policyFields.get(policyKey(operation.getRetryMetadata())))
+                .build());
+
+            if (BatchGenerator.hasBatch(operation)) {
+                String batchMethod = BatchGenerator.methodName(operation);
+                String batchField = uniqueName(constantName(batchMethod), usedNames);
+                activityTypes.put(namePrefix + OperationSignatures.capitalize(batchMethod), batchField);
+                classBuilder.addField(FieldSpec.builder(ActivityOptions.class, batchField,
+                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("Options for {@code $L}: the retry policy of {@code $L} with the batch timeouts\n",
+                        batchMethod, operation.getMethodName())
+                    .initializer("$T.newBuilder($N)\n$>.setStartToCloseTimeout(BATCH_START_TO_CLOSE_TIMEOUT)\n"
+                            + ".setHeartbeatTimeout(BATCH_HEARTBEAT_TIMEOUT)\n.build()$<",
+                        ActivityOptions.class, policyFields.get(policyKey(operation.getRetryMetadata())))
+                    .build());
+            }
+
+            if (PaginationGenerator.hasPagination(operation)) {
+                String paginatedMethod = PaginationGenerator.methodName(operation);
+                String paginatedField = uniqueName(constantName(paginatedMethod), usedNames);
+                activityTypes.put(namePrefix + OperationSignatures.capitalize(paginatedMethod), paginatedField);
+                classBuilder.addField(FieldSpec.builder(ActivityOptions.class, paginatedField,
+                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("Options for {@code $L}: the retry policy of {@code $L} with the pagination timeouts\n",
+                        paginatedMethod, operation.getMethodName())
+                    .initializer("$T.newBuilder($N)\n$>.setStartToCloseTimeout(PAGINATION_START_TO_CLOSE_TIMEOUT)\n"
+                            + ".setHeartbeatTimeout(PAGINATION_HEARTBEAT_TIMEOUT)\n.build()$<",
+                        ActivityOptions.class, policyFields.get(policyKey(operation.getRetryMetadata())))
+                    .build());
+            }
+        }
+
+        classBuilder.addField(FieldSpec.builder(mapType, "ACTIVITY_OPTIONS",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Options per activity type, for {@code WorkflowImplementationOptions.Builder.setActivityOptions}\n")
+            .initializer("activityOptions()")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("workflowImplementationOptions")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(WorkflowImplementationOptions.class)
+            .addJavadoc("Creates workflow implementation options applying the per-method activity options.\n")
+            .addStatement("return $T.newBuilder()\n.setActivityOptions(ACTIVITY_OPTIONS)\n.build()",
+                WorkflowImplementationOptions.class)
+            .build());
+
+        addActivityOptionsMethods(classBuilder, mapType, activityTypes);
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    /**
+     * Add the method building the unmodifiable map, delegating to one method per chunk of entries
+     */
+    private void addActivityOptionsMethods(TypeSpec.Builder classBuilder, TypeName mapType, Map<String, String> activityTypes) {
+        MethodSpec.Builder activityOptions = MethodSpec.methodBuilder("activityOptions")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(mapType)
+            .addStatement("$T options = new $T<>()", mapType, LinkedHashMap.class);
+
+        List<Map.Entry<String, String>> entries = new ArrayList<>(activityTypes.entrySet());
+        if (entries.size() <= ENTRIES_PER_METHOD) {
+            addPuts(activityOptions, entries);
+        } else {
+            for (int chunk = 0; chunk * ENTRIES_PER_METHOD < entries.size(); chunk++) {
+                String chunkMethod = "putActivityOptions" + chunk;
+                MethodSpec.Builder put = MethodSpec.methodBuilder(chunkMethod)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addParameter(mapType, "options");
+                addPuts(put, entries.subList(chunk * ENTRIES_PER_METHOD,
+                    Math.min(entries.size(), (chunk + 1) * ENTRIES_PER_METHOD)));
+                classBuilder.addMethod(put.build());
+                activityOptions.addStatement("$N(options)", chunkMethod);
+            }
+        }
+
+        classBuilder.addMethod(activityOptions
+            .addStatement("return $T.unmodifiableMap(options)", Collections.class)
+            .build());
+    }
+
+    private void addPuts(MethodSpec.Builder method, List<Map.Entry<String, String>> entries) {
+        for (Map.Entry<String, String> entry : entries) {
+            method.addStatement("options.put($S, $N)", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private CodeBlock retryOptions(RetryMetadata retry) {
+        return CodeBlock.builder()
+            .add("$T.newBuilder()\n", ActivityOptions.class)
+            .indent()
+            .add(".setRetryOptions($T.newBuilder()\n", RetryOptions.class)
+            .indent()
+            .add(".setInitialInterval($T.ofSeconds($L))\n", Duration.class, retry.getInitialInterval())
+            .add(".setMaximumInterval($T.ofSeconds($L))\n", Duration.class, retry.getMaximumInterval())
+            .add(".setBackoffCoefficient($L)\n", retry.getBackoffCoefficient())
+            .add(".setMaximumAttempts($L)\n", retry.getMaximumAttempts())
+            .add(".build())\n")
+            .unindent()
+            .add(".build()")
+            .unindent()
+            .build();
+    }
+
+    private static String policyKey(RetryMetadata retry) {
+        return retry.getInitialInterval() + "|" + retry.getMaximumInterval() + "|"
+            + retry.getBackoffCoefficient() + "|" + retry.getMaximumAttempts();
+    }
+
+    private static String policyName(RetryMetadata retry, int index) {
+        String policy = policyKey(retry);
+        if (policy.equals(policyKey(RetryMetadata.safeIdempotentRetry()))) {
+            return "IDEMPOTENT_RETRY";
+        }
+        if (policy.equals(policyKey(RetryMetadata.nonIdempotentRetry()))) {
+            return "NON_IDEMPOTENT_RETRY";
+        }
+        if (policy.equals(policyKey(RetryMetadata.defaultRetry()))) {
+            return "DEFAULT_RETRY";
+        }
+        return "RETRY_" + index;
+    }
+
+    /**
+     * Convert a method name to a constant name, e.g. {@code listPets} to {@code LIST_PETS}
+     */
+    private static String constantName(String methodName) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < methodName.length(); i++) {
+            char c = methodName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(methodName.charAt(i - 1))) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    private static String uniqueName(String name, Set<String> usedNames) {
+        String unique = name;
+        for (int i = 2; !usedNames.add(unique); i++) {
+            unique = name + "_" + i;
+        }
+        return unique;
+    }
+}
@@ -0,0 +1,137 @@
+package io.temporal.openapi.generator.codegen;
+
+import io.temporal.openapi.generator.model.OperationModel;
+
+import java.util.*;
+
+/**
+ * The operations generated into one activity interface and implementation. A spec is generated as a
+ * single shard unless it is split per tag or into configured {@link ActivityGroup}s; each shard of a
+ * split spec has its own activity type prefix and task queue, so it can be scaled on its own workers.
+ */
+public class ActivityShard {
+
+    private static final String ACTIVITY_SUFFIX = "Activity";
+
+    private final String interfaceName;
+    private final String group;
+    private final String namePrefix;
+    private final String taskQueue;
+    private final List<OperationModel> operations;
+
+    public ActivityShard(String interfaceName, String group, String namePrefix, String taskQueue,
+                         List<OperationModel> operations) {
+        this.interfaceName = interfaceName;
+        this.group = group;
+        this.namePrefix = namePrefix;
+        this.taskQueue = taskQueue;
+        this.operations = operations;
+    }
+
+    /**
+     * Split the operations into shards. Operations go to the first configured group selecting them,
+     * then, if grouping by tag, to the group of their first tag; the remaining operations stay on
+     * {@code activityName}, without an activity type prefix. Without groups the spec is a single shard
+     * without a task queue, generated exactly as before.
+     */
+    public static List<ActivityShard> partition(String activityName, List<OperationModel> operations,
+                                                boolean groupByTag, List<ActivityGroup> groups) {
+        List<ActivityGroup> configured = groups != null ? groups : Collections.emptyList();
+        if (!groupByTag && configured.isEmpty()) {
+            return Collections.singletonList(new ActivityShard(activityName, null, null, null, operations));
+        }
+
+        // Shards in order of configuration, then of first use, keyed by interface name
+        Map<String, ActivityShard> shards = new LinkedHashMap<>();
+        List<OperationModel> ungrouped = new ArrayList<>();
+        for (OperationModel operation : operations) {
+            ActivityShard shard = null;
+            for (ActivityGroup group : configured) {
+                if (group.getOperations() == null || group.getOperations().matches(operation.getHttpMethod(),
+                        operation.getPath(), operation.getOperationId(), operation.getTags())) {
+                    shard = shards.computeIfAbsent(interfaceName(activityName, group.getName()),
+                        name -> groupShard(name, group.getName(), group.getNamePrefix(), group.getTaskQueue()));
+                    break;
+                }
+            }
+            if (shard == null && groupByTag && operation.getTags() != null && !operation.getTags().isEmpty()
+                    && !segment(operation.getTags().get(0)).isEmpty()) {
+                String tag = operation.getTags().get(0);
+                shard = shards.computeIfAbsent(interfaceName(activityName, tag),
+                    name -> groupShard(name, tag, null, null));
+            }
+            if (shard != null) {
+                shard.operations.add(operation);
+            } else {
+                ungrouped.add(operation);
+            }
+        }
+
+        List<ActivityShard> result = new ArrayList<>(shards.values());
+        if (!ungrouped.isEmpty()) {
+            result.add(new ActivityShard(activityName, null, null, activityName, ungrouped));
+        }
+        return result;
+    }
+
+    private static ActivityShard groupShard(String interfaceName, String group, String namePrefix, String taskQueue) {
+        return new ActivityShard(interfaceName, group,
+            namePrefix != null ? namePrefix : segment(group) + "_",
+            taskQueue != null ? taskQueue : interfaceName,
+            new ArrayList<>());
+    }
+
+    /**
+     * Derive the interface name of a group, e.g. group {@code user-reports} of {@code PetStoreActivity}
+     * to {@code PetStoreUserReportsActivity}
+     */
+    static String interfaceName(String activityName, String group) {
+        if (activityName.endsWith(ACTIVITY_SUFFIX) && activityName.length() > ACTIVITY_SUFFIX.length()) {
+            return activityName.substring(0, activityName.length() - ACTIVITY_SUFFIX.length())
+                + segment(group) + ACTIVITY_SUFFIX;
+        }
+        return activityName + segment(group);
+    }
+
+    /**
+     * Convert a group name to a Java identifier segment, e.g. {@code user-reports} to {@code UserReports}
+     */
+    private static String segment(String group) {
+        StringBuilder segment = new StringBuilder();
+        for (String word : group.split("[^A-Za-z0-9]+")) {
+            if (!word.isEmpty()) {
+                segment.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+        }
+        return segment.toString();
+    }
+
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    /**
+     * Get the group name, or null for the operations of a spec that are not grouped
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Get the activity type prefix, or null if the activity types are the method names
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * Get the task queue, or null if the spec is not split
+     */
+    public String getTaskQueue() {
+        return taskQueue;
+    }
+
+    public List<OperationModel> getOperations() {
+        return operations;
+    }
+}
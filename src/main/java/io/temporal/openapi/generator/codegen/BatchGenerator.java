@@ -0,0 +1,461 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.*;
+import io.temporal.openapi.generator.model.JavaType;
+import io.temporal.openapi.generator.model.MediaTypeModel;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.ParameterModel;
+
+import javax.lang.model.element.Modifier;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * Generates the classes shared by the batch variants of a package's operations: {@code BatchItemResult},
+ * the result or failure of one input, and {@code BatchExecution}, which runs the calls of a batch with
+ * bounded concurrency inside one activity and heartbeats the results completed so far, so a retried
+ * attempt resumes from the last checkpoint. Also derives the batch method signature of an operation.
+ */
+public class BatchGenerator {
+
+    public static final String ITEM_RESULT_CLASS = "BatchItemResult";
+    public static final String EXECUTION_CLASS = "BatchExecution";
+
+    /**
+     * Interval at which a batch heartbeats its checkpoint; the SDK throttles the heartbeats it sends
+     * to the server, so this only bounds how often the checkpoint is copied
+     */
+    static final int HEARTBEAT_INTERVAL_SECONDS = 1;
+
+    private static final ClassName ACTIVITY = ClassName.get("io.temporal.activity", "Activity");
+    private static final ClassName EXECUTION_CONTEXT = ClassName.get("io.temporal.activity", "ActivityExecutionContext");
+    private static final ClassName APPLICATION_FAILURE = ClassName.get("io.temporal.failure", "ApplicationFailure");
+
+    private final String packageName;
+
+    public BatchGenerator(String packageName) {
+        this.packageName = packageName;
+    }
+
+    /**
+     * Generate the result of one input of a batch
+     */
+    public JavaFile generateBatchItemResult() {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeName self = ParameterizedTypeName.get(ClassName.get(packageName, ITEM_RESULT_CLASS), t);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(ITEM_RESULT_CLASS)
+            .addModifiers(Modifier.PUBLIC)
+            .addTypeVariable(t)
+            .addJavadoc("Result of one input of a batch activity: the value of a successful call, or the failure of a\n")
+            .addJavadoc("failed one, classified like the failure of the single call.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        classBuilder.addField(t, "value", Modifier.PRIVATE);
+        classBuilder.addField(String.class, "failureType", Modifier.PRIVATE);
+        classBuilder.addField(String.class, "failureMessage", Modifier.PRIVATE);
+        classBuilder.addField(TypeName.BOOLEAN, "retryable", Modifier.PRIVATE);
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("Creates an empty result, for deserialization.\n")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("success")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(t)
+            .returns(self)
+            .addParameter(t, "value")
+            .addStatement("$T result = new $T<>()", self, ClassName.get(packageName, ITEM_RESULT_CLASS))
+            .addStatement("result.value = value")
+            .addStatement("return result")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("failure")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(t)
+            .returns(self)
+            .addParameter(String.class, "type")
+            .addParameter(String.class, "message")
+            .addParameter(TypeName.BOOLEAN, "retryable")
+            .addStatement("$T result = new $T<>()", self, ClassName.get(packageName, ITEM_RESULT_CLASS))
+            .addStatement("result.failureType = type")
+            .addStatement("result.failureMessage = message")
+            .addStatement("result.retryable = retryable")
+            .addStatement("return result")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("failed")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(TypeName.BOOLEAN)
+            .addJavadoc("Whether the call of the input failed\n")
+            .addStatement("return failureType != null")
+            .build());
+
+        addProperty(classBuilder, t, "value", "Value of a successful call; null for a failed call or an operation without response");
+        addProperty(classBuilder, ClassName.get(String.class), "failureType",
+            "Failure type of a failed call, e.g. {@code HTTP_404}, or null if the call succeeded");
+        addProperty(classBuilder, ClassName.get(String.class), "failureMessage", "Message of a failed call");
+        addProperty(classBuilder, TypeName.BOOLEAN, "retryable",
+            "Whether a failed call may succeed when retried, e.g. after a server error or timeout");
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("toString")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(String.class)
+            .addStatement("return failed() ? $S + failureType + $S + failureMessage : $S + value",
+                "Failure ", ": ", "Success ")
+            .build());
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    private void addProperty(TypeSpec.Builder classBuilder, TypeName type, String name, String doc) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        classBuilder.addMethod(MethodSpec.methodBuilder((type == TypeName.BOOLEAN ? "is" : "get") + suffix)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(type)
+            .addJavadoc(doc + "\n")
+            .addStatement("return $N", name)
+            .build());
+        classBuilder.addMethod(MethodSpec.methodBuilder("set" + suffix)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(type, name)
+            .addStatement("this.$N = $N", name, name)
+            .build());
+    }
+
+    /**
+     * Generate the runner of the calls of a batch
+     */
+    public JavaFile generateBatchExecution() {
+        TypeVariableName r = TypeVariableName.get("R");
+        TypeVariableName i = TypeVariableName.get("I");
+        ClassName executionClass = ClassName.get(packageName, EXECUTION_CLASS);
+        ClassName itemResultClass = ClassName.get(packageName, ITEM_RESULT_CLASS);
+        TypeName itemResult = ParameterizedTypeName.get(itemResultClass, r);
+        TypeName results = ParameterizedTypeName.get(ClassName.get(List.class), itemResult);
+        TypeName future = ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), r);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(EXECUTION_CLASS)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addTypeVariable(r)
+            .addJavadoc("Runs the calls of a batch activity with bounded concurrency and heartbeats the results completed\n")
+            .addJavadoc("so far. A retried attempt reads them from the heartbeat details and only calls the inputs without\n")
+            .addJavadoc("a result or with a retryable failure, so the results of a batch must fit into the heartbeat details.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        classBuilder.addField(FieldSpec.builder(Duration.class, "HEARTBEAT_INTERVAL",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Interval at which the results completed so far are heartbeated\n")
+            .initializer("$T.ofSeconds($L)", Duration.class, HEARTBEAT_INTERVAL_SECONDS)
+            .build());
+        classBuilder.addField(EXECUTION_CONTEXT, "context", Modifier.PRIVATE, Modifier.FINAL);
+        classBuilder.addField(ParameterizedTypeName.get(ClassName.get(AtomicReferenceArray.class), itemResult),
+            "results", Modifier.PRIVATE, Modifier.FINAL);
+        classBuilder.addField(Semaphore.class, "permits", Modifier.PRIVATE, Modifier.FINAL);
+        classBuilder.addField(FieldSpec.builder(TypeName.LONG, "nextHeartbeat", Modifier.PRIVATE)
+            .addJavadoc("{@link System#nanoTime()} at which the next heartbeat is due\n")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(EXECUTION_CONTEXT, "context")
+            .addParameter(TypeName.INT, "size")
+            .addParameter(TypeName.INT, "concurrency")
+            .addStatement("this.context = context")
+            .addStatement("this.results = new $T<>(size)", AtomicReferenceArray.class)
+            .addStatement("this.permits = new $T(concurrency)", Semaphore.class)
+            .addStatement("this.nextHeartbeat = System.nanoTime() + HEARTBEAT_INTERVAL.toNanos()")
+            .build());
+
+        TypeName call = ParameterizedTypeName.get(ClassName.get(BiFunction.class),
+            WildcardTypeName.supertypeOf(i), ClassName.get(Integer.class), future);
+        classBuilder.addMethod(MethodSpec.methodBuilder("run")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addTypeVariable(i)
+            .addTypeVariable(r)
+            .returns(results)
+            .addParameter(ParameterizedTypeName.get(ClassName.get(List.class), i), "inputs")
+            .addParameter(TypeName.INT, "concurrency")
+            .addParameter(Type.class, "resultType")
+            .addParameter(call, "call")
+            .addJavadoc("Starts {@code call} with each input and its index, with at most {@code concurrency} calls in flight,\n")
+            .addJavadoc("and returns the result or failure of each input in input order. Must be called by an activity.\n")
+            .addJavadoc("@param resultType The generic return type of the batch method, to read the checkpoint\n")
+            .addStatement("$T execution = new $T<>($T.getExecutionContext(), inputs.size(), concurrency)",
+                ParameterizedTypeName.get(executionClass, r), executionClass, ACTIVITY)
+            .addStatement("execution.restore(resultType)")
+            .beginControlFlow("for (int index = 0; index < inputs.size(); index++)")
+            .addStatement("$T restored = execution.results.get(index)", itemResult)
+            .beginControlFlow("if (restored != null && !(restored.failed() && restored.isRetryable()))")
+            .addComment("Completed by a previous attempt; retryable failures are called again")
+            .addStatement("continue")
+            .endControlFlow()
+            .addStatement("execution.acquire(1)")
+            .addStatement("$T started", future)
+            .beginControlFlow("try")
+            .addStatement("started = call.apply(inputs.get(index), index)")
+            .nextControlFlow("catch ($T e)", RuntimeException.class)
+            .addComment("Failed to start, e.g. rejected by the executor")
+            .addStatement("started = $T.failedFuture(e)", CompletableFuture.class)
+            .endControlFlow()
+            .addStatement("execution.start(index, started)")
+            .endControlFlow()
+            .addComment("Wait for the calls in flight")
+            .addStatement("execution.acquire(concurrency)")
+            .addStatement("return execution.checkpoint()")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("resultType")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(Type.class)
+            .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)),
+                "activity")
+            .addParameter(String.class, "method")
+            .addJavadoc("Returns the generic return type of a batch method of the activity interface.\n")
+            .beginControlFlow("try")
+            .addStatement("return activity.getMethod(method, $T.class).getGenericReturnType()", List.class)
+            .nextControlFlow("catch ($T e)", NoSuchMethodException.class)
+            .addStatement("throw new $T($S + method, e)", IllegalArgumentException.class, "No batch method ")
+            .endControlFlow()
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("restore")
+            .addModifiers(Modifier.PRIVATE)
+            .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+            .addParameter(Type.class, "resultType")
+            .addJavadoc("Restores the results completed by the previous attempt from its last heartbeat.\n")
+            .addStatement("$T<?> checkpoint = context.getHeartbeatDetails($T.class, resultType).orElse(null)",
+                List.class, List.class)
+            .beginControlFlow("if (checkpoint == null || checkpoint.size() != results.length())")
+            .addStatement("return")
+            .endControlFlow()
+            .beginControlFlow("for (int index = 0; index < checkpoint.size(); index++)")
+            .addStatement("results.set(index, ($T) checkpoint.get(index))", itemResult)
+            .endControlFlow()
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("start")
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(TypeName.INT, "index")
+            .addParameter(future, "call")
+            .addJavadoc("Records the result of the call and releases its permit when it completes.\n")
+            .addCode("call.whenComplete((value, error) -> {\n$>")
+            .addStatement("results.set(index, error == null ? $T.success(value) : failure(error))", itemResultClass)
+            .addStatement("permits.release()")
+            .addCode("$<});\n")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("acquire")
+            .addModifiers(Modifier.PRIVATE)
+            .addParameter(TypeName.INT, "count")
+            .addJavadoc("Waits for permits of calls, heartbeating the checkpoint while waiting and whenever it is due.\n")
+            .beginControlFlow("try")
+            .beginControlFlow("while (!permits.tryAcquire(count, nextHeartbeat - System.nanoTime(), $T.NANOSECONDS))",
+                TimeUnit.class)
+            .addStatement("heartbeat()")
+            .endControlFlow()
+            .nextControlFlow("catch ($T e)", InterruptedException.class)
+            .addStatement("Thread.currentThread().interrupt()")
+            .addStatement("throw $T.wrap(e)", ACTIVITY)
+            .endControlFlow()
+            .beginControlFlow("if (nextHeartbeat - System.nanoTime() <= 0)")
+            .addStatement("heartbeat()")
+            .endControlFlow()
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("heartbeat")
+            .addModifiers(Modifier.PRIVATE)
+            .addJavadoc("Heartbeats a copy of the results; the SDK serializes the details when it sends them.\n")
+            .addStatement("context.heartbeat(checkpoint())")
+            .addStatement("nextHeartbeat = System.nanoTime() + HEARTBEAT_INTERVAL.toNanos()")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("checkpoint")
+            .addModifiers(Modifier.PRIVATE)
+            .returns(results)
+            .addJavadoc("Copies the results, null for the inputs not completed yet.\n")
+            .addStatement("$T checkpoint = new $T<>(results.length())", results, ArrayList.class)
+            .beginControlFlow("for (int index = 0; index < results.length(); index++)")
+            .addStatement("checkpoint.add(results.get(index))")
+            .endControlFlow()
+            .addStatement("return checkpoint")
+            .build());
+
+        TypeVariableName t = TypeVariableName.get("T");
+        classBuilder.addMethod(MethodSpec.methodBuilder("failure")
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .addTypeVariable(t)
+            .returns(ParameterizedTypeName.get(itemResultClass, t))
+            .addParameter(Throwable.class, "error")
+            .addJavadoc("Converts the failure of a call, normally an ApplicationFailure classified by its HTTP status.\n")
+            .addStatement("$T cause = error instanceof $T && error.getCause() != null ? error.getCause() : error",
+                Throwable.class, CompletionException.class)
+            .beginControlFlow("if (cause instanceof $T)", APPLICATION_FAILURE)
+            .addStatement("$T failure = ($T) cause", APPLICATION_FAILURE, APPLICATION_FAILURE)
+            .addStatement("return $T.failure(failure.getType(), failure.getOriginalMessage(), !failure.isNonRetryable())",
+                itemResultClass)
+            .endControlFlow()
+            .addStatement("return $T.failure(cause.getClass().getName(), cause.getMessage(), true)", itemResultClass)
+            .build());
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    /**
+     * Whether a batch method is generated for the operation: it is selected and its calls take arguments
+     */
+    static boolean hasBatch(OperationModel operation) {
+        return operation.isBatch() && (OperationSignatures.usesRequestObject(operation) || !arguments(operation).isEmpty());
+    }
+
+    /**
+     * Whether a batch method is generated for any of the operations
+     */
+    public static boolean hasBatch(List<OperationModel> operations) {
+        return operations.stream().anyMatch(BatchGenerator::hasBatch);
+    }
+
+    /**
+     * Name of the batch method of an operation, e.g. {@code getPetBatch}
+     */
+    static String methodName(OperationModel operation) {
+        return operation.getMethodName() + "Batch";
+    }
+
+    /**
+     * Return type of the batch method: the result of each input, of the single call's boxed return type
+     */
+    static TypeName returnType(String packageName, OperationModel operation) {
+        JavaType returnType = operation.getResponse().getJavaReturnType();
+        TypeName value = returnType.isVoid() ? ClassName.get(Void.class) : returnType.toTypeName().box();
+        return ParameterizedTypeName.get(ClassName.get(List.class),
+            ParameterizedTypeName.get(ClassName.get(packageName, ITEM_RESULT_CLASS), value));
+    }
+
+    /**
+     * Type of one input of the batch method: the request object of an operation with one, the argument
+     * of an operation with a single argument, and otherwise the item class nested in the interface
+     */
+    static TypeName inputType(String packageName, String interfaceName, OperationModel operation) {
+        if (OperationSignatures.usesRequestObject(operation)) {
+            return ClassName.get(packageName + ".requests", OperationSignatures.capitalize(operation.getMethodName()) + "Request");
+        }
+        List<ParameterSpec> arguments = arguments(operation);
+        if (arguments.size() == 1) {
+            return arguments.get(0).type;
+        }
+        return ClassName.get(packageName, interfaceName, itemClassName(operation));
+    }
+
+    /**
+     * Name of the input variable, from which {@link #callArguments} reads the arguments of the call
+     */
+    static String inputName(OperationModel operation) {
+        if (OperationSignatures.usesRequestObject(operation)) {
+            return "request";
+        }
+        List<ParameterSpec> arguments = arguments(operation);
+        return arguments.size() == 1 ? arguments.get(0).name : "item";
+    }
+
+    /**
+     * Arguments of the client call, read from the input variable
+     */
+    static List<String> callArguments(OperationModel operation) {
+        List<String> callArguments = new ArrayList<>();
+        if (OperationSignatures.usesRequestObject(operation)) {
+            for (ParameterModel param : operation.getParameters()) {
+                callArguments.add("request.get" + OperationSignatures.capitalize(param.getJavaFieldName()) + "()");
+            }
+            if (operation.getRequestBody() != null) {
+                callArguments.add("request.getBody()");
+            }
+            return callArguments;
+        }
+        List<ParameterSpec> arguments = arguments(operation);
+        if (arguments.size() == 1) {
+            callArguments.add(arguments.get(0).name);
+            return callArguments;
+        }
+        for (ParameterSpec argument : arguments) {
+            callArguments.add("item.get" + OperationSignatures.capitalize(argument.name) + "()");
+        }
+        return callArguments;
+    }
+
+    /**
+     * Generate the item class of an operation whose batch input has several arguments, or null if the
+     * input is a single argument or request object
+     */
+    static TypeSpec itemClass(OperationModel operation) {
+        List<ParameterSpec> arguments = arguments(operation);
+        if (OperationSignatures.usesRequestObject(operation) || arguments.size() == 1) {
+            return null;
+        }
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(itemClassName(operation))
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .addJavadoc("Input of one call of {@link #$L}\n", methodName(operation));
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC);
+        for (ParameterSpec argument : arguments) {
+            classBuilder.addField(argument.type, argument.name, Modifier.PRIVATE);
+            constructor.addParameter(argument.type, argument.name)
+                .addStatement("this.$N = $N", argument.name, argument.name);
+        }
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("Creates an empty input, for deserialization.\n")
+            .build());
+        classBuilder.addMethod(constructor.build());
+        for (ParameterSpec argument : arguments) {
+            classBuilder.addMethod(MethodSpec.methodBuilder("get" + OperationSignatures.capitalize(argument.name))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(argument.type)
+                .addStatement("return $N", argument.name)
+                .build());
+            classBuilder.addMethod(MethodSpec.methodBuilder("set" + OperationSignatures.capitalize(argument.name))
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(argument.type, argument.name)
+                .addStatement("this.$N = $N", argument.name, argument.name)
+                .build());
+        }
+        return classBuilder.build();
+    }
+
+    private static String itemClassName(OperationModel operation) {
+        return OperationSignatures.capitalize(operation.getMethodName()) + "BatchItem";
+    }
+
+    /**
+     * Arguments of the single call: the parameters followed by the request body
+     */
+    private static List<ParameterSpec> arguments(OperationModel operation) {
+        List<ParameterSpec> arguments = new ArrayList<>();
+        if (operation.getParameters() != null) {
+            for (ParameterModel param : operation.getParameters()) {
+                arguments.add(ParameterSpec.builder(param.getJavaType().toTypeName(), param.getJavaFieldName()).build());
+            }
+        }
+        if (operation.getRequestBody() != null) {
+            MediaTypeModel mediaType = operation.getRequestBody().getPrimaryContentType();
+            if (mediaType != null) {
+                arguments.add(ParameterSpec.builder(mediaType.getJavaType().toTypeName(), "body").build());
+            }
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,31 @@
+package io.temporal.openapi.generator.codegen;
+
+/**
+ * How generated activity implementations wait for API calls
+ */
+public enum CompletionMode {
+
+    /**
+     * The activity method calls the blocking client and returns its result
+     */
+    BLOCKING,
+
+    /**
+     * The activity method starts the call on a client returning {@code CompletableFuture} and the
+     * activity is completed through a {@code ManualActivityCompletionClient} when the future completes
+     */
+    ASYNC_CLIENT,
+
+    /**
+     * The activity method runs the blocking call on an executor, such as one backed by virtual threads,
+     * and the activity is completed through a {@code ManualActivityCompletionClient} when the call returns
+     */
+    EXECUTOR;
+
+    /**
+     * Whether the activity is completed after the activity method returns
+     */
+    public boolean isManual() {
+        return this != BLOCKING;
+    }
+}
@@ -0,0 +1,187 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.JavaFile;
+import io.temporal.openapi.generator.metrics.GenerationMetrics;
+import io.temporal.openapi.generator.writer.GeneratedSourceWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs code generation on a fork-join pool and streams every finished {@link JavaFile}
+ * to a writer thread through a bounded queue. When the queue is full the generating
+ * thread writes the file itself, which keeps the number of rendered files in flight bounded.
+ * Generated content does not depend on scheduling, so output is deterministic. Several specs
+ * may share one pipeline by passing their own writer and metrics to each stage.
+ */
+public class GenerationPipeline implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final ThreadPoolExecutor writerExecutor;
+    private final GeneratedSourceWriter writer;
+    private final GenerationMetrics metrics;
+    private final Set<Long> workerThreadIds = ConcurrentHashMap.newKeySet();
+    private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    private final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+
+    /**
+     * Create a pipeline without a default writer; every stage must name the writer it writes to
+     */
+    public GenerationPipeline(int parallelism) {
+        this(parallelism, null, new GenerationMetrics());
+    }
+
+    public GenerationPipeline(int parallelism, GeneratedSourceWriter writer) {
+        this(parallelism, writer, new GenerationMetrics());
+    }
+
+    /**
+     * @param writer default writer for stages that do not name one
+     * @param metrics receives the time and allocations spent rendering and writing files of those stages
+     */
+    public GenerationPipeline(int parallelism, GeneratedSourceWriter writer, GenerationMetrics metrics) {
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            workerThreadIds.add(thread.getId());
+            return thread;
+        }, null, false);
+        this.writerExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 4),
+            runnable -> {
+                Thread thread = new Thread(runnable, "temporal-openapi-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.writer = writer;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the pool used for parallel generation stages
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Get the ids of the pool's worker threads, for measuring work the pool does on a caller's behalf
+     */
+    public long[] getWorkerThreadIds() {
+        return workerThreadIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Generate one file per input in parallel, writing each as soon as it is built.
+     * Inputs for which the generator returns null produce no file.
+     *
+     * @return task completing with the number of files generated
+     */
+    public <T> ForkJoinTask<Integer> generate(Collection<T> inputs, Function<T, JavaFile> generator) {
+        return generate(inputs, generator, defaultWriter(), metrics);
+    }
+
+    /**
+     * Generate one file per input in parallel, writing each to the given writer as soon as it is built
+     *
+     * @param metrics receives the time and allocations spent rendering and writing the files
+     * @return task completing with the number of files generated
+     */
+    public <T> ForkJoinTask<Integer> generate(Collection<T> inputs, Function<T, JavaFile> generator,
+                                              GeneratedSourceWriter writer, GenerationMetrics metrics) {
+        List<T> ordered = new ArrayList<>(inputs);
+        return track(pool.submit(() -> ordered.parallelStream()
+            .map(generator)
+            .filter(javaFile -> javaFile != null)
+            .mapToInt(javaFile -> {
+                write(javaFile, writer, metrics);
+                return 1;
+            })
+            .sum()));
+    }
+
+    /**
+     * Generate a single file on the pool and write it once built. The file is not retained after it is written.
+     */
+    public ForkJoinTask<?> submit(Supplier<JavaFile> generator) {
+        return submit(generator, defaultWriter(), metrics);
+    }
+
+    /**
+     * Generate a single file on the pool and write it to the given writer once built
+     */
+    public ForkJoinTask<?> submit(Supplier<JavaFile> generator, GeneratedSourceWriter writer,
+                                  GenerationMetrics metrics) {
+        return track(pool.submit(() -> write(generator.get(), writer, metrics)));
+    }
+
+    /**
+     * Wait for all submitted generation tasks and pending writes to complete
+     */
+    public void finish() throws IOException {
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                throw new IOException("Timed out waiting for generated files to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing generated files", e);
+        }
+        IOException failure = writeFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        writerExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private synchronized <T extends ForkJoinTask<?>> T track(T task) {
+        tasks.add(task);
+        return task;
+    }
+
+    private GeneratedSourceWriter defaultWriter() {
+        if (writer == null) {
+            throw new IllegalStateException("Pipeline has no default writer");
+        }
+        return writer;
+    }
+
+    private void write(JavaFile javaFile, GeneratedSourceWriter writer, GenerationMetrics metrics) {
+        writerExecutor.execute(() -> {
+            try {
+                metrics.measure(GenerationMetrics.Phase.WRITING, () -> {
+                    try {
+                        writer.write(javaFile);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                writeFailure.compareAndSet(null, e.getCause());
+            } catch (RuntimeException e) {
+                writeFailure.compareAndSet(null, new IOException(
+                    "Failed to write " + javaFile.packageName + "." + javaFile.typeSpec.name, e));
+            }
+        });
+    }
+}
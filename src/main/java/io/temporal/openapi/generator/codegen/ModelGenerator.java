@@ -1,11 +1,14 @@
 package io.temporal.openapi.generator.codegen;
 
 import com.squareup.javapoet.*;
-import io.swagger.v3.oas.models.media.Schema;
-import io.temporal.openapi.generator.parser.TypeMapper;
+import io.temporal.openapi.generator.model.PropertyModel;
+import io.temporal.openapi.generator.model.SchemaModel;
+import io.temporal.openapi.generator.writer.JavaFileSink;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
@@ -13,47 +16,53 @@ import java.util.*;
  */
 public class ModelGenerator {
     
-    private final TypeMapper typeMapper;
     private final String packageName;
 
-    public ModelGenerator(TypeMapper typeMapper, String packageName) {
-        this.typeMapper = typeMapper;
+    public ModelGenerator(String packageName) {
         this.packageName = packageName;
     }
 
     /**
      * Generate model classes for all schemas
      */
-    public List<JavaFile> generateModels() {
+    public List<JavaFile> generateModels(Collection<SchemaModel> schemas) {
         List<JavaFile> javaFiles = new ArrayList<>();
-        @SuppressWarnings("rawtypes")
-        Map<String, Schema> schemas = typeMapper.getSchemasToGenerate();
-
-        for (@SuppressWarnings("rawtypes") Map.Entry<String, Schema> entry : schemas.entrySet()) {
-            String modelName = entry.getKey();
-            @SuppressWarnings("rawtypes")
-            Schema schema = entry.getValue();
-            
-            JavaFile javaFile = generateModel(modelName, schema);
+        try {
+            generateModels(schemas, javaFiles::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Generate model classes for all schemas, handing each to the sink as soon as it is built
+     * so no more than one generated model is held at a time
+     *
+     * @return the number of model classes generated
+     */
+    public int generateModels(Collection<SchemaModel> schemas, JavaFileSink sink) throws IOException {
+        int count = 0;
+        for (SchemaModel schema : schemas) {
+            JavaFile javaFile = generateModel(schema);
             if (javaFile != null) {
-                javaFiles.add(javaFile);
+                sink.accept(javaFile);
+                count++;
             }
         }
-
-        return javaFiles;
+        return count;
     }
 
     /**
      * Generate a single model class
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    public JavaFile generateModel(String modelName, Schema schema) {
-        if (schema.getProperties() == null || schema.getProperties().isEmpty()) {
+    public JavaFile generateModel(SchemaModel schema) {
+        if (schema.getProperties().isEmpty()) {
             // Skip empty schemas or enums (handle separately if needed)
             return null;
         }
 
-        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(modelName)
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(schema.getName())
             .addModifiers(Modifier.PUBLIC);
 
         // Add class javadoc
@@ -66,28 +75,19 @@ public class ModelGenerator {
         MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
             .addModifiers(Modifier.PUBLIC);
 
-        List<String> requiredFields = schema.getRequired() != null ? 
-            schema.getRequired() : Collections.emptyList();
-
-        for (Map.Entry<String, Schema> propEntry : 
-             ((Map<String, Schema>) schema.getProperties()).entrySet()) {
-            
-            String propName = propEntry.getKey();
-            Schema propSchema = propEntry.getValue();
-            boolean required = requiredFields.contains(propName);
-
-            String javaFieldName = toCamelCase(propName);
-            String javaType = typeMapper.mapToFieldType(propSchema, required);
+        for (PropertyModel property : schema.getProperties()) {
+            String javaFieldName = toCamelCase(property.getName());
+            TypeName javaType = property.getJavaType().toTypeName();
 
             // Create field
             FieldSpec.Builder fieldBuilder = FieldSpec.builder(
-                getTypeName(javaType), 
+                javaType, 
                 javaFieldName,
                 Modifier.PRIVATE
             );
 
-            if (propSchema.getDescription() != null) {
-                fieldBuilder.addJavadoc(propSchema.getDescription() + "\n");
+            if (property.getDescription() != null) {
+                fieldBuilder.addJavadoc(property.getDescription() + "\n");
             }
 
             FieldSpec field = fieldBuilder.build();
@@ -95,13 +95,13 @@ public class ModelGenerator {
             classBuilder.addField(field);
 
             // Add to constructor
-            constructorBuilder.addParameter(getTypeName(javaType), javaFieldName);
+            constructorBuilder.addParameter(javaType, javaFieldName);
             constructorBuilder.addStatement("this.$L = $L", javaFieldName, javaFieldName);
 
             // Add getter
             MethodSpec getter = MethodSpec.methodBuilder("get" + StringUtils.capitalize(javaFieldName))
                 .addModifiers(Modifier.PUBLIC)
-                .returns(getTypeName(javaType))
+                .returns(javaType)
                 .addStatement("return $L", javaFieldName)
                 .build();
             classBuilder.addMethod(getter);
@@ -109,7 +109,7 @@ public class ModelGenerator {
             // Add setter
             MethodSpec setter = MethodSpec.methodBuilder("set" + StringUtils.capitalize(javaFieldName))
                 .addModifiers(Modifier.PUBLIC)
-                .addParameter(getTypeName(javaType), javaFieldName)
+                .addParameter(javaType, javaFieldName)
                 .addStatement("this.$L = $L", javaFieldName, javaFieldName)
                 .build();
             classBuilder.addMethod(setter);
@@ -155,58 +155,5 @@ public class ModelGenerator {
         return result.toString();
     }
 
-    /**
-     * Convert string type name to TypeName
-     */
-    private TypeName getTypeName(String javaType) {
-        // Handle generic types
-        if (javaType.contains("<")) {
-            return parseGenericType(javaType);
-        }
-
-        // Handle primitive types
-        switch (javaType) {
-            case "String": return ClassName.get(String.class);
-            case "Integer": return ClassName.get(Integer.class);
-            case "Long": return ClassName.get(Long.class);
-            case "Double": return ClassName.get(Double.class);
-            case "Float": return ClassName.get(Float.class);
-            case "Boolean": return ClassName.get(Boolean.class);
-            case "byte[]": return ArrayTypeName.of(TypeName.BYTE);
-            case "Object": return ClassName.get(Object.class);
-            default:
-                // Assume it's a fully qualified class name
-                if (javaType.contains(".")) {
-                    int lastDot = javaType.lastIndexOf('.');
-                    String pkg = javaType.substring(0, lastDot);
-                    String className = javaType.substring(lastDot + 1);
-                    return ClassName.get(pkg, className);
-                }
-                return ClassName.get(packageName, javaType);
-        }
-    }
 
-    /**
-     * Parse generic types like List<String> or Map<String, Integer>
-     */
-    private TypeName parseGenericType(String javaType) {
-        // Simple parser for List and Map types
-        if (javaType.startsWith("java.util.List<")) {
-            String innerType = javaType.substring(15, javaType.length() - 1);
-            return ParameterizedTypeName.get(
-                ClassName.get(List.class),
-                getTypeName(innerType)
-            );
-        }
-        if (javaType.startsWith("java.util.Map<")) {
-            String inner = javaType.substring(14, javaType.length() - 1);
-            String[] types = inner.split(",\\s*");
-            return ParameterizedTypeName.get(
-                ClassName.get(Map.class),
-                getTypeName(types[0]),
-                getTypeName(types[1])
-            );
-        }
-        return ClassName.bestGuess(javaType);
-    }
 }
@@ -0,0 +1,32 @@
+package io.temporal.openapi.generator.codegen;
+
+import io.temporal.openapi.generator.model.OperationModel;
+
+/**
+ * Signature rules shared by the generators. The batch, paginated and async methods derive their
+ * arguments from the single activity method, so they must make the same choices to compile against it.
+ */
+final class OperationSignatures {
+
+    /**
+     * Parameters up to which a method takes them individually rather than as a request object
+     */
+    static final int MAX_INDIVIDUAL_PARAMETERS = 5;
+
+    private OperationSignatures() {
+    }
+
+    /**
+     * Determine if a method takes a request object instead of individual parameters. A request body
+     * alongside the parameters is a common pattern and does not count towards the limit.
+     */
+    static boolean usesRequestObject(OperationModel operation) {
+        int paramCount = operation.getParameters() != null ? operation.getParameters().size() : 0;
+        return paramCount > MAX_INDIVIDUAL_PARAMETERS;
+    }
+
+    static String capitalize(String str) {
+        if (str == null || str.isEmpty()) return str;
+        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    }
+}
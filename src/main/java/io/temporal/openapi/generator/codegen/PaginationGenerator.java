@@ -0,0 +1,291 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.*;
+import io.temporal.openapi.generator.model.JavaType;
+import io.temporal.openapi.generator.model.MediaTypeModel;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.PaginationModel;
+import io.temporal.openapi.generator.model.ParameterModel;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the classes shared by the paginated variants of a package's operations: {@code PageSink},
+ * which receives the items of each page, and {@code PaginationProgress}, where the next page starts,
+ * which the variants heartbeat after every page so a retried attempt resumes with the next page instead
+ * of the first. Also derives the paginated method signature and page calls of an operation.
+ */
+public class PaginationGenerator {
+
+    public static final String SINK_CLASS = "PageSink";
+    public static final String PROGRESS_CLASS = "PaginationProgress";
+
+    private final String packageName;
+
+    public PaginationGenerator(String packageName) {
+        this.packageName = packageName;
+    }
+
+    /**
+     * Generate the interface receiving the pages
+     */
+    public JavaFile generatePageSink() {
+        TypeSpec sinkInterface = TypeSpec.interfaceBuilder(SINK_CLASS)
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(FunctionalInterface.class)
+            .addJavadoc("Receives the items of each page walked by a paginated activity, e.g. to write them to a\n")
+            .addJavadoc("store, so the activity never holds more than one page. A page is received again when an attempt\n")
+            .addJavadoc("fails before heartbeating the progress after it, so writes should be idempotent.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n")
+            .addMethod(MethodSpec.methodBuilder("accept")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(String.class, "operation")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(List.class), WildcardTypeName.subtypeOf(Object.class)),
+                    "items")
+                .addException(Exception.class)
+                .addJavadoc("@param operation The activity method of a single page, e.g. {@code listPets}\n")
+                .addJavadoc("@param items The items of the page, in page order; never empty\n")
+                .addJavadoc("@throws Exception To fail the attempt, which is retried from this page\n")
+                .build())
+            .build();
+
+        return JavaFile.builder(packageName, sinkInterface)
+            .indent("    ")
+            .build();
+    }
+
+    /**
+     * Generate the progress of a paginated activity
+     */
+    public JavaFile generatePaginationProgress() {
+        ClassName self = ClassName.get(packageName, PROGRESS_CLASS);
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(PROGRESS_CLASS)
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("Progress of a paginated activity: the page number, offset or cursor of the next page, and the\n")
+            .addJavadoc("pages and items handed to the {@link $L} so far. Heartbeated after every page, and returned once\n",
+                SINK_CLASS)
+            .addJavadoc("the last page was handed over. Instances are not modified once created.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        classBuilder.addField(TypeName.LONG, "position", Modifier.PRIVATE);
+        classBuilder.addField(String.class, "cursor", Modifier.PRIVATE);
+        classBuilder.addField(TypeName.LONG, "pages", Modifier.PRIVATE);
+        classBuilder.addField(TypeName.LONG, "items", Modifier.PRIVATE);
+        classBuilder.addField(TypeName.BOOLEAN, "complete", Modifier.PRIVATE);
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PUBLIC)
+            .addJavadoc("Creates an empty progress, for deserialization.\n")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("startAt")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(self)
+            .addParameter(TypeName.LONG, "position")
+            .addParameter(String.class, "cursor")
+            .addJavadoc("Progress before the first page, which starts at the given page number or offset, or cursor\n")
+            .addStatement("$T progress = new $T()", self, self)
+            .addStatement("progress.position = position")
+            .addStatement("progress.cursor = cursor")
+            .addStatement("return progress")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("next")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(self)
+            .addParameter(TypeName.LONG, "position")
+            .addParameter(String.class, "cursor")
+            .addParameter(TypeName.INT, "pageItems")
+            .addJavadoc("Progress after one more page of {@code pageItems} items, with the next page starting at the\n")
+            .addJavadoc("given page number or offset, or cursor\n")
+            .addStatement("$T progress = startAt(position, cursor)", self)
+            .addStatement("progress.pages = pages + 1")
+            .addStatement("progress.items = items + pageItems")
+            .addStatement("return progress")
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("completed")
+            .addModifiers(Modifier.PUBLIC)
+            .returns(self)
+            .addJavadoc("This progress, with no pages left\n")
+            .addStatement("$T progress = startAt(position, cursor)", self)
+            .addStatement("progress.pages = pages")
+            .addStatement("progress.items = items")
+            .addStatement("progress.complete = true")
+            .addStatement("return progress")
+            .build());
+
+        addProperty(classBuilder, TypeName.LONG, "position", "getPosition");
+        addProperty(classBuilder, ClassName.get(String.class), "cursor", "getCursor");
+        addProperty(classBuilder, TypeName.LONG, "pages", "getPages");
+        addProperty(classBuilder, TypeName.LONG, "items", "getItems");
+        addProperty(classBuilder, TypeName.BOOLEAN, "complete", "isComplete");
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    private void addProperty(TypeSpec.Builder classBuilder, TypeName type, String name, String getter) {
+        classBuilder.addMethod(MethodSpec.methodBuilder(getter)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(type)
+            .addStatement("return $N", name)
+            .build());
+        classBuilder.addMethod(MethodSpec.methodBuilder("set" + OperationSignatures.capitalize(name))
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(type, name)
+            .addStatement("this.$N = $N", name, name)
+            .build());
+    }
+
+    /**
+     * Whether a paginated method is generated for the operation: its pages were detected or declared,
+     * and it returns them as JSON
+     */
+    static boolean hasPagination(OperationModel operation) {
+        return operation.getPagination() != null && !operation.getResponse().getJavaReturnType().isVoid()
+            && pageParameter(operation) != null;
+    }
+
+    /**
+     * Whether a paginated method is generated for any of the operations
+     */
+    public static boolean hasPagination(List<OperationModel> operations) {
+        return operations.stream().anyMatch(PaginationGenerator::hasPagination);
+    }
+
+    /**
+     * Name of the paginated method of an operation, e.g. {@code listPetsAll}
+     */
+    static String methodName(OperationModel operation) {
+        return operation.getMethodName() + "All";
+    }
+
+    /**
+     * Name of the method calling the client for one page, e.g. {@code listPetsPage}
+     */
+    static String pageMethodName(OperationModel operation) {
+        return operation.getMethodName() + "Page";
+    }
+
+    /**
+     * Arguments of the paginated method: the arguments of the single call
+     */
+    static List<ParameterSpec> arguments(String packageName, OperationModel operation) {
+        List<ParameterSpec> arguments = new ArrayList<>();
+        if (OperationSignatures.usesRequestObject(operation)) {
+            arguments.add(ParameterSpec.builder(
+                ClassName.get(packageName + ".requests", OperationSignatures.capitalize(operation.getMethodName()) + "Request"),
+                "request").build());
+            return arguments;
+        }
+        return callParameters(operation);
+    }
+
+    /**
+     * Parameters of the page method: the arguments of the client call
+     */
+    static List<ParameterSpec> callParameters(OperationModel operation) {
+        List<ParameterSpec> parameters = new ArrayList<>();
+        for (ParameterModel param : operation.getParameters()) {
+            parameters.add(ParameterSpec.builder(param.getJavaType().toTypeName(), param.getJavaFieldName()).build());
+        }
+        if (operation.getRequestBody() != null) {
+            MediaTypeModel mediaType = operation.getRequestBody().getPrimaryContentType();
+            if (mediaType != null) {
+                parameters.add(ParameterSpec.builder(mediaType.getJavaType().toTypeName(), "body").build());
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Arguments of the page call, read from the paginated method's arguments with the page parameter
+     * taken from {@code progress}
+     */
+    static List<String> pageArguments(OperationModel operation) {
+        ParameterModel pageParameter = pageParameter(operation);
+        boolean requestObject = OperationSignatures.usesRequestObject(operation);
+        List<String> arguments = new ArrayList<>();
+        for (ParameterModel param : operation.getParameters()) {
+            if (param == pageParameter) {
+                arguments.add(pagePosition(operation));
+            } else {
+                arguments.add(requestObject ? "request.get" + OperationSignatures.capitalize(param.getJavaFieldName()) + "()"
+                    : param.getJavaFieldName());
+            }
+        }
+        if (operation.getRequestBody() != null && operation.getRequestBody().getPrimaryContentType() != null) {
+            arguments.add(requestObject ? "request.getBody()" : "body");
+        }
+        return arguments;
+    }
+
+    /**
+     * Expression of the first page's number, offset or cursor: the requested one, if any
+     */
+    static String startExpression(OperationModel operation) {
+        PaginationModel pagination = operation.getPagination();
+        String requested = OperationSignatures.usesRequestObject(operation)
+            ? "request.get" + OperationSignatures.capitalize(pageParameter(operation).getJavaFieldName()) + "()"
+            : pageParameter(operation).getJavaFieldName();
+        switch (pagination.getStyle()) {
+            case CURSOR:
+                return requested;
+            case PAGE:
+                return requested + " != null ? " + requested + " : " + pagination.getFirstPage() + "L";
+            default:
+                return requested + " != null ? " + requested + " : 0L";
+        }
+    }
+
+    /**
+     * Getter of the response's items, or null if the response is the list of items
+     */
+    static String itemsGetter(OperationModel operation) {
+        String property = operation.getPagination().getItemsProperty();
+        return property != null ? getter(property) : null;
+    }
+
+    /**
+     * Getter of the response's next cursor
+     */
+    static String nextCursorGetter(OperationModel operation) {
+        return getter(operation.getPagination().getNextCursorProperty());
+    }
+
+    /**
+     * The parameter selecting the page, or null if the operation has none of the model's name
+     */
+    static ParameterModel pageParameter(OperationModel operation) {
+        for (ParameterModel param : operation.getParameters()) {
+            if (param.getName().equals(operation.getPagination().getParameter())) {
+                return param;
+            }
+        }
+        return null;
+    }
+
+    private static String pagePosition(OperationModel operation) {
+        if (operation.getPagination().getStyle() == PaginationModel.Style.CURSOR) {
+            return "progress.getCursor()";
+        }
+        return JavaType.LONG.equals(pageParameter(operation).getJavaType())
+            ? "progress.getPosition()" : "(int) progress.getPosition()";
+    }
+
+    /**
+     * Getter of a property in the client's model classes, which camel-case the property name
+     */
+    private static String getter(String property) {
+        StringBuilder getter = new StringBuilder("get");
+        for (String part : property.split("[^A-Za-z0-9]+")) {
+            getter.append(OperationSignatures.capitalize(part));
+        }
+        return getter.toString();
+    }
+}
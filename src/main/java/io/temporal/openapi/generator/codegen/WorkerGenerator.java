@@ -0,0 +1,399 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.*;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerFactory;
+import io.temporal.worker.WorkerOptions;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a worker bootstrap that registers the activity implementation with WorkerOptions sized for
+ * I/O-bound activities, which can be overridden per task queue through properties. The task queue rate
+ * limit is the {@code x-rate-limit} of the operations when they all declare the same one. With the
+ * executor completion mode, the bootstrap also supplies the executor for the blocking API calls: virtual
+ * threads on JDK 21 and later, a platform thread pool otherwise.
+ */
+public class WorkerGenerator {
+
+    /**
+     * Concurrent activities per worker when calls run on virtual threads; a call in flight holds an
+     * activity slot but no platform thread
+     */
+    static final int VIRTUAL_THREAD_CONCURRENCY = 2000;
+
+    /**
+     * Concurrent activities per worker when calls run on platform threads, one thread per call
+     */
+    static final int PLATFORM_THREAD_CONCURRENCY = 400;
+
+    /**
+     * Concurrent activities per worker when calls are made by a non-blocking client; a call in flight
+     * holds an activity slot but no thread
+     */
+    static final int ASYNC_CLIENT_CONCURRENCY = 2000;
+
+    /**
+     * Activity task pollers; more than the SDK default so polling keeps up with short, I/O-bound activities
+     */
+    static final int ACTIVITY_TASK_POLLERS = 10;
+
+    /**
+     * Prefix of the properties overriding the worker options of a task queue
+     */
+    static final String PROPERTY_PREFIX = "temporal.worker.";
+
+    private final String packageName;
+    private final String activityName;
+    private final String apiClientPackage;
+    private final CompletionMode completionMode;
+    private final boolean taskQueue;
+
+    public WorkerGenerator(String packageName, String activityName, String apiClientPackage) {
+        this(packageName, activityName, apiClientPackage, CompletionMode.EXECUTOR, false);
+    }
+
+    /**
+     * @param completionMode how the implementation waits for API calls, which sizes its concurrency
+     * @param taskQueue      whether the activity interface declares the {@code TASK_QUEUE} of its workers
+     */
+    public WorkerGenerator(String packageName, String activityName, String apiClientPackage,
+                           CompletionMode completionMode, boolean taskQueue) {
+        this.packageName = packageName;
+        this.activityName = activityName;
+        this.apiClientPackage = apiClientPackage;
+        this.completionMode = completionMode;
+        this.taskQueue = taskQueue;
+    }
+
+    /**
+     * Generate the worker bootstrap class without a task queue rate limit
+     */
+    public JavaFile generateWorker() {
+        return generateWorker(Collections.emptyList());
+    }
+
+    /**
+     * Generate the worker bootstrap class for the operations of the activity interface
+     */
+    public JavaFile generateWorker(List<OperationModel> operations) {
+        // ApiClient is in the root of the invoker package, not the .api subpackage
+        ClassName apiClientClass = ClassName.get(apiClientPackage.replace(".api", ""), "ApiClient");
+        ClassName implClass = ClassName.get(packageName, activityName + "Impl");
+        boolean executor = completionMode == CompletionMode.EXECUTOR;
+
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(activityName + "Worker")
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+        if (executor) {
+            classBuilder.addJavadoc("Worker bootstrap for $L. API calls run on virtual threads on JDK 21 and later\n", activityName)
+                .addJavadoc("and on a platform thread pool otherwise, and WorkerOptions are sized for I/O-bound activities.\n");
+        } else {
+            classBuilder.addJavadoc("Worker bootstrap for $L with WorkerOptions sized for I/O-bound activities.\n", activityName);
+        }
+        classBuilder.addJavadoc("The options of a task queue can be overridden by the properties\n")
+            .addJavadoc("{@code $L<taskQueue>.maxConcurrentActivityExecutionSize}, {@code .maxConcurrentActivityTaskPollers}\n",
+                PROPERTY_PREFIX)
+            .addJavadoc("and {@code .maxTaskQueueActivitiesPerSecond}.\n")
+            .addJavadoc("This class is auto-generated from the OpenAPI specification.\n");
+
+        if (executor) {
+            classBuilder.addField(FieldSpec.builder(TypeName.BOOLEAN, "VIRTUAL_THREADS",
+                    Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Whether API calls run on virtual threads, which requires JDK 21 or later\n")
+                .initializer("$T.version().feature() >= 21", Runtime.class)
+                .build());
+        }
+        classBuilder.addField(concurrencyField());
+        classBuilder.addField(FieldSpec.builder(TypeName.INT, "MAX_CONCURRENT_ACTIVITY_TASK_POLLERS",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Concurrent activity task pollers\n")
+            .initializer("$L", ACTIVITY_TASK_POLLERS)
+            .build());
+        classBuilder.addField(rateLimitField(operations));
+        classBuilder.addField(FieldSpec.builder(String.class, "PROPERTY_PREFIX",
+                Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Prefix of the properties overriding the worker options, followed by the task queue\n")
+            .initializer("$S", PROPERTY_PREFIX)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(Modifier.PRIVATE)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("workerOptions")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(WorkerOptions.class)
+            .addJavadoc("Creates worker options sized for I/O-bound activities.\n")
+            .addStatement("return $T.newBuilder()\n"
+                    + ".setMaxConcurrentActivityExecutionSize(MAX_CONCURRENT_ACTIVITY_EXECUTIONS)\n"
+                    + ".setMaxConcurrentActivityTaskPollers(MAX_CONCURRENT_ACTIVITY_TASK_POLLERS)\n"
+                    + ".setMaxTaskQueueActivitiesPerSecond(MAX_TASK_QUEUE_ACTIVITIES_PER_SECOND)\n"
+                    + ".build()",
+                WorkerOptions.class)
+            .build());
+
+        classBuilder.addMethod(MethodSpec.methodBuilder("workerOptions")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(WorkerOptions.class)
+            .addParameter(String.class, "taskQueue")
+            .addParameter(Properties.class, "properties")
+            .addJavadoc("Creates worker options for the task queue, overriding the defaults with the properties\n")
+            .addJavadoc("named {@link #PROPERTY_PREFIX}, the task queue, a dot and the option.\n")
+            .addStatement("String prefix = PROPERTY_PREFIX + taskQueue + $S", ".")
+            .addStatement("int executions = intProperty(properties, prefix + $S,\nMAX_CONCURRENT_ACTIVITY_EXECUTIONS)",
+                "maxConcurrentActivityExecutionSize")
+            .addStatement("int pollers = intProperty(properties, prefix + $S,\nMAX_CONCURRENT_ACTIVITY_TASK_POLLERS)",
+                "maxConcurrentActivityTaskPollers")
+            .addStatement("double activitiesPerSecond = doubleProperty(properties, prefix + $S,\n"
+                    + "MAX_TASK_QUEUE_ACTIVITIES_PER_SECOND)",
+                "maxTaskQueueActivitiesPerSecond")
+            .addStatement("return $T.newBuilder()\n"
+                    + ".setMaxConcurrentActivityExecutionSize(executions)\n"
+                    + ".setMaxConcurrentActivityTaskPollers(pollers)\n"
+                    + ".setMaxTaskQueueActivitiesPerSecond(activitiesPerSecond)\n"
+                    + ".build()",
+                WorkerOptions.class)
+            .build());
+
+        if (executor) {
+            classBuilder.addMethod(MethodSpec.methodBuilder("newExecutor")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ExecutorService.class)
+                .addJavadoc("Creates the executor running API calls: one virtual thread per call on JDK 21 and later,\n")
+                .addJavadoc("otherwise a pool of up to {@link #MAX_CONCURRENT_ACTIVITY_EXECUTIONS} platform threads.\n")
+                .beginControlFlow("if (VIRTUAL_THREADS)")
+                .beginControlFlow("try")
+                .addStatement("return ($T) $T.class.getMethod($S).invoke(null)",
+                    ExecutorService.class, Executors.class, "newVirtualThreadPerTaskExecutor")
+                .nextControlFlow("catch ($T e)", ReflectiveOperationException.class)
+                .addComment("Fall back to platform threads")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("$T executor = new $T(\n"
+                        + "MAX_CONCURRENT_ACTIVITY_EXECUTIONS, MAX_CONCURRENT_ACTIVITY_EXECUTIONS, 60L, $T.SECONDS,\n"
+                        + "new $T<>())",
+                    ThreadPoolExecutor.class, ThreadPoolExecutor.class, TimeUnit.class, LinkedBlockingQueue.class)
+                .addStatement("executor.allowCoreThreadTimeOut(true)")
+                .addStatement("return executor")
+                .build());
+        }
+
+        String implArguments = executor ? "apiClient, executor" : "apiClient";
+        String runningOnExecutor = executor ? ",\nrunning its API calls on the executor" : "";
+        boolean pagination = PaginationGenerator.hasPagination(operations);
+        String withoutSink = pagination ? ",\nwhose paginated methods fail without a {@link " + PaginationGenerator.SINK_CLASS + "}" : "";
+        classBuilder.addMethod(newWorkerMethod(apiClientClass, true, false, false)
+            .addJavadoc("Creates a worker for the task queue and registers the activity implementation$L$L.\n",
+                runningOnExecutor, withoutSink)
+            .addJavadoc("The worker options can be overridden by system properties.\n")
+            .addStatement("return newWorker(factory, taskQueue, $L, $T.getProperties())", implArguments, System.class)
+            .build());
+
+        if (pagination) {
+            classBuilder.addMethod(newWorkerMethod(apiClientClass, true, true, false)
+                .addJavadoc("Creates a worker for the task queue and registers the activity implementation$L,\n",
+                    runningOnExecutor)
+                .addJavadoc("handing the pages of its paginated methods to the sink.\n")
+                .addJavadoc("The worker options can be overridden by system properties.\n")
+                .addStatement("return newWorker(factory, taskQueue, $L, pageSink, $T.getProperties())",
+                    implArguments, System.class)
+                .build());
+
+            classBuilder.addMethod(newWorkerMethod(apiClientClass, true, false, true)
+                .addJavadoc("Creates a worker for the task queue and registers the activity implementation$L$L.\n",
+                    runningOnExecutor, withoutSink)
+                .addJavadoc("The worker options can be overridden by the properties.\n")
+                .addStatement("return newWorker(factory, taskQueue, $L, null, properties)", implArguments)
+                .build());
+
+            classBuilder.addMethod(newWorkerMethod(apiClientClass, true, true, true)
+                .addJavadoc("Creates a worker for the task queue and registers the activity implementation$L,\n",
+                    runningOnExecutor)
+                .addJavadoc("handing the pages of its paginated methods to the sink, which may be null.\n")
+                .addJavadoc("The worker options can be overridden by the properties.\n")
+                .addStatement("$T worker = factory.newWorker(taskQueue, workerOptions(taskQueue, properties))", Worker.class)
+                .addStatement("worker.registerActivitiesImplementations(new $T($L, pageSink))", implClass, implArguments)
+                .addStatement("return worker")
+                .build());
+        } else {
+            classBuilder.addMethod(newWorkerMethod(apiClientClass, true, false, true)
+                .addJavadoc("Creates a worker for the task queue and registers the activity implementation$L.\n",
+                    runningOnExecutor)
+                .addJavadoc("The worker options can be overridden by the properties.\n")
+                .addStatement("$T worker = factory.newWorker(taskQueue, workerOptions(taskQueue, properties))", Worker.class)
+                .addStatement("worker.registerActivitiesImplementations(new $T($L))", implClass, implArguments)
+                .addStatement("return worker")
+                .build());
+        }
+
+        if (taskQueue) {
+            ClassName interfaceClass = ClassName.get(packageName, activityName);
+            classBuilder.addMethod(newWorkerMethod(apiClientClass, false, false, false)
+                .addJavadoc("Creates a worker for {@link $T#TASK_QUEUE} and registers the activity implementation$L$L.\n",
+                    interfaceClass, runningOnExecutor, withoutSink)
+                .addJavadoc("The worker options can be overridden by system properties.\n")
+                .addStatement("return newWorker(factory, $T.TASK_QUEUE, $L)", interfaceClass, implArguments)
+                .build());
+            if (pagination) {
+                classBuilder.addMethod(newWorkerMethod(apiClientClass, false, true, false)
+                    .addJavadoc("Creates a worker for {@link $T#TASK_QUEUE} and registers the activity implementation$L,\n",
+                        interfaceClass, runningOnExecutor)
+                    .addJavadoc("handing the pages of its paginated methods to the sink.\n")
+                    .addJavadoc("The worker options can be overridden by system properties.\n")
+                    .addStatement("return newWorker(factory, $T.TASK_QUEUE, $L, pageSink)", interfaceClass, implArguments)
+                    .build());
+            }
+        }
+
+        classBuilder.addMethod(propertyMethod("intProperty", TypeName.INT, Integer.class, "parseInt"));
+        classBuilder.addMethod(propertyMethod("doubleProperty", TypeName.DOUBLE, Double.class, "parseDouble"));
+
+        return JavaFile.builder(packageName, classBuilder.build())
+            .indent("    ")
+            .build();
+    }
+
+    /**
+     * Concurrent activities per worker, according to how the implementation waits for API calls
+     */
+    private FieldSpec concurrencyField() {
+        FieldSpec.Builder field = FieldSpec.builder(TypeName.INT, "MAX_CONCURRENT_ACTIVITY_EXECUTIONS",
+            Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
+        switch (completionMode) {
+            case EXECUTOR:
+                return field
+                    .addJavadoc("Activities executing concurrently; a call in flight holds a slot, and a thread only without virtual threads\n")
+                    .initializer("VIRTUAL_THREADS ? $L : $L", VIRTUAL_THREAD_CONCURRENCY, PLATFORM_THREAD_CONCURRENCY)
+                    .build();
+            case ASYNC_CLIENT:
+                return field
+                    .addJavadoc("Activities executing concurrently; a call in flight holds a slot but no thread\n")
+                    .initializer("$L", ASYNC_CLIENT_CONCURRENCY)
+                    .build();
+            default:
+                return field
+                    .addJavadoc("Activities executing concurrently, each holding an activity thread for its call\n")
+                    .initializer("$L", PLATFORM_THREAD_CONCURRENCY)
+                    .build();
+        }
+    }
+
+    /**
+     * Activities per second of the task queue: the {@code x-rate-limit} shared by all operations. Temporal
+     * applies the limit to every activity of the queue, so operations declaring another limit or none leave
+     * the queue unlimited rather than throttling each other.
+     */
+    private FieldSpec rateLimitField(List<OperationModel> operations) {
+        double rateLimit = queueRateLimit(operations);
+        FieldSpec.Builder field = FieldSpec.builder(TypeName.DOUBLE, "MAX_TASK_QUEUE_ACTIVITIES_PER_SECOND",
+            Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .addJavadoc("Activities started per second across the workers of the task queue");
+        if (rateLimit > 0) {
+            return field
+                .addJavadoc(": the\n{@code x-rate-limit} declared by every operation\n")
+                .initializer("$L", rateLimit)
+                .build();
+        }
+        boolean declared = operations.stream().anyMatch(operation -> operation.getRateLimit() > 0);
+        return field
+            .addJavadoc("; 0 for unlimited,\n")
+            .addJavadoc(declared ? "as the operations do not share one {@code x-rate-limit}\n"
+                : "as no operation declares an {@code x-rate-limit}\n")
+            .initializer("0.0")
+            .build();
+    }
+
+    /**
+     * Get the {@code x-rate-limit} declared by every one of the operations, or 0 if they do not share one
+     */
+    static double queueRateLimit(List<OperationModel> operations) {
+        if (operations.isEmpty()) {
+            return 0;
+        }
+        double rateLimit = operations.get(0).getRateLimit();
+        for (OperationModel operation : operations) {
+            if (operation.getRateLimit() != rateLimit) {
+                return 0;
+            }
+        }
+        return rateLimit;
+    }
+
+    /**
+     * Describe why the task queue of the operations is left unlimited although some declare an
+     * {@code x-rate-limit}, or return null if it is not
+     */
+    public static String rateLimitConflict(List<OperationModel> operations) {
+        if (queueRateLimit(operations) > 0 || operations.stream().noneMatch(operation -> operation.getRateLimit() > 0)) {
+            return null;
+        }
+        List<String> limits = new ArrayList<>();
+        int unlimited = 0;
+        for (OperationModel operation : operations) {
+            if (operation.getRateLimit() > 0) {
+                limits.add(operation.getMethodName() + " " + ActivityInterfaceGenerator.formatRate(operation.getRateLimit()) + "/s");
+            } else {
+                unlimited++;
+            }
+        }
+        return "Operations of one task queue declare different x-rate-limit values (" + String.join(", ", limits)
+            + (unlimited > 0 ? ", " + unlimited + " without a limit" : "") + "), so the queue is left unlimited; "
+            + "move rate-limited operations into their own activity group";
+    }
+
+    /**
+     * Start a {@code newWorker} method taking the factory, optionally the task queue, the API client,
+     * with the executor completion mode the executor, and optionally the page sink and the properties
+     */
+    private MethodSpec.Builder newWorkerMethod(ClassName apiClientClass, boolean withTaskQueue, boolean withPageSink,
+                                               boolean withProperties) {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("newWorker")
+            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+            .returns(Worker.class)
+            .addParameter(WorkerFactory.class, "factory");
+        if (withTaskQueue) {
+            method.addParameter(String.class, "taskQueue");
+        }
+        method.addParameter(apiClientClass, "apiClient");
+        if (completionMode == CompletionMode.EXECUTOR) {
+            method.addParameter(ExecutorService.class, "executor");
+        }
+        if (withPageSink) {
+            method.addParameter(ClassName.get(packageName, PaginationGenerator.SINK_CLASS), "pageSink");
+        }
+        if (withProperties) {
+            method.addParameter(Properties.class, "properties");
+        }
+        return method;
+    }
+
+    /**
+     * Generate a method reading a numeric property, or its default value if the property is not set
+     */
+    private MethodSpec propertyMethod(String name, TypeName type, Class<?> boxed, String parse) {
+        return MethodSpec.methodBuilder(name)
+            .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+            .returns(type)
+            .addParameter(Properties.class, "properties")
+            .addParameter(String.class, "name")
+            .addParameter(type, "defaultValue")
+            .addStatement("String value = properties.getProperty(name)")
+            .beginControlFlow("try")
+            .addStatement("return value != null ? $T.$L(value.trim()) : defaultValue", boxed, parse)
+            .nextControlFlow("catch ($T e)", NumberFormatException.class)
+            .addStatement("throw new $T($S + name + $S + value, e)", IllegalArgumentException.class,
+                "Invalid value of ", ": ")
+            .endControlFlow()
+            .build();
+    }
+}
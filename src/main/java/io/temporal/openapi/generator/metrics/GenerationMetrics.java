@@ -0,0 +1,214 @@
+package io.temporal.openapi.generator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collects wall time, busy time and allocated bytes per generation phase. Phases may run
+ * concurrently and on several threads; every {@link Sample} measures the threads that did
+ * the work, so concurrent phases do not count each other's allocations.
+ */
+public class GenerationMetrics {
+
+    /**
+     * Measured stages of a generator run
+     */
+    public enum Phase {
+        SPEC_PARSING("Spec parsing"),
+        OPERATION_EXTRACTION("Operation extraction"),
+        MODEL_GENERATION("Model generation"),
+        INTERFACE_GENERATION("Interface generation"),
+        IMPLEMENTATION_GENERATION("Implementation generation"),
+        WRITING("Writing");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationTrackingThreadBean();
+    private static final long[] NO_THREADS = new long[0];
+
+    private final Map<Phase, PhaseStats> phases;
+
+    public GenerationMetrics() {
+        Map<Phase, PhaseStats> stats = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            stats.put(phase, new PhaseStats());
+        }
+        this.phases = Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Start measuring work done by the current thread
+     */
+    public Sample start(Phase phase) {
+        return start(phase, () -> NO_THREADS);
+    }
+
+    /**
+     * Start measuring work done by the current thread together with helper threads, such as the
+     * workers of a pool the current thread is waiting on. Helper threads are looked up again when
+     * the sample closes, so threads started during the phase are included.
+     */
+    public Sample start(Phase phase, Supplier<long[]> helperThreads) {
+        return new Sample(phases.get(phase), helperThreads);
+    }
+
+    /**
+     * Run work as one unit of the phase, measured on the current thread
+     */
+    public <T> T measure(Phase phase, Supplier<T> work) {
+        return measure(phase, () -> NO_THREADS, work);
+    }
+
+    /**
+     * Run work as one unit of the phase, measured on the current thread together with helper threads
+     */
+    @SuppressWarnings("try")
+    public <T> T measure(Phase phase, Supplier<long[]> helperThreads, Supplier<T> work) {
+        try (Sample sample = start(phase, helperThreads)) {
+            return work.get();
+        }
+    }
+
+    public PhaseStats getPhase(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Get the time the last measured unit of work of any phase ended, or {@link Long#MIN_VALUE} if none was measured
+     */
+    public long getLastEndNanos() {
+        long lastEnd = Long.MIN_VALUE;
+        for (PhaseStats stats : phases.values()) {
+            lastEnd = Math.max(lastEnd, stats.lastEnd.get());
+        }
+        return lastEnd;
+    }
+
+    /**
+     * Whether the JVM reports per-thread allocated bytes; when it does not, allocations are reported as -1.
+     * Tracking is never enabled by the generator, as the setting applies to the whole Maven process.
+     */
+    public static boolean isAllocationTracked() {
+        return THREADS != null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTrackingThreadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        try {
+            if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+                return null;
+            }
+            return threads;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A running measurement of one unit of work; closing it adds the measurement to its phase.
+     * Must be closed on the thread that started it.
+     */
+    public static final class Sample implements AutoCloseable {
+        private final PhaseStats stats;
+        private final Supplier<long[]> helperThreads;
+        private final long startNanos;
+        private final Map<Long, Long> startAllocations;
+
+        private Sample(PhaseStats stats, Supplier<long[]> helperThreads) {
+            this.stats = stats;
+            this.helperThreads = helperThreads;
+            this.startAllocations = THREADS != null ? allocations() : null;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long endNanos = System.nanoTime();
+            long allocated = 0;
+            if (startAllocations != null) {
+                for (Map.Entry<Long, Long> entry : allocations().entrySet()) {
+                    allocated += entry.getValue() - startAllocations.getOrDefault(entry.getKey(), 0L);
+                }
+            }
+            stats.record(startNanos, endNanos, allocated);
+        }
+
+        private Map<Long, Long> allocations() {
+            long[] helpers = helperThreads.get();
+            long[] ids = new long[helpers.length + 1];
+            ids[0] = Thread.currentThread().getId();
+            System.arraycopy(helpers, 0, ids, 1, helpers.length);
+
+            long[] bytes = THREADS.getThreadAllocatedBytes(ids);
+            Map<Long, Long> allocations = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                // Threads that have terminated report -1
+                if (bytes[i] >= 0) {
+                    allocations.put(ids[i], bytes[i]);
+                }
+            }
+            return allocations;
+        }
+    }
+
+    /**
+     * Totals for one phase
+     */
+    public static final class PhaseStats {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        private void record(long startNanos, long endNanos, long allocated) {
+            invocations.increment();
+            busyNanos.add(endNanos - startNanos);
+            allocatedBytes.add(allocated);
+            firstStart.accumulateAndGet(startNanos, Math::min);
+            lastEnd.accumulateAndGet(endNanos, Math::max);
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        /**
+         * Time from the start of the first unit of work to the end of the last one
+         */
+        public long getWallNanos() {
+            return getInvocations() == 0 ? 0 : lastEnd.get() - firstStart.get();
+        }
+
+        /**
+         * Sum of the time spent in every unit of work, across all threads
+         */
+        public long getBusyNanos() {
+            return busyNanos.sum();
+        }
+
+        public long getAllocatedBytes() {
+            return isAllocationTracked() ? allocatedBytes.sum() : -1;
+        }
+    }
+}
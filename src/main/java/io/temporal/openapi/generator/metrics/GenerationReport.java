@@ -0,0 +1,244 @@
+package io.temporal.openapi.generator.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.temporal.openapi.generator.writer.GeneratedSourceWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Machine-readable summary of a generator run, written as JSON under the build directory
+ * so CI can track generation time and allocation across spec versions
+ */
+public class GenerationReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String executionId;
+    private String specFile;
+    private boolean skipped;
+    private int operations;
+    private int schemas;
+    private long wallMillis;
+    private boolean allocationTracked;
+    private Map<String, PhaseReport> phases = new LinkedHashMap<>();
+    private int filesWritten;
+    private int filesUnchanged;
+    private int filesDeleted;
+    private long bytesGenerated;
+    private long bytesWritten;
+
+    public GenerationReport() {
+    }
+
+    public GenerationReport(String executionId, String specFile) {
+        this.executionId = executionId;
+        this.specFile = specFile;
+    }
+
+    /**
+     * Copy phase totals from the collected metrics
+     */
+    public GenerationReport withPhases(GenerationMetrics metrics) {
+        this.allocationTracked = GenerationMetrics.isAllocationTracked();
+        for (GenerationMetrics.Phase phase : GenerationMetrics.Phase.values()) {
+            GenerationMetrics.PhaseStats stats = metrics.getPhase(phase);
+            if (stats.getInvocations() > 0) {
+                phases.put(phase.name().toLowerCase(Locale.ROOT), new PhaseReport(phase.getDisplayName(), stats));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copy file and byte counts from the writer
+     */
+    public GenerationReport withFiles(GeneratedSourceWriter writer) {
+        this.filesWritten = writer.getWrittenCount();
+        this.filesUnchanged = writer.getUnchangedCount();
+        this.filesDeleted = writer.getDeletedCount();
+        this.bytesGenerated = writer.getGeneratedBytes();
+        this.bytesWritten = writer.getWrittenBytes();
+        return this;
+    }
+
+    public void save(Path reportFile) throws IOException {
+        Files.createDirectories(reportFile.getParent());
+        MAPPER.writeValue(reportFile.toFile(), this);
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
+    public String getSpecFile() {
+        return specFile;
+    }
+
+    public void setSpecFile(String specFile) {
+        this.specFile = specFile;
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(boolean skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public void setOperations(int operations) {
+        this.operations = operations;
+    }
+
+    public int getSchemas() {
+        return schemas;
+    }
+
+    public void setSchemas(int schemas) {
+        this.schemas = schemas;
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    public void setWallMillis(long wallMillis) {
+        this.wallMillis = wallMillis;
+    }
+
+    /**
+     * Whether the JVM tracked per-thread allocated bytes; allocations are -1 when it did not
+     */
+    public boolean isAllocationTracked() {
+        return allocationTracked;
+    }
+
+    public void setAllocationTracked(boolean allocationTracked) {
+        this.allocationTracked = allocationTracked;
+    }
+
+    public Map<String, PhaseReport> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, PhaseReport> phases) {
+        this.phases = phases;
+    }
+
+    public int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public void setFilesWritten(int filesWritten) {
+        this.filesWritten = filesWritten;
+    }
+
+    public int getFilesUnchanged() {
+        return filesUnchanged;
+    }
+
+    public void setFilesUnchanged(int filesUnchanged) {
+        this.filesUnchanged = filesUnchanged;
+    }
+
+    public int getFilesDeleted() {
+        return filesDeleted;
+    }
+
+    public void setFilesDeleted(int filesDeleted) {
+        this.filesDeleted = filesDeleted;
+    }
+
+    public long getBytesGenerated() {
+        return bytesGenerated;
+    }
+
+    public void setBytesGenerated(long bytesGenerated) {
+        this.bytesGenerated = bytesGenerated;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Totals for one phase; allocated bytes are -1 when the JVM does not track them
+     */
+    public static class PhaseReport {
+        private String name;
+        private long wallMillis;
+        private long busyMillis;
+        private long allocatedBytes;
+        private long invocations;
+
+        public PhaseReport() {
+        }
+
+        PhaseReport(String name, GenerationMetrics.PhaseStats stats) {
+            this.name = name;
+            this.wallMillis = stats.getWallNanos() / 1_000_000;
+            this.busyMillis = stats.getBusyNanos() / 1_000_000;
+            this.allocatedBytes = stats.getAllocatedBytes();
+            this.invocations = stats.getInvocations();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public void setWallMillis(long wallMillis) {
+            this.wallMillis = wallMillis;
+        }
+
+        public long getBusyMillis() {
+            return busyMillis;
+        }
+
+        public void setBusyMillis(long busyMillis) {
+            this.busyMillis = busyMillis;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public void setAllocatedBytes(long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long getInvocations() {
+            return invocations;
+        }
+
+        public void setInvocations(long invocations) {
+            this.invocations = invocations;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.temporal.openapi.generator.model;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structured Java type resolved from an OpenAPI schema. Instances are immutable and resolve
+ * their JavaPoet {@link TypeName} once at construction, so they can be shared by all generators.
+ */
+public final class JavaType {
+
+    /**
+     * Shape of a Java type
+     */
+    public enum Kind {
+        VOID, CLASS, BYTE_ARRAY, LIST, MAP
+    }
+
+    public static final JavaType VOID = new JavaType(Kind.VOID, "void", Collections.emptyList(), TypeName.VOID);
+    public static final JavaType BYTE_ARRAY = new JavaType(Kind.BYTE_ARRAY, "byte[]", Collections.emptyList(),
+        ArrayTypeName.of(TypeName.BYTE));
+    public static final JavaType OBJECT = classType("java.lang.Object");
+    public static final JavaType STRING = classType("java.lang.String");
+    public static final JavaType INTEGER = classType("java.lang.Integer");
+    public static final JavaType LONG = classType("java.lang.Long");
+    public static final JavaType FLOAT = classType("java.lang.Float");
+    public static final JavaType DOUBLE = classType("java.lang.Double");
+    public static final JavaType BOOLEAN = classType("java.lang.Boolean");
+
+    private static final ClassName LIST = ClassName.get(List.class);
+    private static final ClassName MAP = ClassName.get(java.util.Map.class);
+
+    private final Kind kind;
+    private final String name;
+    private final List<JavaType> typeArguments;
+    private final TypeName typeName;
+
+    private JavaType(Kind kind, String name, List<JavaType> typeArguments, TypeName typeName) {
+        this.kind = kind;
+        this.name = name;
+        this.typeArguments = typeArguments;
+        this.typeName = typeName;
+    }
+
+    /**
+     * A class referenced by its fully qualified name
+     */
+    public static JavaType classType(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        ClassName className = lastDot < 0
+            ? ClassName.get("", qualifiedName)
+            : ClassName.get(qualifiedName.substring(0, lastDot), qualifiedName.substring(lastDot + 1));
+        return new JavaType(Kind.CLASS, qualifiedName, Collections.emptyList(), className);
+    }
+
+    /**
+     * A {@code java.util.List} of the given element type
+     */
+    public static JavaType listOf(JavaType elementType) {
+        return new JavaType(Kind.LIST, "java.util.List<" + elementType.name + ">",
+            Collections.singletonList(elementType),
+            ParameterizedTypeName.get(LIST, elementType.typeName));
+    }
+
+    /**
+     * A {@code java.util.Map} with string keys and the given value type
+     */
+    public static JavaType mapOf(JavaType valueType) {
+        return new JavaType(Kind.MAP, "java.util.Map<String, " + valueType.name + ">",
+            List.of(STRING, valueType),
+            ParameterizedTypeName.get(MAP, STRING.typeName, valueType.typeName));
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the type arguments of a list or map type
+     */
+    public List<JavaType> getTypeArguments() {
+        return typeArguments;
+    }
+
+    public boolean isVoid() {
+        return kind == Kind.VOID;
+    }
+
+    /**
+     * Get the JavaPoet type name
+     */
+    public TypeName toTypeName() {
+        return typeName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof JavaType && name.equals(((JavaType) o).name));
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    /**
+     * Get the source form of the type, e.g. {@code java.util.List<com.example.Pet>}
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -5,13 +5,13 @@ package io.temporal.openapi.generator.model;
  */
 public class MediaTypeModel {
     private final String contentType;
-    private final String javaType;
+    private final JavaType javaType;
     private final String schemaRef;
     private final boolean isArray;
-    private final String itemType;
+    private final JavaType itemType;
 
-    public MediaTypeModel(String contentType, String javaType, String schemaRef, 
-                         boolean isArray, String itemType) {
+    public MediaTypeModel(String contentType, JavaType javaType, String schemaRef, 
+                         boolean isArray, JavaType itemType) {
         this.contentType = contentType;
         this.javaType = javaType;
         this.schemaRef = schemaRef;
@@ -23,7 +23,7 @@ public class MediaTypeModel {
         return contentType;
     }
 
-    public String getJavaType() {
+    public JavaType getJavaType() {
         return javaType;
     }
 
@@ -35,7 +35,7 @@ public class MediaTypeModel {
         return isArray;
     }
 
-    public String getItemType() {
+    public JavaType getItemType() {
         return itemType;
     }
 }
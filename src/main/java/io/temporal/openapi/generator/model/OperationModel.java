@@ -14,15 +14,21 @@ public class OperationModel {
     private final List<ParameterModel> parameters;
     private final RequestBodyModel requestBody;
     private final ResponseModel response;
+    private final List<String> errorStatusCodes;
     private final List<String> tags;
     private final RetryMetadata retryMetadata;
     private final boolean idempotent;
+    private final boolean idempotencyKey;
+    private final double rateLimit;
+    private final int batchConcurrency;
+    private final PaginationModel pagination;
 
     public OperationModel(String operationId, String httpMethod, String path, 
                          String summary, String description,
                          List<ParameterModel> parameters, RequestBodyModel requestBody,
-                         ResponseModel response, List<String> tags,
-                         RetryMetadata retryMetadata, boolean idempotent) {
+                         ResponseModel response, List<String> errorStatusCodes, List<String> tags,
+                         RetryMetadata retryMetadata, boolean idempotent, boolean idempotencyKey,
+                         double rateLimit, int batchConcurrency, PaginationModel pagination) {
         this.operationId = operationId;
         this.httpMethod = httpMethod;
         this.path = path;
@@ -31,9 +37,14 @@ public class OperationModel {
         this.parameters = parameters;
         this.requestBody = requestBody;
         this.response = response;
+        this.errorStatusCodes = errorStatusCodes;
         this.tags = tags;
         this.retryMetadata = retryMetadata;
         this.idempotent = idempotent;
+        this.idempotencyKey = idempotencyKey;
+        this.rateLimit = rateLimit;
+        this.batchConcurrency = batchConcurrency;
+        this.pagination = pagination;
     }
 
     public String getOperationId() {
@@ -68,6 +79,13 @@ public class OperationModel {
         return response;
     }
 
+    /**
+     * Status codes of the declared 4xx and 5xx responses, e.g. {@code 404} or {@code 5XX}
+     */
+    public List<String> getErrorStatusCodes() {
+        return errorStatusCodes;
+    }
+
     public List<String> getTags() {
         return tags;
     }
@@ -80,6 +98,41 @@ public class OperationModel {
         return idempotent;
     }
 
+    /**
+     * Whether calls send a deterministic Idempotency-Key header, so retries are deduplicated by the server
+     */
+    public boolean hasIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Requests per second the API accepts for the operation, or 0 if no limit is declared
+     */
+    public double getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Calls a batch variant of the operation runs concurrently, or 0 if no batch variant is generated
+     */
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    /**
+     * Whether a batch variant running the call for a list of inputs is generated
+     */
+    public boolean isBatch() {
+        return batchConcurrency > 0;
+    }
+
+    /**
+     * How the operation's pages are walked, or null if it is not paginated
+     */
+    public PaginationModel getPagination() {
+        return pagination;
+    }
+
     public String getMethodName() {
         return operationId != null ? operationId : 
                (httpMethod.toLowerCase() + path.replaceAll("[^a-zA-Z0-9]", ""));
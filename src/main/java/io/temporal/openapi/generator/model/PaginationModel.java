@@ -0,0 +1,77 @@
+package io.temporal.openapi.generator.model;
+
+/**
+ * Describes how the pages of a paginated operation are requested and read: the query parameter
+ * selecting the page, the response property holding its items and, for cursors, the property holding
+ * the cursor of the next page
+ */
+public class PaginationModel {
+
+    /**
+     * How the page is selected
+     */
+    public enum Style {
+        /** A page number, incremented per page */
+        PAGE,
+        /** The number of items to skip, advanced by the items of each page */
+        OFFSET,
+        /** An opaque cursor returned by the previous page */
+        CURSOR
+    }
+
+    private final Style style;
+    private final String parameter;
+    private final String sizeParameter;
+    private final String itemsProperty;
+    private final String nextCursorProperty;
+    private final long firstPage;
+
+    public PaginationModel(Style style, String parameter, String sizeParameter, String itemsProperty,
+                           String nextCursorProperty, long firstPage) {
+        this.style = style;
+        this.parameter = parameter;
+        this.sizeParameter = sizeParameter;
+        this.itemsProperty = itemsProperty;
+        this.nextCursorProperty = nextCursorProperty;
+        this.firstPage = firstPage;
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    /**
+     * Name of the query parameter carrying the page number, offset or cursor
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Name of the query parameter carrying the page size, or null if there is none
+     */
+    public String getSizeParameter() {
+        return sizeParameter;
+    }
+
+    /**
+     * Name of the response property holding the items of a page, or null if the response is the list of items
+     */
+    public String getItemsProperty() {
+        return itemsProperty;
+    }
+
+    /**
+     * Name of the response property holding the cursor of the next page; only set for {@link Style#CURSOR}
+     */
+    public String getNextCursorProperty() {
+        return nextCursorProperty;
+    }
+
+    /**
+     * Number of the first page, used when no page is requested; only used for {@link Style#PAGE}
+     */
+    public long getFirstPage() {
+        return firstPage;
+    }
+}
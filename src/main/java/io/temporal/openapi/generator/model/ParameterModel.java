@@ -7,12 +7,12 @@ public class ParameterModel {
     private final String name;
     private final String in; // path, query, header, cookie
     private final String type;
-    private final String javaType;
+    private final JavaType javaType;
     private final boolean required;
     private final String description;
     private final String schemaRef;
 
-    public ParameterModel(String name, String in, String type, String javaType, 
+    public ParameterModel(String name, String in, String type, JavaType javaType, 
                          boolean required, String description, String schemaRef) {
         this.name = name;
         this.in = in;
@@ -35,7 +35,7 @@ public class ParameterModel {
         return type;
     }
 
-    public String getJavaType() {
+    public JavaType getJavaType() {
         return javaType;
     }
 
@@ -0,0 +1,34 @@
+package io.temporal.openapi.generator.model;
+
+/**
+ * Represents a property of an OpenAPI object schema
+ */
+public class PropertyModel {
+    private final String name;
+    private final JavaType javaType;
+    private final boolean required;
+    private final String description;
+
+    public PropertyModel(String name, JavaType javaType, boolean required, String description) {
+        this.name = name;
+        this.javaType = javaType;
+        this.required = required;
+        this.description = description;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JavaType getJavaType() {
+        return javaType;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -40,8 +40,8 @@ public class ResponseModel {
         return contentTypes.values().stream().findFirst().orElse(null);
     }
 
-    public String getJavaReturnType() {
+    public JavaType getJavaReturnType() {
         MediaTypeModel media = getPrimaryContentType();
-        return media != null ? media.getJavaType() : "void";
+        return media != null ? media.getJavaType() : JavaType.VOID;
     }
 }
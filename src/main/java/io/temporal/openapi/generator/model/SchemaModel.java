@@ -0,0 +1,30 @@
+package io.temporal.openapi.generator.model;
+
+import java.util.List;
+
+/**
+ * Represents a component schema to be generated as a model class
+ */
+public class SchemaModel {
+    private final String name;
+    private final String description;
+    private final List<PropertyModel> properties;
+
+    public SchemaModel(String name, String description, List<PropertyModel> properties) {
+        this.name = name;
+        this.description = description;
+        this.properties = properties;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<PropertyModel> getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,33 @@
+package io.temporal.openapi.generator.model;
+
+import io.temporal.openapi.generator.cache.DependencyGraph;
+
+import java.util.List;
+
+/**
+ * Everything the generators need from a parsed OpenAPI spec: operations, component
+ * schemas and the dependency graph between them
+ */
+public class SpecModel {
+    private final List<OperationModel> operations;
+    private final List<SchemaModel> schemas;
+    private final DependencyGraph graph;
+
+    public SpecModel(List<OperationModel> operations, List<SchemaModel> schemas, DependencyGraph graph) {
+        this.operations = operations;
+        this.schemas = schemas;
+        this.graph = graph;
+    }
+
+    public List<OperationModel> getOperations() {
+        return operations;
+    }
+
+    public List<SchemaModel> getSchemas() {
+        return schemas;
+    }
+
+    public DependencyGraph getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,474 @@
+package io.temporal.openapi.generator.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.ObjectMapperFactory;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.DeserializationUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Loads an OpenAPI spec in two passes. A streaming pass indexes the top-level sections, every
+ * path item and every component by its offset in the file, recording operations and {@code $ref}s
+ * without building an object model. The second pass deserializes only the path items selected by
+ * an {@link OperationFilter} and the components they transitively reference, and hands that slice
+ * of the spec to swagger-parser, so the resulting {@link OpenAPI} satisfies the same contracts as
+ * a full parse.
+ *
+ * <p>Specs that reference other files, use YAML anchors or are not OpenAPI 3 documents cannot be
+ * sliced; {@link #getUnsupportedReason()} reports why, and callers should fall back to a full parse.
+ */
+public class LazySpecLoader {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+        "get", "put", "post", "delete", "options", "head", "patch", "trace");
+    private static final String COMPONENTS_PREFIX = "#/components/";
+
+    private final Path specFile;
+    private final byte[] content;
+    private final String text;
+    private final boolean yaml;
+    private final ObjectMapper jsonMapper = ObjectMapperFactory.createJson();
+
+    private final Map<String, Range> header = new LinkedHashMap<>();
+    private final Map<String, PathEntry> paths = new LinkedHashMap<>();
+    private final Map<String, Map<String, Range>> components = new LinkedHashMap<>();
+    private final Map<String, Range> componentExtensions = new LinkedHashMap<>();
+    private boolean hasPaths;
+    private boolean hasComponents;
+    private String unsupportedReason;
+
+    private int loadedPathCount;
+    private int loadedComponentCount;
+
+    private LazySpecLoader(Path specFile, byte[] content) {
+        this.specFile = specFile;
+        this.content = content;
+        this.yaml = !startsWithBrace(content);
+        this.text = yaml ? new String(content, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Index a spec file without deserializing it
+     */
+    public static LazySpecLoader index(Path specFile) throws IOException {
+        LazySpecLoader loader = new LazySpecLoader(specFile, Files.readAllBytes(specFile));
+        loader.buildIndex();
+        return loader;
+    }
+
+    /**
+     * Get why the spec cannot be loaded lazily, or null if it can
+     */
+    public String getUnsupportedReason() {
+        return unsupportedReason;
+    }
+
+    public int getPathCount() {
+        return paths.size();
+    }
+
+    public int getComponentCount() {
+        int count = 0;
+        for (Map<String, Range> entries : components.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * Number of path items deserialized by the last {@link #load}
+     */
+    public int getLoadedPathCount() {
+        return loadedPathCount;
+    }
+
+    /**
+     * Number of components deserialized by the last {@link #load}
+     */
+    public int getLoadedComponentCount() {
+        return loadedComponentCount;
+    }
+
+    /**
+     * Deserialize the operations selected by the filter and every component they reference.
+     * With an empty filter the whole spec is loaded.
+     */
+    public OpenAPI load(OperationFilter filter) throws IOException {
+        if (unsupportedReason != null) {
+            throw new IllegalStateException("Spec cannot be loaded lazily: " + unsupportedReason);
+        }
+
+        ObjectNode root = jsonMapper.createObjectNode();
+        for (Map.Entry<String, Range> entry : header.entrySet()) {
+            root.set(entry.getKey(), readRange(entry.getValue()));
+        }
+
+        Deque<String> pendingRefs = new ArrayDeque<>();
+        loadedPathCount = 0;
+        if (hasPaths) {
+            ObjectNode pathsNode = root.putObject("paths");
+            for (Map.Entry<String, PathEntry> entry : paths.entrySet()) {
+                PathEntry pathEntry = entry.getValue();
+                List<OperationEntry> selected = new ArrayList<>();
+                for (OperationEntry operation : pathEntry.operations) {
+                    if (filter.matches(operation.method.toUpperCase(Locale.ROOT), entry.getKey(),
+                            operation.operationId, operation.tags)) {
+                        selected.add(operation);
+                    }
+                }
+                if (!filter.isEmpty() && selected.isEmpty()) {
+                    continue;
+                }
+
+                JsonNode pathItem = readRange(pathEntry.range);
+                if (pathItem instanceof ObjectNode) {
+                    // Drop unselected operations so their references are not needed
+                    for (OperationEntry operation : pathEntry.operations) {
+                        if (!selected.contains(operation)) {
+                            ((ObjectNode) pathItem).remove(operation.method);
+                        }
+                    }
+                }
+                pathsNode.set(entry.getKey(), pathItem);
+                loadedPathCount++;
+
+                pendingRefs.addAll(pathEntry.refs);
+                for (OperationEntry operation : selected) {
+                    pendingRefs.addAll(operation.refs);
+                }
+            }
+        }
+
+        loadedComponentCount = 0;
+        if (hasComponents) {
+            Set<String> included = filter.isEmpty() ? null : reachableComponents(pendingRefs);
+            ObjectNode componentsNode = root.putObject("components");
+            for (Map.Entry<String, Map<String, Range>> typeEntry : components.entrySet()) {
+                ObjectNode typeNode = componentsNode.putObject(typeEntry.getKey());
+                // Security schemes are referenced by name rather than $ref, so they are always kept
+                boolean keepAll = included == null || "securitySchemes".equals(typeEntry.getKey());
+                for (Map.Entry<String, Range> entry : typeEntry.getValue().entrySet()) {
+                    if (keepAll || included.contains(componentKey(typeEntry.getKey(), entry.getKey()))) {
+                        typeNode.set(entry.getKey(), readRange(entry.getValue()));
+                        loadedComponentCount++;
+                    }
+                }
+            }
+            for (Map.Entry<String, Range> entry : componentExtensions.entrySet()) {
+                componentsNode.set(entry.getKey(), readRange(entry.getValue()));
+            }
+        }
+
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        SwaggerParseResult result = new OpenAPIV3Parser().readContents(
+            jsonMapper.writeValueAsString(root), null, options, specFile.toAbsolutePath().toString());
+        if (result == null || result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Failed to parse OpenAPI spec: " + specFile);
+        }
+        return result.getOpenAPI();
+    }
+
+    private Set<String> reachableComponents(Deque<String> pendingRefs) {
+        Set<String> included = new HashSet<>();
+        while (!pendingRefs.isEmpty()) {
+            String[] key = parseComponentRef(pendingRefs.pop());
+            if (key == null || !included.add(componentKey(key[0], key[1]))) {
+                continue;
+            }
+            Range range = components.getOrDefault(key[0], Collections.emptyMap()).get(key[1]);
+            if (range != null) {
+                pendingRefs.addAll(range.refs);
+            }
+        }
+        return included;
+    }
+
+    /**
+     * Split a {@code #/components/<type>/<name>...} reference into its unescaped type and name
+     */
+    private static String[] parseComponentRef(String ref) {
+        String[] segments = ref.substring(COMPONENTS_PREFIX.length()).split("/", 3);
+        if (segments.length < 2) {
+            return null;
+        }
+        return new String[] { unescape(segments[0]), unescape(segments[1]) };
+    }
+
+    private static String unescape(String pointerSegment) {
+        return pointerSegment.replace("~1", "/").replace("~0", "~");
+    }
+
+    private static String componentKey(String type, String name) {
+        return type + "/" + name;
+    }
+
+    private void buildIndex() throws IOException {
+        try (JsonParser parser = createParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                unsupported("the spec root is not an object");
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && unsupportedReason == null) {
+                String key = parser.currentName();
+                parser.nextToken();
+                if ("paths".equals(key) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    hasPaths = true;
+                    indexPaths(parser);
+                } else if ("components".equals(key) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    hasComponents = true;
+                    indexComponents(parser);
+                } else {
+                    header.put(key, capture(parser));
+                }
+            }
+        }
+        if (unsupportedReason == null && !header.containsKey("openapi")) {
+            unsupported("only OpenAPI 3 documents are supported");
+        }
+    }
+
+    private void indexPaths(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String path = parser.currentName();
+            parser.nextToken();
+            PathEntry entry = new PathEntry();
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                entry.range = capture(parser);
+                paths.put(path, entry);
+                continue;
+            }
+
+            checkAnchor(parser);
+            long start = startOffset(parser);
+            int column = parser.getTokenLocation().getColumnNr();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (HTTP_METHODS.contains(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    entry.operations.add(indexOperation(parser, field));
+                } else if ("$ref".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                    addRef(entry.refs, parser.getText());
+                } else {
+                    skipValue(parser, entry.refs);
+                }
+            }
+            entry.range = new Range(start, endOffset(parser), column, Collections.emptyList());
+            paths.put(path, entry);
+        }
+    }
+
+    private OperationEntry indexOperation(JsonParser parser, String method) throws IOException {
+        checkAnchor(parser);
+        OperationEntry operation = new OperationEntry(method);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("operationId".equals(field) && value.isScalarValue()) {
+                operation.operationId = parser.getText();
+            } else if ("tags".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken().isScalarValue()) {
+                        operation.tags.add(parser.getText());
+                    } else {
+                        skipValue(parser, operation.refs);
+                    }
+                }
+            } else {
+                skipValue(parser, operation.refs);
+            }
+        }
+        return operation;
+    }
+
+    private void indexComponents(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String type = parser.currentName();
+            parser.nextToken();
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                componentExtensions.put(type, capture(parser));
+                continue;
+            }
+            checkAnchor(parser);
+            Map<String, Range> entries = components.computeIfAbsent(type, key -> new LinkedHashMap<>());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                entries.put(name, capture(parser));
+            }
+        }
+    }
+
+    /**
+     * Record the offsets of the value at the current token and the references inside it
+     */
+    private Range capture(JsonParser parser) throws IOException {
+        long start = startOffset(parser);
+        int column = parser.getTokenLocation().getColumnNr();
+        List<String> refs = new ArrayList<>();
+        skipValue(parser, refs);
+        return new Range(start, endOffset(parser), column, refs);
+    }
+
+    /**
+     * Move past the value at the current token, collecting the {@code $ref}s inside it
+     */
+    private void skipValue(JsonParser parser, List<String> refs) throws IOException {
+        checkAnchor(parser);
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of OpenAPI spec: " + specFile);
+            }
+            switch (token) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    checkAnchor(parser);
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                case FIELD_NAME:
+                    if ("$ref".equals(parser.currentName())
+                            && parser.nextToken() == JsonToken.VALUE_STRING) {
+                        addRef(refs, parser.getText());
+                    } else if (parser.currentToken() == JsonToken.START_OBJECT
+                            || parser.currentToken() == JsonToken.START_ARRAY) {
+                        // A container named "$ref", such as a schema property
+                        depth++;
+                    }
+                    break;
+                default:
+                    checkAnchor(parser);
+            }
+        }
+    }
+
+    private void addRef(List<String> refs, String ref) {
+        if (!ref.startsWith(COMPONENTS_PREFIX)) {
+            unsupported("it references " + ref);
+            return;
+        }
+        refs.add(ref);
+    }
+
+    private void checkAnchor(JsonParser parser) throws IOException {
+        if (parser.getObjectId() != null) {
+            unsupported("it uses YAML anchors");
+        }
+    }
+
+    private void unsupported(String reason) {
+        if (unsupportedReason == null) {
+            unsupportedReason = reason;
+        }
+    }
+
+    private JsonParser createParser() throws IOException {
+        if (yaml) {
+            return new YAMLFactory().createParser(text);
+        }
+        JsonFactory factory = jsonMapper.getFactory();
+        return factory.createParser(content);
+    }
+
+    private long startOffset(JsonParser parser) {
+        return offset(parser.getTokenLocation());
+    }
+
+    private long endOffset(JsonParser parser) throws IOException {
+        // Scalars are decoded lazily, so finish the token before reading where it ends
+        parser.finishToken();
+        return offset(parser.currentLocation());
+    }
+
+    private long offset(JsonLocation location) {
+        return yaml ? location.getCharOffset() : location.getByteOffset();
+    }
+
+    private JsonNode readRange(Range range) throws IOException {
+        if (!yaml) {
+            return jsonMapper.readTree(content, (int) range.start, (int) (range.end - range.start));
+        }
+        // YAML marks count code points; re-indent the slice so block values parse at their original column
+        int start = text.offsetByCodePoints(0, (int) range.start);
+        int end = text.offsetByCodePoints(start, (int) (range.end - range.start));
+        String slice = " ".repeat(Math.max(0, range.column - 1)) + text.substring(start, end);
+        SwaggerParseResult result = new SwaggerParseResult();
+        JsonNode node = DeserializationUtils.deserializeIntoTree(
+            slice, specFile.toAbsolutePath().toString(), new ParseOptions(), result);
+        if (node == null) {
+            throw new IOException("Failed to read OpenAPI spec section at offset " + range.start + ": " + specFile);
+        }
+        return node;
+    }
+
+    private static boolean startsWithBrace(byte[] content) {
+        int i = 0;
+        // Skip a UTF-8 byte order mark
+        if (content.length >= 3 && (content[0] & 0xFF) == 0xEF && (content[1] & 0xFF) == 0xBB
+                && (content[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < content.length && Character.isWhitespace(content[i])) {
+            i++;
+        }
+        return i < content.length && content[i] == '{';
+    }
+
+    /**
+     * Location of a value in the spec file: bytes for JSON, code points for YAML
+     */
+    private static final class Range {
+        private final long start;
+        private final long end;
+        private final int column;
+        private final List<String> refs;
+
+        private Range(long start, long end, int column, List<String> refs) {
+            this.start = start;
+            this.end = end;
+            this.column = column;
+            this.refs = refs;
+        }
+    }
+
+    private static final class PathEntry {
+        private Range range;
+        private final List<OperationEntry> operations = new ArrayList<>();
+        private final List<String> refs = new ArrayList<>();
+    }
+
+    private static final class OperationEntry {
+        private final String method;
+        private String operationId;
+        private final List<String> tags = new ArrayList<>();
+        private final List<String> refs = new ArrayList<>();
+
+        private OperationEntry(String method) {
+            this.method = method;
+        }
+    }
+}
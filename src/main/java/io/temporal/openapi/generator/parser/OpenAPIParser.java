@@ -8,18 +8,46 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.temporal.openapi.generator.cache.DependencyGraph;
 import io.temporal.openapi.generator.model.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
  * Parser for OpenAPI specifications to extract operation models
  */
 public class OpenAPIParser {
+
+    /**
+     * Calls a batch variant runs concurrently unless configured otherwise
+     */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 10;
+
+    /**
+     * Normalized names of the query parameters detected as the cursor, page number or offset of a page,
+     * and of the response properties detected as the items of a page and the cursor of the next page
+     */
+    private static final Set<String> CURSOR_PARAMETERS = Set.of(
+        "cursor", "pagetoken", "nexttoken", "continuationtoken", "after", "startingafter", "marker");
+    private static final Set<String> PAGE_PARAMETERS = Set.of("page", "pagenumber", "pageindex", "pageno");
+    private static final Set<String> OFFSET_PARAMETERS = Set.of(
+        "offset", "startat", "start", "skip", "firstresult", "startindex");
+    private static final Set<String> PAGE_SIZE_PARAMETERS = Set.of(
+        "pagesize", "perpage", "limit", "maxresults", "size", "count", "top");
+    private static final List<String> ITEMS_PROPERTIES = List.of(
+        "items", "data", "results", "content", "values", "records", "entries", "elements");
+    private static final Set<String> NEXT_CURSOR_PROPERTIES = Set.of(
+        "nextcursor", "nextpagetoken", "nexttoken", "next", "continuationtoken", "nextmarker", "cursor");
     
     private final OpenAPI openAPI;
     private final TypeMapper typeMapper;
+    private OperationFilter operationFilter = new OperationFilter();
+    private Set<String> idempotencyKeyOperations = Collections.emptySet();
+    private Set<String> batchOperations = Collections.emptySet();
+    private int batchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+    private boolean detectPagination;
 
     public OpenAPIParser(String specPath) {
         this(specPath, "io.temporal.openapi.models");
@@ -38,6 +66,11 @@ public class OpenAPIParser {
         this.typeMapper = new TypeMapper(openAPI);
     }
 
+    public OpenAPIParser(OpenAPI openAPI, TypeMapper typeMapper) {
+        this.openAPI = openAPI;
+        this.typeMapper = typeMapper;
+    }
+
     /**
      * Parse all operations from the OpenAPI spec
      */
@@ -58,28 +91,89 @@ public class OpenAPIParser {
         return operations;
     }
 
+    /**
+     * Parse all operations from the OpenAPI spec, handling path items in parallel on the given pool.
+     * Operations are returned in spec order.
+     */
+    public List<OperationModel> parseOperations(ForkJoinPool pool) {
+        if (openAPI.getPaths() == null) {
+            return new ArrayList<>();
+        }
+
+        List<Map.Entry<String, PathItem>> pathEntries = new ArrayList<>(openAPI.getPaths().entrySet());
+        return pool.submit(() -> pathEntries.parallelStream()
+            .flatMap(pathEntry -> parsePathItem(pathEntry.getKey(), pathEntry.getValue()).stream())
+            .collect(Collectors.toList())
+        ).join();
+    }
+
+    /**
+     * Parse all component schemas from the OpenAPI spec, in spec order
+     */
+    public List<SchemaModel> parseSchemas() {
+        return parseSchemas(typeMapper.getSchemasToGenerate().keySet());
+    }
+
+    /**
+     * Parse the named component schemas, in spec order
+     */
+    @SuppressWarnings("rawtypes")
+    public List<SchemaModel> parseSchemas(Collection<String> schemaNames) {
+        List<SchemaModel> schemas = new ArrayList<>();
+        for (Map.Entry<String, Schema> entry : typeMapper.getSchemasToGenerate().entrySet()) {
+            if (schemaNames.contains(entry.getKey())) {
+                schemas.add(parseSchema(entry.getKey(), entry.getValue()));
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Parse operations, schemas and the dependency graph, handling path items in parallel on the given pool.
+     * When an operation filter is set, only schemas reachable from the selected operations are included.
+     */
+    public SpecModel parse(ForkJoinPool pool) {
+        List<OperationModel> operations = parseOperations(pool);
+        DependencyGraph graph = DependencyGraph.build(openAPI);
+
+        if (operationFilter.isEmpty()) {
+            return new SpecModel(operations, parseSchemas(), graph);
+        }
+
+        List<String> operationNodes = new ArrayList<>();
+        for (OperationModel operation : operations) {
+            operationNodes.add(DependencyGraph.operationNodeId(operation.getHttpMethod(), operation.getPath()));
+        }
+        return new SpecModel(operations, parseSchemas(graph.reachableSchemas(operationNodes)), graph);
+    }
+
     private List<OperationModel> parsePathItem(String path, PathItem pathItem) {
         List<OperationModel> operations = new ArrayList<>();
 
-        if (pathItem.getGet() != null) {
+        if (isSelected("GET", path, pathItem.getGet())) {
             operations.add(parseOperation("GET", path, pathItem.getGet()));
         }
-        if (pathItem.getPost() != null) {
+        if (isSelected("POST", path, pathItem.getPost())) {
             operations.add(parseOperation("POST", path, pathItem.getPost()));
         }
-        if (pathItem.getPut() != null) {
+        if (isSelected("PUT", path, pathItem.getPut())) {
             operations.add(parseOperation("PUT", path, pathItem.getPut()));
         }
-        if (pathItem.getDelete() != null) {
+        if (isSelected("DELETE", path, pathItem.getDelete())) {
             operations.add(parseOperation("DELETE", path, pathItem.getDelete()));
         }
-        if (pathItem.getPatch() != null) {
+        if (isSelected("PATCH", path, pathItem.getPatch())) {
             operations.add(parseOperation("PATCH", path, pathItem.getPatch()));
         }
 
         return operations;
     }
 
+    private boolean isSelected(String httpMethod, String path, Operation operation) {
+        return operation != null
+            && operationFilter.matches(httpMethod, path, operation.getOperationId(), operation.getTags());
+    }
+
     private OperationModel parseOperation(String httpMethod, String path, Operation operation) {
         String operationId = operation.getOperationId();
         String summary = operation.getSummary();
@@ -88,22 +182,342 @@ public class OpenAPIParser {
         List<ParameterModel> parameters = parseParameters(operation.getParameters());
         RequestBodyModel requestBody = parseRequestBody(operation.getRequestBody());
         ResponseModel response = parseResponse(operation.getResponses());
+        List<String> errorStatusCodes = parseErrorStatusCodes(operation.getResponses());
         List<String> tags = operation.getTags() != null ? operation.getTags() : Collections.emptyList();
         
         // Determine idempotency based on HTTP method
         boolean idempotent = isIdempotentMethod(httpMethod);
+        boolean idempotencyKey = hasIdempotencyKey(operation);
         
-        // Determine retry metadata based on idempotency
-        RetryMetadata retryMetadata = idempotent ? 
+        // Determine retry metadata based on idempotency; an idempotency key makes retries safe
+        RetryMetadata retryMetadata = idempotent || idempotencyKey ?
             RetryMetadata.safeIdempotentRetry() : 
             RetryMetadata.nonIdempotentRetry();
 
         return new OperationModel(
             operationId, httpMethod, path, summary, description,
-            parameters, requestBody, response, tags, retryMetadata, idempotent
+            parameters, requestBody, response, errorStatusCodes, tags, retryMetadata, idempotent, idempotencyKey,
+            parseRateLimit(operation), parseBatchConcurrency(operation),
+            parsePagination(httpMethod, operation, parameters, idempotencyKey)
         );
     }
 
+    /**
+     * Whether the operation is configured to send an Idempotency-Key header, by operationId or with
+     * the {@code x-idempotency-key: true} extension
+     */
+    private boolean hasIdempotencyKey(Operation operation) {
+        if (operation.getOperationId() != null && idempotencyKeyOperations.contains(operation.getOperationId())) {
+            return true;
+        }
+        Object extension = operation.getExtensions() != null ? operation.getExtensions().get("x-idempotency-key") : null;
+        return extension != null && Boolean.parseBoolean(extension.toString());
+    }
+
+    /**
+     * Parse the requests per second the API accepts for the operation from the {@code x-rate-limit}
+     * extension; 0 if the extension is missing or not a positive number
+     */
+    private double parseRateLimit(Operation operation) {
+        Object extension = operation.getExtensions() != null ? operation.getExtensions().get("x-rate-limit") : null;
+        if (extension == null) {
+            return 0;
+        }
+        try {
+            double rateLimit = Double.parseDouble(extension.toString());
+            return rateLimit > 0 && !Double.isInfinite(rateLimit) ? rateLimit : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parse the concurrency of the operation's batch variant: the configured concurrency if the operation
+     * is selected by operationId or with {@code x-batch: true}, the value of {@code x-batch} if it is a
+     * positive number, and 0, for no batch variant, otherwise. Operations without arguments have none.
+     */
+    private int parseBatchConcurrency(Operation operation) {
+        boolean hasArguments = (operation.getParameters() != null && !operation.getParameters().isEmpty())
+            || operation.getRequestBody() != null;
+        if (!hasArguments) {
+            return 0;
+        }
+        if (operation.getOperationId() != null && batchOperations.contains(operation.getOperationId())) {
+            return batchConcurrency;
+        }
+        Object extension = operation.getExtensions() != null ? operation.getExtensions().get("x-batch") : null;
+        if (extension == null) {
+            return 0;
+        }
+        if (Boolean.parseBoolean(extension.toString())) {
+            return batchConcurrency;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(extension.toString().trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parse how the operation's pages are walked: declared with the {@code x-pagination} extension, or
+     * detected for GET operations from a cursor, page number or offset query parameter and the list of
+     * items in the response. The extension may name the {@code parameter}, {@code style}, {@code items},
+     * {@code nextCursor} and {@code firstPage}, detecting the rest; {@code x-pagination: false} opts out.
+     * Null if the operation is not paginated, or its pages cannot be walked.
+     */
+    private PaginationModel parsePagination(String httpMethod, Operation operation, List<ParameterModel> parameters,
+                                            boolean idempotencyKey) {
+        Object extension = operation.getExtensions() != null ? operation.getExtensions().get("x-pagination") : null;
+        if (extension == null ? !detectPagination || !"GET".equals(httpMethod)
+            : !(extension instanceof Map) && !Boolean.parseBoolean(extension.toString())) {
+            return null;
+        }
+        // Every page would be sent with the same key
+        if (idempotencyKey) {
+            return null;
+        }
+        Map<?, ?> declared = extension instanceof Map ? (Map<?, ?>) extension : Collections.emptyMap();
+
+        PaginationModel.Style style = null;
+        if (declared.get("style") != null) {
+            try {
+                style = PaginationModel.Style.valueOf(declared.get("style").toString().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        ParameterModel parameter = declared.get("parameter") != null
+            ? findQueryParameter(parameters, declared.get("parameter").toString())
+            : detectPageParameter(parameters, style);
+        if (parameter == null) {
+            return null;
+        }
+        if (style == null) {
+            style = pageParameterStyle(parameter);
+        }
+        boolean cursor = style == PaginationModel.Style.CURSOR;
+        if (cursor ? !JavaType.STRING.equals(parameter.getJavaType())
+            : !JavaType.INTEGER.equals(parameter.getJavaType()) && !JavaType.LONG.equals(parameter.getJavaType())) {
+            return null;
+        }
+
+        Schema<?> successSchema = successSchema(operation.getResponses());
+        Schema<?> responseSchema = resolveSchema(successSchema);
+        if (responseSchema == null) {
+            return null;
+        }
+        String itemsProperty = null;
+        String nextCursorProperty = null;
+        if (isArraySchema(responseSchema)) {
+            // A bare list has nowhere to return the next cursor
+            if (cursor) {
+                return null;
+            }
+        } else {
+            // Inline objects map to Object, whose properties cannot be read
+            if (successSchema.get$ref() == null) {
+                return null;
+            }
+            itemsProperty = declared.get("items") != null
+                ? declared.get("items").toString() : detectItemsProperty(responseSchema);
+            if (itemsProperty == null || !isArraySchema(resolveSchema(property(responseSchema, itemsProperty)))) {
+                return null;
+            }
+            if (cursor) {
+                nextCursorProperty = declared.get("nextCursor") != null
+                    ? declared.get("nextCursor").toString() : detectNextCursorProperty(responseSchema);
+                if (nextCursorProperty == null || property(responseSchema, nextCursorProperty) == null) {
+                    return null;
+                }
+            }
+        }
+
+        long firstPage = 1;
+        if (declared.get("firstPage") != null) {
+            try {
+                firstPage = Long.parseLong(declared.get("firstPage").toString().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        ParameterModel sizeParameter = null;
+        for (ParameterModel candidate : parameters) {
+            if ("query".equals(candidate.getIn()) && PAGE_SIZE_PARAMETERS.contains(normalize(candidate.getName()))) {
+                sizeParameter = candidate;
+                break;
+            }
+        }
+
+        return new PaginationModel(style, parameter.getName(), sizeParameter != null ? sizeParameter.getName() : null,
+            itemsProperty, nextCursorProperty, firstPage);
+    }
+
+    /**
+     * Find the query parameter selecting the page: a cursor, then a page number, then an offset, or only
+     * those of the given style
+     */
+    private ParameterModel detectPageParameter(List<ParameterModel> parameters, PaginationModel.Style style) {
+        for (PaginationModel.Style candidateStyle : List.of(PaginationModel.Style.CURSOR, PaginationModel.Style.PAGE,
+            PaginationModel.Style.OFFSET)) {
+            if (style != null && style != candidateStyle) {
+                continue;
+            }
+            for (ParameterModel parameter : parameters) {
+                if ("query".equals(parameter.getIn()) && pageParameterStyle(parameter) == candidateStyle
+                    && pageParameterNames(candidateStyle).contains(normalize(parameter.getName()))) {
+                    return parameter;
+                }
+            }
+        }
+        return null;
+    }
+
+    private PaginationModel.Style pageParameterStyle(ParameterModel parameter) {
+        String name = normalize(parameter.getName());
+        if (CURSOR_PARAMETERS.contains(name)) {
+            return PaginationModel.Style.CURSOR;
+        }
+        if (OFFSET_PARAMETERS.contains(name)) {
+            return PaginationModel.Style.OFFSET;
+        }
+        if (PAGE_PARAMETERS.contains(name)) {
+            return PaginationModel.Style.PAGE;
+        }
+        // A declared parameter with an unknown name
+        return JavaType.STRING.equals(parameter.getJavaType()) ? PaginationModel.Style.CURSOR : PaginationModel.Style.PAGE;
+    }
+
+    private Set<String> pageParameterNames(PaginationModel.Style style) {
+        switch (style) {
+            case CURSOR:
+                return CURSOR_PARAMETERS;
+            case PAGE:
+                return PAGE_PARAMETERS;
+            default:
+                return OFFSET_PARAMETERS;
+        }
+    }
+
+    private ParameterModel findQueryParameter(List<ParameterModel> parameters, String name) {
+        for (ParameterModel parameter : parameters) {
+            if ("query".equals(parameter.getIn()) && parameter.getName().equals(name)) {
+                return parameter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The only array property of a page, or the array property with a conventional name
+     */
+    private String detectItemsProperty(Schema<?> schema) {
+        List<String> arrays = new ArrayList<>();
+        if (schema.getProperties() != null) {
+            for (String name : schema.getProperties().keySet()) {
+                if (isArraySchema(resolveSchema(property(schema, name)))) {
+                    arrays.add(name);
+                }
+            }
+        }
+        if (arrays.size() == 1) {
+            return arrays.get(0);
+        }
+        for (String name : arrays) {
+            if (ITEMS_PROPERTIES.contains(normalize(name))) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private String detectNextCursorProperty(Schema<?> schema) {
+        if (schema.getProperties() != null) {
+            for (String name : schema.getProperties().keySet()) {
+                Schema<?> property = resolveSchema(property(schema, name));
+                if (NEXT_CURSOR_PROPERTIES.contains(normalize(name)) && property != null
+                    && "string".equals(property.getType())) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The JSON schema of the operation's successful response, or of its first response
+     */
+    private Schema<?> successSchema(io.swagger.v3.oas.models.responses.ApiResponses responses) {
+        if (responses == null || responses.isEmpty()) {
+            return null;
+        }
+        ApiResponse response = responses.entrySet().stream()
+            .filter(entry -> entry.getKey().startsWith("2"))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElse(responses.values().iterator().next());
+        Content content = response.getContent();
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        io.swagger.v3.oas.models.media.MediaType mediaType = content.get("application/json");
+        return (mediaType != null ? mediaType : content.values().iterator().next()).getSchema();
+    }
+
+    private Schema<?> property(Schema<?> schema, String name) {
+        return schema.getProperties() != null ? schema.getProperties().get(name) : null;
+    }
+
+    /**
+     * Follow a reference to a component schema; null if it cannot be resolved
+     */
+    private Schema<?> resolveSchema(Schema<?> schema) {
+        if (schema == null || schema.get$ref() == null) {
+            return schema;
+        }
+        if (openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null) {
+            return null;
+        }
+        return openAPI.getComponents().getSchemas().get(typeMapper.extractSchemaName(schema.get$ref()));
+    }
+
+    private boolean isArraySchema(Schema<?> schema) {
+        return schema instanceof ArraySchema || (schema != null && "array".equals(schema.getType()));
+    }
+
+    /**
+     * Lower-case a name without separators, so {@code page_size}, {@code page-size} and {@code pageSize} match
+     */
+    private static String normalize(String name) {
+        return name.replaceAll("[-_. ]", "").toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private SchemaModel parseSchema(String name, Schema schema) {
+        List<PropertyModel> properties = new ArrayList<>();
+        List<String> requiredFields = schema.getRequired() != null ?
+            schema.getRequired() : Collections.emptyList();
+
+        if (schema.getProperties() != null) {
+            for (Map.Entry<String, Schema> propEntry :
+                 ((Map<String, Schema>) schema.getProperties()).entrySet()) {
+                String propName = propEntry.getKey();
+                Schema propSchema = propEntry.getValue();
+                boolean required = requiredFields.contains(propName);
+
+                properties.add(new PropertyModel(
+                    propName,
+                    typeMapper.resolveFieldType(propSchema, required),
+                    required,
+                    propSchema.getDescription()
+                ));
+            }
+        }
+
+        return new SchemaModel(name, schema.getDescription(), properties);
+    }
+
     private List<ParameterModel> parseParameters(List<Parameter> parameters) {
         if (parameters == null) {
             return Collections.emptyList();
@@ -119,7 +533,7 @@ public class OpenAPIParser {
         String in = parameter.getIn();
         Schema<?> schema = parameter.getSchema();
         String type = schema != null ? schema.getType() : "string";
-        String javaType = typeMapper.mapSchemaToJavaType(schema);
+        JavaType javaType = typeMapper.resolveType(schema);
         boolean required = parameter.getRequired() != null ? parameter.getRequired() : false;
         String description = parameter.getDescription();
         String schemaRef = schema != null && schema.get$ref() != null ? schema.get$ref() : null;
@@ -167,6 +581,21 @@ public class OpenAPIParser {
         return new ResponseModel(statusCode, description, contentTypes);
     }
 
+    private List<String> parseErrorStatusCodes(io.swagger.v3.oas.models.responses.ApiResponses responses) {
+        if (responses == null) {
+            return Collections.emptyList();
+        }
+
+        // Client and server errors, including ranges such as 4XX, in declaration order
+        List<String> statusCodes = new ArrayList<>();
+        for (String code : responses.keySet()) {
+            if (code.startsWith("4") || code.startsWith("5")) {
+                statusCodes.add(code);
+            }
+        }
+        return statusCodes;
+    }
+
     private Map<String, MediaTypeModel> parseContent(Content content) {
         if (content == null) {
             return Collections.emptyMap();
@@ -179,14 +608,14 @@ public class OpenAPIParser {
             io.swagger.v3.oas.models.media.MediaType mediaType = entry.getValue();
             Schema<?> schema = mediaType.getSchema();
             
-            String javaType = typeMapper.mapSchemaToJavaType(schema);
+            JavaType javaType = typeMapper.resolveType(schema);
             String schemaRef = schema != null && schema.get$ref() != null ? schema.get$ref() : null;
             boolean isArray = schema instanceof ArraySchema;
-            String itemType = null;
+            JavaType itemType = null;
             
             if (isArray) {
                 ArraySchema arraySchema = (ArraySchema) schema;
-                itemType = typeMapper.mapSchemaToJavaType(arraySchema.getItems());
+                itemType = typeMapper.resolveType(arraySchema.getItems());
             }
 
             contentTypes.put(contentType, new MediaTypeModel(
@@ -211,4 +640,42 @@ public class OpenAPIParser {
     public TypeMapper getTypeMapper() {
         return typeMapper;
     }
+
+    public OperationFilter getOperationFilter() {
+        return operationFilter;
+    }
+
+    /**
+     * Restrict the operations returned by {@link #parseOperations()} and {@link #parse(ForkJoinPool)}
+     */
+    public void setOperationFilter(OperationFilter operationFilter) {
+        this.operationFilter = operationFilter != null ? operationFilter : new OperationFilter();
+    }
+
+    /**
+     * Set the operationIds of operations that send an Idempotency-Key header
+     */
+    public void setIdempotencyKeyOperations(Collection<String> operationIds) {
+        this.idempotencyKeyOperations = operationIds != null ? new HashSet<>(operationIds) : Collections.emptySet();
+    }
+
+    /**
+     * Set the operationIds of operations with a batch variant, and the calls a batch runs concurrently
+     * unless the operation's {@code x-batch} extension gives its own
+     */
+    public void setBatchOperations(Collection<String> operationIds, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Batch concurrency must be positive: " + concurrency);
+        }
+        this.batchOperations = operationIds != null ? new HashSet<>(operationIds) : Collections.emptySet();
+        this.batchConcurrency = concurrency;
+    }
+
+    /**
+     * Set whether GET operations are detected as paginated from their query parameters and response;
+     * operations declaring {@code x-pagination} are paginated either way
+     */
+    public void setDetectPagination(boolean detectPagination) {
+        this.detectPagination = detectPagination;
+    }
 }
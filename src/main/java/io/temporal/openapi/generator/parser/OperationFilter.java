@@ -0,0 +1,201 @@
+package io.temporal.openapi.generator.parser;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Selects which OpenAPI operations are generated. Include criteria of different kinds must all
+ * match (an empty list matches everything); an operation matching any exclude criterion is dropped.
+ * Path globs use {@code *} for a single path segment and {@code **} for any number of segments.
+ */
+public class OperationFilter {
+
+    private List<String> includeTags = new ArrayList<>();
+    private List<String> excludeTags = new ArrayList<>();
+    private List<String> includeOperationIds = new ArrayList<>();
+    private List<String> excludeOperationIds = new ArrayList<>();
+    private List<String> includePaths = new ArrayList<>();
+    private List<String> excludePaths = new ArrayList<>();
+    private List<String> includeMethods = new ArrayList<>();
+    private List<String> excludeMethods = new ArrayList<>();
+
+    private volatile List<Pattern> includePathPatterns;
+    private volatile List<Pattern> excludePathPatterns;
+
+    public OperationFilter() {
+    }
+
+    /**
+     * Check whether the filter selects every operation
+     */
+    public boolean isEmpty() {
+        return includeTags.isEmpty() && excludeTags.isEmpty()
+            && includeOperationIds.isEmpty() && excludeOperationIds.isEmpty()
+            && includePaths.isEmpty() && excludePaths.isEmpty()
+            && includeMethods.isEmpty() && excludeMethods.isEmpty();
+    }
+
+    /**
+     * Check whether an operation is selected
+     */
+    public boolean matches(String httpMethod, String path, String operationId, List<String> tags) {
+        List<String> operationTags = tags != null ? tags : Collections.emptyList();
+
+        if (!includeTags.isEmpty() && Collections.disjoint(includeTags, operationTags)) {
+            return false;
+        }
+        if (!includeOperationIds.isEmpty() && !includeOperationIds.contains(operationId)) {
+            return false;
+        }
+        if (!includeMethods.isEmpty() && !containsIgnoreCase(includeMethods, httpMethod)) {
+            return false;
+        }
+        if (!includePaths.isEmpty() && !matchesAny(getIncludePathPatterns(), path)) {
+            return false;
+        }
+
+        return Collections.disjoint(excludeTags, operationTags)
+            && !excludeOperationIds.contains(operationId)
+            && !containsIgnoreCase(excludeMethods, httpMethod)
+            && !matchesAny(getExcludePathPatterns(), path);
+    }
+
+    /**
+     * Convert a path glob to a regular expression
+     */
+    static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private List<Pattern> getIncludePathPatterns() {
+        if (includePathPatterns == null) {
+            includePathPatterns = compileGlobs(includePaths);
+        }
+        return includePathPatterns;
+    }
+
+    private List<Pattern> getExcludePathPatterns() {
+        if (excludePathPatterns == null) {
+            excludePathPatterns = compileGlobs(excludePaths);
+        }
+        return excludePathPatterns;
+    }
+
+    private static List<Pattern> compileGlobs(List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            patterns.add(compileGlob(glob));
+        }
+        return patterns;
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String path) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(path).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getIncludeTags() {
+        return includeTags;
+    }
+
+    public void setIncludeTags(List<String> includeTags) {
+        this.includeTags = includeTags;
+    }
+
+    public List<String> getExcludeTags() {
+        return excludeTags;
+    }
+
+    public void setExcludeTags(List<String> excludeTags) {
+        this.excludeTags = excludeTags;
+    }
+
+    public List<String> getIncludeOperationIds() {
+        return includeOperationIds;
+    }
+
+    public void setIncludeOperationIds(List<String> includeOperationIds) {
+        this.includeOperationIds = includeOperationIds;
+    }
+
+    public List<String> getExcludeOperationIds() {
+        return excludeOperationIds;
+    }
+
+    public void setExcludeOperationIds(List<String> excludeOperationIds) {
+        this.excludeOperationIds = excludeOperationIds;
+    }
+
+    public List<String> getIncludePaths() {
+        return includePaths;
+    }
+
+    public void setIncludePaths(List<String> includePaths) {
+        this.includePaths = includePaths;
+        this.includePathPatterns = null;
+    }
+
+    public List<String> getExcludePaths() {
+        return excludePaths;
+    }
+
+    public void setExcludePaths(List<String> excludePaths) {
+        this.excludePaths = excludePaths;
+        this.excludePathPatterns = null;
+    }
+
+    public List<String> getIncludeMethods() {
+        return includeMethods;
+    }
+
+    public void setIncludeMethods(List<String> includeMethods) {
+        this.includeMethods = includeMethods;
+    }
+
+    public List<String> getExcludeMethods() {
+        return excludeMethods;
+    }
+
+    public void setExcludeMethods(List<String> excludeMethods) {
+        this.excludeMethods = excludeMethods;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationFilter{includeTags=" + includeTags
+            + ", excludeTags=" + excludeTags
+            + ", includeOperationIds=" + includeOperationIds
+            + ", excludeOperationIds=" + excludeOperationIds
+            + ", includePaths=" + includePaths
+            + ", excludePaths=" + excludePaths
+            + ", includeMethods=" + includeMethods
+            + ", excludeMethods=" + excludeMethods + "}";
+    }
+}
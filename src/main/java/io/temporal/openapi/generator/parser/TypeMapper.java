@@ -2,18 +2,27 @@ package io.temporal.openapi.generator.parser;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.*;
-import org.apache.commons.lang3.StringUtils;
+import io.temporal.openapi.generator.model.JavaType;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Maps OpenAPI types to Java types
+ * Maps OpenAPI types to Java types. Resolved types are memoized per schema instance and
+ * per {@code $ref}, so repeated lookups on large specs are constant time. Safe for use
+ * from several threads.
  */
 public class TypeMapper {
-    
+
+    private static final JavaType LOCAL_DATE = JavaType.classType("java.time.LocalDate");
+    private static final JavaType OFFSET_DATE_TIME = JavaType.classType("java.time.OffsetDateTime");
+    private static final JavaType UUID = JavaType.classType("java.util.UUID");
+
     private final OpenAPI openAPI;
     private final String modelsPackage;
-    private final Map<String, String> primitiveTypeMap;
+    private final Map<String, JavaType> primitiveTypeMap;
+    private final Map<Schema<?>, JavaType> schemaTypes = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<String, JavaType> refTypes = new ConcurrentHashMap<>();
 
     public TypeMapper(OpenAPI openAPI) {
         this(openAPI, "io.temporal.openapi.models");
@@ -25,24 +34,24 @@ public class TypeMapper {
         this.primitiveTypeMap = initializePrimitiveTypeMap();
     }
 
-    private Map<String, String> initializePrimitiveTypeMap() {
-        Map<String, String> map = new HashMap<>();
-        map.put("string", "String");
-        map.put("integer", "Integer");
-        map.put("long", "Long");
-        map.put("number", "Double");
-        map.put("float", "Float");
-        map.put("double", "Double");
-        map.put("boolean", "Boolean");
-        map.put("byte", "byte[]");
-        map.put("binary", "byte[]");
-        map.put("date", "java.time.LocalDate");
-        map.put("date-time", "java.time.OffsetDateTime");
-        map.put("password", "String");
-        map.put("email", "String");
-        map.put("uuid", "java.util.UUID");
-        map.put("uri", "java.net.URI");
-        map.put("url", "java.net.URL");
+    private Map<String, JavaType> initializePrimitiveTypeMap() {
+        Map<String, JavaType> map = new HashMap<>();
+        map.put("string", JavaType.STRING);
+        map.put("integer", JavaType.INTEGER);
+        map.put("long", JavaType.LONG);
+        map.put("number", JavaType.DOUBLE);
+        map.put("float", JavaType.FLOAT);
+        map.put("double", JavaType.DOUBLE);
+        map.put("boolean", JavaType.BOOLEAN);
+        map.put("byte", JavaType.BYTE_ARRAY);
+        map.put("binary", JavaType.BYTE_ARRAY);
+        map.put("date", LOCAL_DATE);
+        map.put("date-time", OFFSET_DATE_TIME);
+        map.put("password", JavaType.STRING);
+        map.put("email", JavaType.STRING);
+        map.put("uuid", UUID);
+        map.put("uri", JavaType.classType("java.net.URI"));
+        map.put("url", JavaType.classType("java.net.URL"));
         return map;
     }
 
@@ -50,8 +59,15 @@ public class TypeMapper {
      * Map OpenAPI schema to Java type
      */
     public String mapSchemaToJavaType(Schema<?> schema) {
+        return resolveType(schema).toString();
+    }
+
+    /**
+     * Resolve the Java type of an OpenAPI schema
+     */
+    public JavaType resolveType(Schema<?> schema) {
         if (schema == null) {
-            return "Object";
+            return JavaType.OBJECT;
         }
 
         // Handle $ref (references to components/schemas)
@@ -59,19 +75,28 @@ public class TypeMapper {
             return resolveRef(schema.get$ref());
         }
 
+        JavaType cached = schemaTypes.get(schema);
+        if (cached != null) {
+            return cached;
+        }
+        // Not computed under the lock: nested schemas resolve recursively
+        JavaType type = computeType(schema);
+        schemaTypes.put(schema, type);
+        return type;
+    }
+
+    private JavaType computeType(Schema<?> schema) {
         // Handle arrays
         if (schema instanceof ArraySchema) {
             ArraySchema arraySchema = (ArraySchema) schema;
-            String itemType = mapSchemaToJavaType(arraySchema.getItems());
-            return "java.util.List<" + itemType + ">";
+            return JavaType.listOf(resolveType(arraySchema.getItems()));
         }
 
         // Handle maps/dictionaries
         if (schema instanceof MapSchema || 
             (schema.getAdditionalProperties() instanceof Schema)) {
             Schema<?> valueSchema = (Schema<?>) schema.getAdditionalProperties();
-            String valueType = mapSchemaToJavaType(valueSchema);
-            return "java.util.Map<String, " + valueType + ">";
+            return JavaType.mapOf(resolveType(valueSchema));
         }
 
         // Handle primitive types
@@ -79,46 +104,44 @@ public class TypeMapper {
         String format = schema.getFormat();
 
         if (type == null) {
-            return "Object";
+            return JavaType.OBJECT;
         }
 
         // Check format-specific mappings first
         if (format != null) {
             if ("integer".equals(type)) {
-                if ("int32".equals(format)) return "Integer";
-                if ("int64".equals(format)) return "Long";
+                if ("int32".equals(format)) return JavaType.INTEGER;
+                if ("int64".equals(format)) return JavaType.LONG;
             }
             if ("number".equals(type)) {
-                if ("float".equals(format)) return "Float";
-                if ("double".equals(format)) return "Double";
+                if ("float".equals(format)) return JavaType.FLOAT;
+                if ("double".equals(format)) return JavaType.DOUBLE;
             }
             if ("string".equals(type)) {
-                if ("date".equals(format)) return "java.time.LocalDate";
-                if ("date-time".equals(format)) return "java.time.OffsetDateTime";
-                if ("byte".equals(format)) return "byte[]";
-                if ("binary".equals(format)) return "byte[]";
-                if ("uuid".equals(format)) return "java.util.UUID";
+                if ("date".equals(format)) return LOCAL_DATE;
+                if ("date-time".equals(format)) return OFFSET_DATE_TIME;
+                if ("byte".equals(format)) return JavaType.BYTE_ARRAY;
+                if ("binary".equals(format)) return JavaType.BYTE_ARRAY;
+                if ("uuid".equals(format)) return UUID;
             }
         }
 
-        // Fall back to type-only mapping
-        return primitiveTypeMap.getOrDefault(type, StringUtils.capitalize(type));
+        // Fall back to type-only mapping; unknown types such as "object" map to Object
+        return primitiveTypeMap.getOrDefault(type, JavaType.OBJECT);
     }
 
     /**
-     * Resolve a $ref to a Java type name
+     * Resolve a $ref to a Java type
      */
-    private String resolveRef(String ref) {
-        if (ref == null) {
-            return "Object";
-        }
-
-        // Extract the model name from the reference
-        // Example: #/components/schemas/Pet -> Pet
-        String[] parts = ref.split("/");
-        String modelName = parts[parts.length - 1];
-
-        return modelsPackage + "." + modelName;
+    private JavaType resolveRef(String ref) {
+        return refTypes.computeIfAbsent(ref, key -> {
+            // Extract the model name from the reference
+            // Example: #/components/schemas/Pet -> Pet
+            String[] parts = key.split("/");
+            String modelName = parts[parts.length - 1];
+
+            return JavaType.classType(modelsPackage + "." + modelName);
+        });
     }
 
     /**
@@ -144,22 +167,19 @@ public class TypeMapper {
         return openAPI.getComponents().getSchemas();
     }
 
+    /**
+     * Convert OpenAPI type to Java field type. Resolved types are always boxed, so they are
+     * suitable for optional fields.
+     */
+    public JavaType resolveFieldType(Schema<?> schema, boolean required) {
+        return resolveType(schema);
+    }
+
     /**
      * Convert OpenAPI type to Java field type (boxed for nullable fields)
      */
     public String mapToFieldType(Schema<?> schema, boolean required) {
-        String javaType = mapSchemaToJavaType(schema);
-        
-        // If not required, ensure we use boxed types for primitives
-        if (!required) {
-            if ("int".equals(javaType)) return "Integer";
-            if ("long".equals(javaType)) return "Long";
-            if ("float".equals(javaType)) return "Float";
-            if ("double".equals(javaType)) return "Double";
-            if ("boolean".equals(javaType)) return "Boolean";
-        }
-        
-        return javaType;
+        return resolveFieldType(schema, required).toString();
     }
 
     public String getModelsPackage() {
@@ -0,0 +1,171 @@
+package io.temporal.openapi.generator.writer;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes generated sources, leaving files whose content is unchanged untouched so their
+ * timestamps do not trigger recompilation, and removing files left over from a previous run.
+ * Files may be written concurrently from several threads.
+ */
+public class GeneratedSourceWriter implements JavaFileSink {
+
+    private final Path outputDirectory;
+    private final Set<String> files = new ConcurrentSkipListSet<>();
+    private final AtomicInteger writtenCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final AtomicInteger deletedCount = new AtomicInteger();
+    private final AtomicLong generatedBytes = new AtomicLong();
+    private final AtomicLong writtenBytes = new AtomicLong();
+
+    public GeneratedSourceWriter(Path outputDirectory) {
+        this.outputDirectory = outputDirectory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void accept(JavaFile javaFile) throws IOException {
+        write(javaFile);
+    }
+
+    /**
+     * Render a Java file and write it only if it differs from the existing file
+     */
+    public void write(JavaFile javaFile) throws IOException {
+        StringBuilder source = new StringBuilder();
+        javaFile.writeTo(source);
+        write(relativePath(javaFile), source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write raw content to a path relative to the output directory only if it differs from the existing file
+     */
+    public void write(String relativePath, byte[] content) throws IOException {
+        Path target = resolve(relativePath);
+        files.add(relativePath);
+        generatedBytes.addAndGet(content.length);
+
+        if (Files.isRegularFile(target)
+                && Files.size(target) == content.length
+                && Arrays.equals(sha256(Files.readAllBytes(target)), sha256(content))) {
+            unchangedCount.incrementAndGet();
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        Files.write(target, content);
+        writtenCount.incrementAndGet();
+        writtenBytes.addAndGet(content.length);
+    }
+
+    /**
+     * Keep a file from a previous run that is known to be up to date without rendering it again
+     */
+    public void retain(String relativePath) {
+        resolve(relativePath);
+        files.add(relativePath);
+        unchangedCount.incrementAndGet();
+    }
+
+    /**
+     * Delete files written by a previous run that were not produced by this one
+     */
+    public void deleteOrphans(Collection<String> previousFiles) throws IOException {
+        if (previousFiles == null) {
+            return;
+        }
+        for (String previousFile : previousFiles) {
+            if (files.contains(previousFile)) {
+                continue;
+            }
+            Path orphan = resolve(previousFile);
+            if (Files.deleteIfExists(orphan)) {
+                deletedCount.incrementAndGet();
+                pruneEmptyDirectories(orphan.getParent());
+            }
+        }
+    }
+
+    /**
+     * Get the relative paths of all files produced by this run, in sorted order
+     */
+    public List<String> getFiles() {
+        return new ArrayList<>(files);
+    }
+
+    public int getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    public int getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    /**
+     * Get the size of all content rendered in this run, whether or not it was written
+     */
+    public long getGeneratedBytes() {
+        return generatedBytes.get();
+    }
+
+    public long getWrittenBytes() {
+        return writtenBytes.get();
+    }
+
+    /**
+     * Get the path of a generated file relative to the output directory
+     */
+    public static String relativePath(JavaFile javaFile) {
+        return relativePath(javaFile.packageName, javaFile.typeSpec.name);
+    }
+
+    /**
+     * Get the path of a generated type relative to the output directory
+     */
+    public static String relativePath(String packageName, String typeName) {
+        String packagePath = packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/";
+        return packagePath + typeName + ".java";
+    }
+
+    private Path resolve(String relativePath) {
+        Path resolved = outputDirectory.resolve(relativePath).normalize();
+        if (!resolved.startsWith(outputDirectory)) {
+            throw new IllegalArgumentException("Path escapes output directory: " + relativePath);
+        }
+        return resolved;
+    }
+
+    private void pruneEmptyDirectories(Path directory) throws IOException {
+        while (directory != null && directory.startsWith(outputDirectory) && !directory.equals(outputDirectory)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                if (entries.iterator().hasNext()) {
+                    return;
+                }
+            }
+            Files.delete(directory);
+            directory = directory.getParent();
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.temporal.openapi.generator.writer;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+
+/**
+ * Receives generated files one at a time as they are built, so callers can write and
+ * release each file instead of collecting all of them in memory
+ */
+@FunctionalInterface
+public interface JavaFileSink {
+
+    void accept(JavaFile javaFile) throws IOException;
+}
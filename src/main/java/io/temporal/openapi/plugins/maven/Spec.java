@@ -0,0 +1,80 @@
+package io.temporal.openapi.plugins.maven;
+
+import io.temporal.openapi.generator.parser.OperationFilter;
+
+import java.io.File;
+
+/**
+ * One OpenAPI spec generated by a batch execution. Settings left unset fall back to the
+ * corresponding plugin parameters.
+ */
+public class Spec {
+
+    private File specFile;
+    private String packageName;
+    private String activityName;
+    private String apiClientPackage;
+    private String modelPackage;
+    private OperationFilter operationFilter;
+
+    public Spec() {
+    }
+
+    public Spec(File specFile, String packageName, String activityName, String apiClientPackage,
+                String modelPackage, OperationFilter operationFilter) {
+        this.specFile = specFile;
+        this.packageName = packageName;
+        this.activityName = activityName;
+        this.apiClientPackage = apiClientPackage;
+        this.modelPackage = modelPackage;
+        this.operationFilter = operationFilter;
+    }
+
+    public File getSpecFile() {
+        return specFile;
+    }
+
+    public void setSpecFile(File specFile) {
+        this.specFile = specFile;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getActivityName() {
+        return activityName;
+    }
+
+    public void setActivityName(String activityName) {
+        this.activityName = activityName;
+    }
+
+    public String getApiClientPackage() {
+        return apiClientPackage;
+    }
+
+    public void setApiClientPackage(String apiClientPackage) {
+        this.apiClientPackage = apiClientPackage;
+    }
+
+    public String getModelPackage() {
+        return modelPackage;
+    }
+
+    public void setModelPackage(String modelPackage) {
+        this.modelPackage = modelPackage;
+    }
+
+    public OperationFilter getOperationFilter() {
+        return operationFilter;
+    }
+
+    public void setOperationFilter(OperationFilter operationFilter) {
+        this.operationFilter = operationFilter;
+    }
+}
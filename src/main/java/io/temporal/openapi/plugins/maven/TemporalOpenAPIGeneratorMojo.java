@@ -1,14 +1,40 @@
 package io.temporal.openapi.plugins.maven;
 
 import com.squareup.javapoet.JavaFile;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.temporal.openapi.generator.cache.DependencyGraph;
+import io.temporal.openapi.generator.cache.GenerationFingerprint;
+import io.temporal.openapi.generator.cache.GenerationState;
+import io.temporal.openapi.generator.cache.IncrementalPlan;
+import io.temporal.openapi.generator.cache.SpecCache;
+import io.temporal.openapi.generator.cache.SpecModelCache;
+import io.temporal.openapi.generator.codegen.ActivityAsyncGenerator;
+import io.temporal.openapi.generator.codegen.ActivityGroup;
 import io.temporal.openapi.generator.codegen.ActivityInterfaceGenerator;
 import io.temporal.openapi.generator.codegen.ActivityImplementationGenerator;
+import io.temporal.openapi.generator.codegen.ActivityOptionsGenerator;
+import io.temporal.openapi.generator.codegen.ActivityShard;
+import io.temporal.openapi.generator.codegen.BatchGenerator;
+import io.temporal.openapi.generator.codegen.CompletionMode;
+import io.temporal.openapi.generator.codegen.GenerationPipeline;
 import io.temporal.openapi.generator.codegen.ModelGenerator;
+import io.temporal.openapi.generator.codegen.PaginationGenerator;
+import io.temporal.openapi.generator.codegen.WorkerGenerator;
+import io.temporal.openapi.generator.metrics.GenerationMetrics;
+import io.temporal.openapi.generator.metrics.GenerationReport;
 import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.SchemaModel;
+import io.temporal.openapi.generator.model.SpecModel;
+import io.temporal.openapi.generator.parser.LazySpecLoader;
 import io.temporal.openapi.generator.parser.OpenAPIParser;
+import io.temporal.openapi.generator.parser.OperationFilter;
+import io.temporal.openapi.generator.parser.TypeMapper;
+import io.temporal.openapi.generator.writer.GeneratedSourceWriter;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -16,19 +42,42 @@ import org.apache.maven.project.MavenProject;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.lang.model.SourceVersion;
 
 /**
  * Maven plugin to generate Temporal Activities from OpenAPI specifications
  */
-@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
 public class TemporalOpenAPIGeneratorMojo extends AbstractMojo {
 
+    private static final List<String> DEFAULT_SPEC_INCLUDES = Arrays.asList("*.yaml", "*.yml", "*.json");
+
     /**
-     * Location of the OpenAPI specification file (YAML or JSON)
+     * Location of the OpenAPI specification file (YAML or JSON); optional when {@code specs}
+     * or {@code specDirectory} is set
      */
-    @Parameter(property = "openapi.spec", required = true)
+    @Parameter(property = "openapi.spec")
     private File specFile;
 
     /**
@@ -76,26 +125,276 @@ public class TemporalOpenAPIGeneratorMojo extends AbstractMojo {
     @Parameter(property = "openapi.generateImplementation", defaultValue = "true")
     private boolean generateImplementation;
 
+    /**
+     * Whether to generate a {@code <activityName>Options} class with per-method ActivityOptions carrying
+     * each operation's retry policy, and a map of them for {@code WorkflowImplementationOptions}
+     */
+    @Parameter(property = "openapi.generateActivityOptions", defaultValue = "true")
+    private boolean generateActivityOptions;
+
+    /**
+     * Whether to generate a {@code <activityName>Async} class for workflows whose methods start the
+     * activity and return a {@code Promise} of its result, with an {@code allOf} helper running a call
+     * per input with bounded parallelism
+     */
+    @Parameter(property = "openapi.generateActivityAsync", defaultValue = "true")
+    private boolean generateActivityAsync;
+
     /**
      * Whether to generate model POJOs
      */
     @Parameter(property = "openapi.generateModels", defaultValue = "true")
     private boolean generateModels;
 
+    /**
+     * Whether implementation methods call a non-blocking client and complete the activity asynchronously
+     * through a {@code ManualActivityCompletionClient}, so worker threads are not held during HTTP calls.
+     * Requires an API client whose methods return {@code CompletableFuture}, such as OpenAPI Generator's
+     * {@code native} library with {@code asyncNative} enabled.
+     */
+    @Parameter(property = "openapi.asyncCompletion", defaultValue = "false")
+    private boolean asyncCompletion;
+
+    /**
+     * Whether implementation methods run the blocking client on an executor and complete the activity
+     * asynchronously, and a {@code <activityName>Worker} bootstrap is generated that supplies virtual
+     * threads on JDK 21 and later, or platform threads otherwise, with WorkerOptions sized for I/O-bound work
+     */
+    @Parameter(property = "openapi.virtualThreads", defaultValue = "false")
+    private boolean virtualThreads;
+
+    /**
+     * Whether to generate a {@code <activityName>Worker} bootstrap registering the implementation with
+     * WorkerOptions sized for I/O-bound activities, overridable per task queue through properties, and a
+     * task queue rate limit taken from the {@code x-rate-limit} shared by all operations. Always generated with
+     * {@code virtualThreads}.
+     */
+    @Parameter(property = "openapi.generateWorker", defaultValue = "true")
+    private boolean generateWorker;
+
+    /**
+     * Whether implementation methods record per-operation metrics through the activity's metrics scope:
+     * call latency, calls per HTTP status class, request and response body sizes and failures per
+     * exception type, tagged with the operationId, tag and HTTP method. Requires an API client generated
+     * with OpenAPI Generator's {@code native} library.
+     */
+    @Parameter(property = "openapi.operationMetrics", defaultValue = "false")
+    private boolean operationMetrics;
+
+    /**
+     * OperationIds of operations whose generated implementation sends a deterministic
+     * {@code Idempotency-Key} header derived from the workflow and activity IDs, so they are retried
+     * with the idempotent retry policy. Operations can also opt in with {@code x-idempotency-key: true}.
+     */
+    @Parameter(property = "openapi.idempotencyKeyOperations")
+    private List<String> idempotencyKeyOperations;
+
+    /**
+     * OperationIds of operations that get a batch variant, e.g. {@code getImageBatch(List<Long>)}, which
+     * makes the call for every input inside one activity with bounded concurrency, heartbeats its progress
+     * and returns the result or failure of each input. Operations can also opt in with {@code x-batch: true},
+     * or with {@code x-batch: <concurrency>} to set their own concurrency.
+     */
+    @Parameter(property = "openapi.batchOperations")
+    private List<String> batchOperations;
+
+    /**
+     * Calls a batch variant runs concurrently
+     */
+    @Parameter(property = "openapi.batchConcurrency", defaultValue = "10")
+    private int batchConcurrency;
+
+    /**
+     * Detect paginated GET operations from a cursor, page number or offset query parameter, e.g.
+     * {@code pageToken}, {@code page} or {@code startAt}, and the list of items in their response, and
+     * generate a paginated variant, e.g. {@code listPetsAll}, which walks every page inside one activity,
+     * hands each page to a {@code PageSink} and heartbeats its progress. Operations can also declare their
+     * pagination with the {@code x-pagination} extension, or opt out with {@code x-pagination: false}.
+     * Off by default, as the paginated variants fail unless the worker is given a {@code PageSink}.
+     */
+    @Parameter(property = "openapi.detectPagination", defaultValue = "false")
+    private boolean detectPagination;
+
+    /**
+     * Restricts generated operations by tag, operationId, path glob and HTTP method. When set, only
+     * the model schemas reachable from the selected operations are generated.
+     * <pre>
+     * &lt;operationFilter&gt;
+     *   &lt;includeTags&gt;&lt;includeTag&gt;pets&lt;/includeTag&gt;&lt;/includeTags&gt;
+     *   &lt;excludeMethods&gt;&lt;excludeMethod&gt;DELETE&lt;/excludeMethod&gt;&lt;/excludeMethods&gt;
+     * &lt;/operationFilter&gt;
+     * </pre>
+     */
+    @Parameter
+    private OperationFilter operationFilter;
+
+    /**
+     * Whether operations are split into one activity interface and implementation per OpenAPI tag, each
+     * with its own activity type prefix and task queue constant, e.g. {@code PetStorePetsActivity} for tag
+     * {@code pets} of {@code PetStoreActivity}. Operations without a tag stay on {@code activityName}.
+     */
+    @Parameter(property = "openapi.groupByTag", defaultValue = "false")
+    private boolean groupByTag;
+
+    /**
+     * Groups of operations generated into their own activity interface and implementation, taking
+     * precedence over {@code groupByTag}. An operation belongs to the first group selecting it.
+     * <pre>
+     * &lt;activityGroups&gt;
+     *   &lt;activityGroup&gt;
+     *     &lt;name&gt;reports&lt;/name&gt;
+     *     &lt;taskQueue&gt;reports&lt;/taskQueue&gt;
+     *     &lt;operations&gt;&lt;includePaths&gt;&lt;includePath&gt;/reports/**&lt;/includePath&gt;&lt;/includePaths&gt;&lt;/operations&gt;
+     *   &lt;/activityGroup&gt;
+     * &lt;/activityGroups&gt;
+     * </pre>
+     */
+    @Parameter
+    private List<ActivityGroup> activityGroups;
+
+    /**
+     * Further specs generated by the same execution, each into its own package, which must differ
+     * from the packages of the other specs. Unset settings fall back to the plugin parameters. Specs are parsed and generated concurrently on a shared pool.
+     * <pre>
+     * &lt;specs&gt;
+     *   &lt;spec&gt;
+     *     &lt;specFile&gt;src/main/openapi/billing.yaml&lt;/specFile&gt;
+     *     &lt;packageName&gt;com.example.billing&lt;/packageName&gt;
+     *     &lt;activityName&gt;BillingActivity&lt;/activityName&gt;
+     *     &lt;apiClientPackage&gt;com.example.billing.client&lt;/apiClientPackage&gt;
+     *     &lt;modelPackage&gt;com.example.billing.client.model&lt;/modelPackage&gt;
+     *   &lt;/spec&gt;
+     * &lt;/specs&gt;
+     * </pre>
+     */
+    @Parameter
+    private List<Spec> specs;
+
+    /**
+     * Directory searched for further specs to generate, selected by {@code specIncludes}. Each spec found
+     * is generated into {@code packageName}, {@code apiClientPackage} and {@code modelPackage} suffixed
+     * with a segment derived from its file name, e.g. {@code billing-api.yaml} becomes package segment
+     * {@code billing_api} and activity {@code BillingApiActivity}.
+     */
+    @Parameter(property = "openapi.specDirectory")
+    private File specDirectory;
+
+    /**
+     * Glob patterns relative to {@code specDirectory}; defaults to {@code *.yaml}, {@code *.yml} and {@code *.json}
+     */
+    @Parameter
+    private List<String> specIncludes;
+
+    /**
+     * Whether to skip generation when the spec, its referenced files, the plugin
+     * configuration and the plugin version are unchanged since the last run
+     */
+    @Parameter(property = "openapi.skipIfUnchanged", defaultValue = "true")
+    private boolean skipIfUnchanged;
+
+    /**
+     * Directory holding the generator state used for up-to-date checks
+     */
+    @Parameter(
+        property = "openapi.stateDirectory",
+        defaultValue = "${project.build.directory}/temporal-openapi-generator"
+    )
+    private File stateDirectory;
+
+    /**
+     * Whether to regenerate only the files whose spec dependencies changed since the last run
+     */
+    @Parameter(property = "openapi.incremental", defaultValue = "true")
+    private boolean incremental;
+
+    /**
+     * Number of threads used to generate sources; zero or less uses the number of available processors
+     */
+    @Parameter(property = "openapi.parallelism", defaultValue = "0")
+    private int parallelism;
+
+    /**
+     * Whether to cache the extracted operations and schemas in a binary file keyed by the
+     * spec content hash, so unchanged specs skip parsing on later builds
+     */
+    @Parameter(property = "openapi.modelCache", defaultValue = "false")
+    private boolean modelCache;
+
+    /**
+     * Directory of the extracted model cache; may be shared between projects, e.g. under ~/.m2
+     */
+    @Parameter(
+        property = "openapi.modelCacheDirectory",
+        defaultValue = "${project.build.directory}/temporal-openapi-generator/model-cache"
+    )
+    private File modelCacheDirectory;
+
+    /**
+     * Whether to index the spec with a streaming pass and deserialize only the operations selected by
+     * {@code operationFilter} and the components they reference. Specs that reference other files or
+     * use YAML anchors are parsed in full.
+     */
+    @Parameter(property = "openapi.lazyLoading", defaultValue = "false")
+    private boolean lazyLoading;
+
+    /**
+     * Directory receiving a JSON report of per-phase wall time, allocated bytes and file counts
+     */
+    @Parameter(
+        property = "openapi.reportDirectory",
+        defaultValue = "${project.build.directory}/temporal-openapi-generator"
+    )
+    private File reportDirectory;
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor pluginDescriptor;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+    private MojoExecution mojoExecution;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        long startNanos = System.nanoTime();
         getLog().info("Starting Temporal OpenAPI Generator...");
-        getLog().info("OpenAPI Spec: " + specFile.getAbsolutePath());
-        getLog().info("Output Directory: " + outputDirectory.getAbsolutePath());
-        getLog().info("Package Name: " + packageName);
-        getLog().info("Activity Name: " + activityName);
+        List<SpecGeneration> generations = resolveSpecs();
+        boolean batch = generations.size() > 1;
+        if (batch) {
+            getLog().info("OpenAPI Specs: " + generations.size());
+            getLog().info("Output Directory: " + outputDirectory.getAbsolutePath());
+            for (SpecGeneration generation : generations) {
+                generation.labelled = true;
+                getLog().info("  " + generation.specFile.getAbsolutePath() + " -> "
+                    + generation.packageName + "." + generation.activityName);
+            }
+        } else {
+            SpecGeneration generation = generations.get(0);
+            getLog().info("OpenAPI Spec: " + generation.specFile.getAbsolutePath());
+            getLog().info("Output Directory: " + outputDirectory.getAbsolutePath());
+            getLog().info("Package Name: " + generation.packageName);
+            getLog().info("Activity Name: " + generation.activityName);
+        }
 
         // Validate inputs
-        if (!specFile.exists()) {
-            throw new MojoExecutionException("OpenAPI spec file not found: " + specFile.getAbsolutePath());
+        if (asyncCompletion && virtualThreads) {
+            throw new MojoExecutionException("asyncCompletion and virtualThreads cannot be combined");
+        }
+        if (batchConcurrency < 1) {
+            throw new MojoExecutionException("batchConcurrency must be positive: " + batchConcurrency);
+        }
+        if (activityGroups != null) {
+            for (ActivityGroup group : activityGroups) {
+                if (group.getName() == null || !group.getName().matches(".*[A-Za-z0-9].*")) {
+                    throw new MojoExecutionException("Activity group name must contain a letter or digit: " + group);
+                }
+            }
+        }
+        for (SpecGeneration generation : generations) {
+            if (!generation.specFile.exists()) {
+                throw new MojoExecutionException("OpenAPI spec file not found: " + generation.specFile.getAbsolutePath());
+            }
         }
 
         // Create output directory
@@ -103,63 +402,672 @@ public class TemporalOpenAPIGeneratorMojo extends AbstractMojo {
             outputDirectory.mkdirs();
         }
 
+        // Specs share the generation pool, the writer thread and the parsed spec cache
+        try (GenerationPipeline pipeline = new GenerationPipeline(getParallelism())) {
+            if (batch) {
+                prepareConcurrently(generations, pipeline);
+            } else {
+                generations.get(0).prepare(pipeline);
+            }
+
+            // Wait for all generation stages and pending writes
+            pipeline.finish();
+            for (SpecGeneration generation : generations) {
+                generation.complete();
+            }
+
+            // Add generated sources to Maven project
+            project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+            if (batch) {
+                logBatchSummary(generations, startNanos);
+            }
+            if (generations.stream().anyMatch(generation -> !generation.skipped)) {
+                getLog().info("Temporal OpenAPI Generator completed successfully!");
+            }
+
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write generated files", e);
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to generate Temporal Activities", e);
+        }
+    }
+
+    /**
+     * Collect the specs of this execution: {@code specFile}, the configured {@code specs} and the
+     * specs found in {@code specDirectory}
+     */
+    private List<SpecGeneration> resolveSpecs() throws MojoExecutionException {
+        List<SpecGeneration> generations = new ArrayList<>();
+        if (specFile != null) {
+            generations.add(new SpecGeneration(getExecutionId(), specFile, packageName, activityName,
+                apiClientPackage, modelPackage, getOperationFilter()));
+        }
+        if (specs != null) {
+            for (Spec spec : specs) {
+                if (spec.getSpecFile() == null) {
+                    throw new MojoExecutionException("Every entry of specs requires a specFile");
+                }
+                generations.add(batchGeneration(
+                    spec.getSpecFile(),
+                    spec.getPackageName() != null ? spec.getPackageName() : packageName,
+                    spec.getActivityName() != null ? spec.getActivityName() : activityName,
+                    spec.getApiClientPackage() != null ? spec.getApiClientPackage() : apiClientPackage,
+                    spec.getModelPackage() != null ? spec.getModelPackage() : modelPackage,
+                    spec.getOperationFilter() != null ? spec.getOperationFilter() : getOperationFilter()
+                ));
+            }
+        }
+        if (specDirectory != null) {
+            for (File file : findSpecs()) {
+                String segment = derivePackageSegment(file);
+                generations.add(batchGeneration(file, packageName + "." + segment, deriveActivityName(file),
+                    apiClientPackage + "." + segment, modelPackage + "." + segment, getOperationFilter()));
+            }
+        }
+
+        if (generations.isEmpty()) {
+            throw new MojoExecutionException("No OpenAPI spec configured, set specFile, specs or specDirectory");
+        }
+        // Specs are written concurrently by their own writers, and the models and shared classes of a
+        // package would be overwritten or deleted as orphans by another spec's writer
+        Set<String> packages = new HashSet<>();
+        for (SpecGeneration generation : generations) {
+            if (!packages.add(generation.packageName)) {
+                throw new MojoExecutionException("More than one spec generates into package "
+                    + generation.packageName + ", give each spec its own packageName");
+            }
+        }
+        return generations;
+    }
+
+    private SpecGeneration batchGeneration(File file, String packageName, String activityName,
+                                           String apiClientPackage, String modelPackage,
+                                           OperationFilter operationFilter) {
+        return new SpecGeneration(getExecutionId() + "-" + packageName + "." + activityName, file, packageName,
+            activityName, apiClientPackage, modelPackage, operationFilter);
+    }
+
+    /**
+     * Find the specs in the spec directory matching the include patterns, in path order
+     */
+    private List<File> findSpecs() throws MojoExecutionException {
+        if (!specDirectory.isDirectory()) {
+            throw new MojoExecutionException("OpenAPI spec directory not found: " + specDirectory.getAbsolutePath());
+        }
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String include : specIncludes != null && !specIncludes.isEmpty() ? specIncludes : DEFAULT_SPEC_INCLUDES) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + include.trim()));
+        }
+
+        Path root = specDirectory.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(path -> matchers.stream().anyMatch(matcher -> matcher.matches(root.relativize(path))))
+                .sorted()
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to list OpenAPI spec directory: " + specDirectory.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Derive a package segment from a spec file name, e.g. {@code billing-api.yaml} to {@code billing_api}
+     */
+    private static String derivePackageSegment(File file) {
+        String segment = baseName(file).toLowerCase(Locale.ROOT)
+            .replaceAll("[^a-z0-9]+", "_")
+            .replaceAll("^_+|_+$", "");
+        if (segment.isEmpty() || Character.isDigit(segment.charAt(0))) {
+            segment = "spec" + segment;
+        }
+        return SourceVersion.isKeyword(segment) ? segment + "_" : segment;
+    }
+
+    /**
+     * Derive an activity name from a spec file name, e.g. {@code billing-api.yaml} to {@code BillingApiActivity}
+     */
+    private static String deriveActivityName(File file) {
+        StringBuilder name = new StringBuilder();
+        for (String word : baseName(file).split("[^A-Za-z0-9]+")) {
+            if (!word.isEmpty()) {
+                name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+        }
+        if (name.length() == 0 || Character.isDigit(name.charAt(0))) {
+            name.insert(0, "Spec");
+        }
+        return name.append("Activity").toString();
+    }
+
+    private static String baseName(File file) {
+        String name = file.getName();
+        int extension = name.lastIndexOf('.');
+        return extension > 0 ? name.substring(0, extension) : name;
+    }
+
+    /**
+     * Parse the specs and submit their generation stages concurrently, at most one spec per pool thread
+     */
+    private void prepareConcurrently(List<SpecGeneration> generations, GenerationPipeline pipeline) throws Exception {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(generations.size(), getParallelism()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "temporal-openapi-spec-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
         try {
-            // Parse OpenAPI specification
-            getLog().info("Parsing OpenAPI specification...");
-            OpenAPIParser parser = new OpenAPIParser(specFile.getAbsolutePath(), modelPackage);
-            List<OperationModel> operations = parser.parseOperations();
-            getLog().info("Found " + operations.size() + " operations");
+            List<CompletableFuture<Void>> prepared = new ArrayList<>();
+            for (SpecGeneration generation : generations) {
+                prepared.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        generation.prepare(pipeline);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(prepared.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void logBatchSummary(List<SpecGeneration> generations, long startNanos) {
+        getLog().info("Generated " + generations.size() + " specs in "
+            + (System.nanoTime() - startNanos) / 1_000_000 + " ms:");
+        for (SpecGeneration generation : generations) {
+            GenerationReport report = generation.report;
+            getLog().info(String.format("  %-40s %6d ms %6d operations %6d written %6d unchanged%s",
+                generation.activityName, report.getWallMillis(), report.getOperations(), report.getFilesWritten(),
+                report.getFilesUnchanged(), report.isSkipped() ? " (skipped)" : ""));
+        }
+    }
+
+    /**
+     * Get the plugin version, including the jar timestamp for snapshots so rebuilt plugins invalidate the state
+     */
+    private String getPluginVersion() {
+        if (pluginDescriptor == null) {
+            return "unknown";
+        }
+        String version = pluginDescriptor.getVersion();
+        if (version != null && version.endsWith("-SNAPSHOT")
+                && pluginDescriptor.getPluginArtifact() != null
+                && pluginDescriptor.getPluginArtifact().getFile() != null) {
+            version += "@" + pluginDescriptor.getPluginArtifact().getFile().lastModified();
+        }
+        return version;
+    }
+
+    private CompletionMode getCompletionMode() {
+        if (asyncCompletion) {
+            return CompletionMode.ASYNC_CLIENT;
+        }
+        return virtualThreads ? CompletionMode.EXECUTOR : CompletionMode.BLOCKING;
+    }
+
+    private OperationFilter getOperationFilter() {
+        return operationFilter != null ? operationFilter : new OperationFilter();
+    }
+
+    private int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private String getExecutionId() {
+        return mojoExecution != null ? mojoExecution.getExecutionId() : "default";
+    }
+
+    /**
+     * Generation of one spec. Preparation parses the spec and submits its generation stages to the
+     * shared pipeline; completion runs once the pipeline has finished and records state and report.
+     */
+    private final class SpecGeneration {
+        private final String id;
+        private final File specFile;
+        private final String packageName;
+        private final String activityName;
+        private final String apiClientPackage;
+        private final String modelPackage;
+        private final OperationFilter operationFilter;
+        private final GenerationMetrics metrics = new GenerationMetrics();
+        private final GeneratedSourceWriter writer;
+        private final GenerationReport report;
+
+        private boolean labelled;
+        private long startNanos;
+        private long preparedNanos;
+        private boolean skipped;
+        private GenerationState previousState;
+        private String fingerprint;
+        private String configFingerprint;
+        private SpecModel spec;
+        private IncrementalPlan plan;
+        private ForkJoinTask<Integer> modelTask;
+
+        SpecGeneration(String id, File specFile, String packageName, String activityName,
+                       String apiClientPackage, String modelPackage, OperationFilter operationFilter) {
+            this.id = id;
+            this.specFile = specFile;
+            this.packageName = packageName;
+            this.activityName = activityName;
+            this.apiClientPackage = apiClientPackage;
+            this.modelPackage = modelPackage;
+            this.operationFilter = operationFilter;
+            this.writer = new GeneratedSourceWriter(outputDirectory.toPath());
+            this.report = new GenerationReport(id, specFile.getAbsolutePath());
+        }
+
+        /**
+         * Check whether the spec is up to date, otherwise parse it and submit its generation stages
+         */
+        void prepare(GenerationPipeline pipeline) throws MojoExecutionException, IOException {
+            startNanos = System.nanoTime();
+            GenerationFingerprint specFingerprint = computeSpecFingerprint();
+            String specHash = specFingerprint.toHex();
+            configFingerprint = computeConfigFingerprint().toHex();
+            fingerprint = computeConfigFingerprint().putValue("spec", specHash).toHex();
+            previousState = GenerationState.load(getStateFile());
+
+            if (isUpToDate(specFingerprint, previousState)) {
+                info("OpenAPI spec and configuration unchanged, skipping generation");
+                skipped = true;
+                preparedNanos = System.nanoTime();
+                return;
+            }
+
+            spec = loadSpec(pipeline, specHash);
+            List<OperationModel> operations = spec.getOperations();
+            if (operationFilter.isEmpty()) {
+                info("Found " + operations.size() + " operations");
+            } else {
+                info("Operation filter selected " + operations.size() + " operations, generating the "
+                    + spec.getSchemas().size() + " schemas reachable from them");
+            }
+
+            // Only files whose dependency subgraph changed are regenerated, unless the configuration changed
+            DependencyGraph graph = spec.getGraph();
+            boolean sameConfig = incremental && previousState != null
+                && configFingerprint.equals(previousState.getConfigFingerprint());
+            plan = new IncrementalPlan(
+                sameConfig ? previousState.getInputs() : null,
+                outputDirectory.toPath()
+            );
 
             // Generate models if requested
             if (generateModels) {
-                getLog().info("Generating model POJOs...");
-                ModelGenerator modelGenerator = new ModelGenerator(
-                    parser.getTypeMapper(), 
-                    packageName + ".models"
-                );
-                List<JavaFile> modelFiles = modelGenerator.generateModels();
-                
-                for (JavaFile javaFile : modelFiles) {
-                    Path outputPath = outputDirectory.toPath();
-                    javaFile.writeTo(outputPath);
+                info("Generating model POJOs...");
+                String modelsPackage = packageName + ".models";
+                ModelGenerator modelGenerator = new ModelGenerator(modelsPackage);
+
+                List<SchemaModel> staleModels = new ArrayList<>();
+                for (SchemaModel schema : spec.getSchemas()) {
+                    String modelFile = GeneratedSourceWriter.relativePath(modelsPackage, schema.getName());
+                    String inputHash = graph.subgraphHash(DependencyGraph.schemaNodeId(schema.getName()));
+                    if (plan.isUpToDate(modelFile, inputHash)) {
+                        plan.record(modelFile, inputHash);
+                        writer.retain(modelFile);
+                    } else {
+                        staleModels.add(schema);
+                    }
+                }
+
+                modelTask = pipeline.generate(staleModels, schema -> metrics.measure(
+                    GenerationMetrics.Phase.MODEL_GENERATION, () -> {
+                        JavaFile javaFile = modelGenerator.generateModel(schema);
+                        if (javaFile != null) {
+                            plan.record(GeneratedSourceWriter.relativePath(javaFile),
+                                graph.subgraphHash(DependencyGraph.schemaNodeId(schema.getName())));
+                        }
+                        return javaFile;
+                    }), writer, metrics);
+            }
+
+            // Each activity interface and implementation depends on every operation of its shard
+            List<ActivityShard> shards = ActivityShard.partition(activityName, operations, groupByTag, activityGroups);
+            if (shards.size() > 1 || shards.get(0).getTaskQueue() != null) {
+                info("Split " + operations.size() + " operations into " + shards.size() + " activity interfaces");
+            }
+            for (ActivityShard shard : shards) {
+                prepareShard(pipeline, graph, shard);
+            }
+
+            // The classes shared by batch and paginated variants depend only on the package, which is part
+            // of the configuration
+            if (BatchGenerator.hasBatch(operations)) {
+                BatchGenerator batchGenerator = new BatchGenerator(packageName);
+                prepareSharedFile(pipeline, BatchGenerator.ITEM_RESULT_CLASS, batchGenerator::generateBatchItemResult);
+                if (generateImplementation) {
+                    prepareSharedFile(pipeline, BatchGenerator.EXECUTION_CLASS, batchGenerator::generateBatchExecution);
                 }
-                getLog().info("Generated " + modelFiles.size() + " model classes");
             }
+            if (PaginationGenerator.hasPagination(operations)) {
+                PaginationGenerator paginationGenerator = new PaginationGenerator(packageName);
+                prepareSharedFile(pipeline, PaginationGenerator.PROGRESS_CLASS,
+                    paginationGenerator::generatePaginationProgress);
+                prepareSharedFile(pipeline, PaginationGenerator.SINK_CLASS, paginationGenerator::generatePageSink);
+            }
+            preparedNanos = System.nanoTime();
+        }
+
+        private void prepareSharedFile(GenerationPipeline pipeline, String className, Supplier<JavaFile> generator) {
+            String sharedFile = GeneratedSourceWriter.relativePath(packageName, className);
+            plan.record(sharedFile, className);
+            if (plan.isUpToDate(sharedFile, className)) {
+                writer.retain(sharedFile);
+            } else {
+                pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.IMPLEMENTATION_GENERATION,
+                    generator), writer, metrics);
+            }
+        }
+
+        /**
+         * Submit the generation of one shard's activity interface, options, implementation and worker,
+         * skipping files whose operations are unchanged
+         */
+        private void prepareShard(GenerationPipeline pipeline, DependencyGraph graph, ActivityShard shard) {
+            String interfaceName = shard.getInterfaceName();
+            List<OperationModel> operations = shard.getOperations();
+            List<String> operationNodes = new ArrayList<>();
+            for (OperationModel operation : operations) {
+                operationNodes.add(DependencyGraph.operationNodeId(operation.getHttpMethod(), operation.getPath()));
+            }
+            String operationsHash = graph.aggregateHash(operationNodes);
 
             // Generate Activity interface
-            getLog().info("Generating Activity interface...");
-            ActivityInterfaceGenerator interfaceGenerator = new ActivityInterfaceGenerator(
-                parser.getTypeMapper(),
-                packageName,
-                activityName
-            );
-            JavaFile interfaceFile = interfaceGenerator.generateActivityInterface(operations);
-            interfaceFile.writeTo(outputDirectory.toPath());
-            getLog().info("Generated Activity interface: " + activityName);
+            String interfaceFile = GeneratedSourceWriter.relativePath(packageName, interfaceName);
+            plan.record(interfaceFile, operationsHash);
+            if (plan.isUpToDate(interfaceFile, operationsHash)) {
+                writer.retain(interfaceFile);
+                info("Activity interface is up to date: " + interfaceName);
+            } else {
+                info("Generating Activity interface...");
+                ActivityInterfaceGenerator interfaceGenerator = new ActivityInterfaceGenerator(
+                    packageName,
+                    interfaceName,
+                    shard.getNamePrefix(),
+                    shard.getTaskQueue()
+                );
+                pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.INTERFACE_GENERATION,
+                    () -> interfaceGenerator.generateActivityInterface(operations)), writer, metrics);
+            }
+
+            // Generate the per-method activity options
+            if (generateActivityOptions) {
+                String optionsFile = GeneratedSourceWriter.relativePath(packageName, interfaceName + "Options");
+                plan.record(optionsFile, operationsHash);
+                if (plan.isUpToDate(optionsFile, operationsHash)) {
+                    writer.retain(optionsFile);
+                } else {
+                    ActivityOptionsGenerator optionsGenerator = new ActivityOptionsGenerator(packageName, interfaceName,
+                        shard.getNamePrefix());
+                    pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.INTERFACE_GENERATION,
+                        () -> optionsGenerator.generateActivityOptions(operations)), writer, metrics);
+                }
+            }
+
+            // Generate the Promise-returning calls for workflows
+            if (generateActivityAsync) {
+                String asyncFile = GeneratedSourceWriter.relativePath(packageName, interfaceName + "Async");
+                plan.record(asyncFile, operationsHash);
+                if (plan.isUpToDate(asyncFile, operationsHash)) {
+                    writer.retain(asyncFile);
+                } else {
+                    ActivityAsyncGenerator asyncGenerator = new ActivityAsyncGenerator(packageName, interfaceName);
+                    pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.INTERFACE_GENERATION,
+                        () -> asyncGenerator.generateActivityAsync(operations)), writer, metrics);
+                }
+            }
 
             // Generate implementation if requested
             if (generateImplementation) {
-                getLog().info("Generating Activity implementation...");
-                ActivityImplementationGenerator implGenerator = new ActivityImplementationGenerator(
-                    packageName,
-                    activityName,
-                    apiClientPackage
-                );
-                JavaFile implFile = implGenerator.generateImplementation(operations);
-                implFile.writeTo(outputDirectory.toPath());
-                getLog().info("Generated Activity implementation: " + activityName + "Impl");
+                String implFile = GeneratedSourceWriter.relativePath(packageName, interfaceName + "Impl");
+                plan.record(implFile, operationsHash);
+                if (plan.isUpToDate(implFile, operationsHash)) {
+                    writer.retain(implFile);
+                    info("Activity implementation is up to date: " + interfaceName + "Impl");
+                } else {
+                    info("Generating Activity implementation...");
+                    ActivityImplementationGenerator implGenerator = new ActivityImplementationGenerator(
+                        packageName,
+                        interfaceName,
+                        apiClientPackage,
+                        getCompletionMode(),
+                        operationMetrics
+                    );
+                    pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.IMPLEMENTATION_GENERATION,
+                        () -> implGenerator.generateImplementation(operations)), writer, metrics);
+                }
+
+                // Generate the worker bootstrap registering the implementation
+                if (generateWorker || virtualThreads) {
+                    String rateLimitConflict = WorkerGenerator.rateLimitConflict(operations);
+                    if (rateLimitConflict != null) {
+                        warn(interfaceName + "Worker: " + rateLimitConflict);
+                    }
+                    String workerFile = GeneratedSourceWriter.relativePath(packageName, interfaceName + "Worker");
+                    plan.record(workerFile, operationsHash);
+                    if (plan.isUpToDate(workerFile, operationsHash)) {
+                        writer.retain(workerFile);
+                    } else {
+                        WorkerGenerator workerGenerator = new WorkerGenerator(packageName, interfaceName, apiClientPackage,
+                            getCompletionMode(), shard.getTaskQueue() != null);
+                        pipeline.submit(() -> metrics.measure(GenerationMetrics.Phase.IMPLEMENTATION_GENERATION,
+                            () -> workerGenerator.generateWorker(operations)), writer, metrics);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Remove orphaned files and save the state and report once all generated files are written
+         */
+        void complete() throws IOException {
+            long completeNanos = System.nanoTime();
+            if (skipped) {
+                report.setSkipped(true);
+                report.setFilesUnchanged(previousState.getFiles().size());
+                saveReport(preparedNanos - startNanos);
+                return;
             }
 
-            // Add generated sources to Maven project
-            project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
-            getLog().info("Added generated sources to compile source root");
+            if (modelTask != null) {
+                info("Generated " + modelTask.join() + " model classes");
+            }
 
-            getLog().info("Temporal OpenAPI Generator completed successfully!");
+            // Remove files generated by the previous run that are no longer produced
+            writer.deleteOrphans(previousState != null ? previousState.getFiles() : null);
+            info("Wrote " + writer.getWrittenCount() + " files ("
+                + writer.getUnchangedCount() + " unchanged, "
+                + writer.getDeletedCount() + " deleted)");
 
-        } catch (IOException e) {
-            throw new MojoExecutionException("Failed to write generated files", e);
-        } catch (Exception e) {
-            throw new MojoExecutionException("Failed to generate Temporal Activities", e);
+            GenerationState state = new GenerationState(fingerprint, writer.getFiles());
+            state.setConfigFingerprint(configFingerprint);
+            state.setInputs(plan.getInputs());
+            state.save(getStateFile());
+
+            report.setOperations(spec.getOperations().size());
+            report.setSchemas(spec.getSchemas().size());
+            report.withPhases(metrics).withFiles(writer);
+            spec = null;
+
+            // Generation of this spec ended with its last measured phase; other specs may have kept the pipeline busy
+            long generatedNanos = Math.max(preparedNanos, metrics.getLastEndNanos());
+            saveReport(generatedNanos - startNanos + System.nanoTime() - completeNanos);
+        }
+
+        /**
+         * Compute the fingerprint of the plugin version and configuration
+         */
+        private GenerationFingerprint computeConfigFingerprint() {
+            return new GenerationFingerprint()
+                .putValue("pluginVersion", getPluginVersion())
+                .putValue("outputDirectory", outputDirectory.getAbsolutePath())
+                .putValue("packageName", packageName)
+                .putValue("activityName", activityName)
+                .putValue("apiClientPackage", apiClientPackage)
+                .putValue("modelPackage", modelPackage)
+                .putValue("generateImplementation", generateImplementation)
+                .putValue("generateActivityOptions", generateActivityOptions)
+                .putValue("generateActivityAsync", generateActivityAsync)
+                .putValue("generateModels", generateModels)
+                .putValue("asyncCompletion", asyncCompletion)
+                .putValue("virtualThreads", virtualThreads)
+                .putValue("generateWorker", generateWorker)
+                .putValue("operationMetrics", operationMetrics)
+                .putValue("idempotencyKeyOperations", idempotencyKeyOperations)
+                .putValue("batchOperations", batchOperations)
+                .putValue("batchConcurrency", batchConcurrency)
+                .putValue("detectPagination", detectPagination)
+                .putValue("operationFilter", operationFilter)
+                .putValue("groupByTag", groupByTag)
+                .putValue("activityGroups", activityGroups)
+                .putValue("lazyLoading", lazyLoading);
+        }
+
+        /**
+         * Compute the fingerprint of the spec and the local files it references
+         */
+        private GenerationFingerprint computeSpecFingerprint() throws MojoExecutionException {
+            try {
+                return new GenerationFingerprint().putSpec(specFile.toPath());
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to read OpenAPI spec: " + specFile.getAbsolutePath(), e);
+            }
+        }
+
+        private boolean isUpToDate(GenerationFingerprint specFingerprint, GenerationState previousState) {
+            if (!skipIfUnchanged || previousState == null) {
+                return false;
+            }
+            if (specFingerprint.hasUntrackedReferences()) {
+                getLog().debug("Spec references remote documents, up-to-date check disabled");
+                return false;
+            }
+            return fingerprint.equals(previousState.getFingerprint())
+                && previousState.outputsExist(outputDirectory.toPath());
+        }
+
+        /**
+         * Load the extracted spec model from the model cache, or parse the spec and populate the cache
+         */
+        private SpecModel loadSpec(GenerationPipeline pipeline, String specHash) throws IOException {
+            SpecModelCache cache = modelCache ? new SpecModelCache(modelCacheDirectory.toPath()) : null;
+            String cacheKey = SpecModelCache.key(specHash, getPluginVersion(), modelPackage, operationFilter,
+                lazyLoading, idempotencyKeyOperations, batchOperations, batchConcurrency, detectPagination);
+            if (cache != null) {
+                SpecModel cached = metrics.measure(GenerationMetrics.Phase.SPEC_PARSING, () -> cache.load(cacheKey));
+                if (cached != null) {
+                    info("Loaded OpenAPI model from cache: " + modelCacheDirectory);
+                    return cached;
+                }
+            }
+
+            SpecModel model = SpecCache.getInstance().getModel(specFile.toPath(), specHash,
+                modelPackage + "|" + operationFilter + "|" + lazyLoading + "|" + idempotencyKeyOperations
+                    + "|" + batchOperations + "|" + batchConcurrency + "|" + detectPagination,
+                () -> parseSpec(pipeline));
+            if (cache != null) {
+                cache.save(cacheKey, model);
+            }
+            return model;
+        }
+
+        /**
+         * Parse the spec and extract its model. The parser, and with it the swagger model, is
+         * released on return so only the extracted model stays on the heap during generation.
+         */
+        private SpecModel parseSpec(GenerationPipeline pipeline) {
+            info("Parsing OpenAPI specification...");
+            OpenAPIParser parser = metrics.measure(GenerationMetrics.Phase.SPEC_PARSING, this::createParser);
+            parser.setOperationFilter(operationFilter);
+            parser.setIdempotencyKeyOperations(idempotencyKeyOperations);
+            parser.setBatchOperations(batchOperations, batchConcurrency);
+            parser.setDetectPagination(detectPagination);
+            // Extraction runs on the pool, so its workers are measured along with this thread
+            return metrics.measure(GenerationMetrics.Phase.OPERATION_EXTRACTION, pipeline::getWorkerThreadIds,
+                () -> parser.parse(pipeline.getPool()));
+        }
+
+        /**
+         * Create a parser over the whole spec, or over the slice needed for the selected operations when lazy loading
+         */
+        private OpenAPIParser createParser() {
+            if (lazyLoading) {
+                try {
+                    LazySpecLoader loader = LazySpecLoader.index(specFile.toPath());
+                    if (loader.getUnsupportedReason() == null) {
+                        OpenAPI openAPI = loader.load(operationFilter);
+                        info("Loaded " + loader.getLoadedPathCount() + " of " + loader.getPathCount()
+                            + " paths and " + loader.getLoadedComponentCount() + " of " + loader.getComponentCount()
+                            + " components");
+                        return new OpenAPIParser(openAPI, new TypeMapper(openAPI, modelPackage));
+                    }
+                    info("Spec cannot be loaded lazily because " + loader.getUnsupportedReason()
+                        + ", parsing the whole spec");
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read OpenAPI spec: " + specFile.getAbsolutePath(), e);
+                }
+            }
+            return new OpenAPIParser(specFile.getAbsolutePath(), modelPackage);
+        }
+
+        /**
+         * Log the report and write it as JSON; a failure to write the report does not fail the build
+         */
+        private void saveReport(long wallNanos) {
+            report.setWallMillis(wallNanos / 1_000_000);
+
+            info("Generation report (" + report.getWallMillis() + " ms):");
+            for (GenerationReport.PhaseReport phase : report.getPhases().values()) {
+                info(String.format("  %-26s %6d ms wall %6d ms busy %10s allocated",
+                    phase.getName(), phase.getWallMillis(), phase.getBusyMillis(), formatBytes(phase.getAllocatedBytes())));
+            }
+            info("  Files: " + report.getFilesWritten() + " written, " + report.getFilesUnchanged()
+                + " unchanged, " + report.getFilesDeleted() + " deleted; "
+                + formatBytes(report.getBytesGenerated()) + " generated, " + formatBytes(report.getBytesWritten()) + " written");
+
+            Path reportFile = reportDirectory.toPath().resolve(id + ".report.json");
+            try {
+                report.save(reportFile);
+                getLog().debug("Wrote generation report: " + reportFile);
+            } catch (IOException e) {
+                getLog().warn("Failed to write generation report " + reportFile + ": " + e.getMessage());
+            }
+        }
+
+        private Path getStateFile() {
+            return stateDirectory.toPath().resolve(id + ".state.json");
+        }
+
+        /**
+         * Log a message, naming the activity when several specs are generated
+         */
+        private void info(String message) {
+            getLog().info(labelled ? "[" + activityName + "] " + message : message);
+        }
+
+        private void warn(String message) {
+            getLog().warn(labelled ? "[" + activityName + "] " + message : message);
         }
     }
 }
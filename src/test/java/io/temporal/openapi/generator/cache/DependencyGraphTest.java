@@ -0,0 +1,139 @@
+package io.temporal.openapi.generator.cache;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DependencyGraphTest {
+
+    private static final String PETSTORE = "example/src/main/resources/petstore-openapi.yaml";
+
+    @Test
+    public void hashesAreStableAcrossParses() {
+        DependencyGraph first = DependencyGraph.build(new OpenAPIV3Parser().read(PETSTORE));
+        DependencyGraph second = DependencyGraph.build(new OpenAPIV3Parser().read(PETSTORE));
+
+        assertEquals(first.getNodes().keySet(), second.getNodes().keySet());
+        for (String id : first.getNodes().keySet()) {
+            assertEquals(id, first.subgraphHash(id), second.subgraphHash(id));
+        }
+        assertEquals(first.aggregateHash(first.getNodes().keySet()),
+            second.aggregateHash(second.getNodes().keySet()));
+    }
+
+    @Test
+    public void hashesDoNotDependOnQueryOrder() {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        nodes.put("a", node("1", "b", "c"));
+        nodes.put("b", node("2", "c"));
+        nodes.put("c", node("3"));
+
+        DependencyGraph forward = new DependencyGraph(nodes);
+        DependencyGraph backward = new DependencyGraph(nodes);
+        List<String> ids = Arrays.asList("a", "b", "c");
+        List<String> forwardHashes = new ArrayList<>();
+        for (String id : ids) {
+            forwardHashes.add(forward.subgraphHash(id));
+        }
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            assertEquals(forwardHashes.get(i), backward.subgraphHash(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void changeReachesOnlyNodesThatReferenceIt() {
+        DependencyGraph before = new DependencyGraph(chain("3"));
+        DependencyGraph after = new DependencyGraph(chain("3'"));
+
+        assertNotEquals(before.subgraphHash("a"), after.subgraphHash("a"));
+        assertNotEquals(before.subgraphHash("c"), after.subgraphHash("c"));
+        assertEquals(before.subgraphHash("d"), after.subgraphHash("d"));
+    }
+
+    @Test
+    public void membersOfACycleShareOneHash() {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        nodes.put("entry", node("0", "a"));
+        nodes.put("a", node("1", "b"));
+        nodes.put("b", node("2", "c", "a"));
+        nodes.put("c", node("3", "a"));
+        nodes.put("leaf", node("4"));
+        nodes.get("b").getReferences().add("leaf");
+        DependencyGraph graph = new DependencyGraph(nodes);
+
+        String cycle = graph.subgraphHash("a");
+        assertEquals(cycle, graph.subgraphHash("b"));
+        assertEquals(cycle, graph.subgraphHash("c"));
+        assertNotEquals(cycle, graph.subgraphHash("entry"));
+        assertNotEquals(cycle, graph.subgraphHash("leaf"));
+
+        nodes.put("leaf", node("4'"));
+        DependencyGraph changed = new DependencyGraph(nodes);
+        assertNotEquals(cycle, changed.subgraphHash("b"));
+        assertNotEquals(graph.subgraphHash("entry"), changed.subgraphHash("entry"));
+    }
+
+    @Test
+    public void selfReferenceIsACycleOfOne() {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        nodes.put("tree", node("1", "tree"));
+        DependencyGraph graph = new DependencyGraph(nodes);
+
+        assertNotNull(graph.subgraphHash("tree"));
+        assertEquals(Collections.singleton("tree"), graph.reachableFrom(Collections.singleton("tree")));
+    }
+
+    @Test
+    public void danglingReferencesHashStably() {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        nodes.put("a", node("1", "missing"));
+
+        assertEquals(new DependencyGraph(nodes).subgraphHash("a"), new DependencyGraph(nodes).subgraphHash("a"));
+        assertEquals(new DependencyGraph(nodes).subgraphHash("missing"),
+            new DependencyGraph(new HashMap<>()).subgraphHash("missing"));
+    }
+
+    @Test
+    public void deepChainsDoNotExhaustTheStack() {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        int depth = 100_000;
+        for (int i = 0; i < depth; i++) {
+            nodes.put("n" + i, i + 1 < depth ? node(String.valueOf(i), "n" + (i + 1)) : node(String.valueOf(i), "n0"));
+        }
+        DependencyGraph graph = new DependencyGraph(nodes);
+
+        assertEquals(graph.subgraphHash("n0"), graph.subgraphHash("n" + (depth - 1)));
+    }
+
+    @Test
+    public void reachableSchemasFollowNestedReferences() {
+        OpenAPI openAPI = new OpenAPIV3Parser().read(PETSTORE);
+        DependencyGraph graph = DependencyGraph.build(openAPI);
+
+        Set<String> schemas = graph.reachableSchemas(
+            Collections.singleton(DependencyGraph.operationNodeId("get", "/pets/{petId}")));
+        assertTrue(schemas.contains("Pet"));
+        assertTrue(schemas.contains("Owner"));
+        assertTrue(openAPI.getComponents().getSchemas().keySet().containsAll(schemas));
+    }
+
+    /**
+     * a -> b -> c, with d standing alone; c carries the given content hash
+     */
+    private static Map<String, DependencyGraph.Node> chain(String leafHash) {
+        Map<String, DependencyGraph.Node> nodes = new LinkedHashMap<>();
+        nodes.put("a", node("1", "b"));
+        nodes.put("b", node("2", "c"));
+        nodes.put("c", node(leafHash));
+        nodes.put("d", node("4"));
+        return nodes;
+    }
+
+    private static DependencyGraph.Node node(String hash, String... references) {
+        return new DependencyGraph.Node(hash, new ArrayList<>(Arrays.asList(references)));
+    }
+}
@@ -0,0 +1,109 @@
+package io.temporal.openapi.generator.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.temporal.openapi.generator.model.JavaType;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.SpecModel;
+import io.temporal.openapi.generator.parser.OpenAPIParser;
+import io.temporal.openapi.generator.parser.TypeMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class SpecModelCacheTest {
+
+    private static final String PETSTORE = "example/src/main/resources/petstore-openapi.yaml";
+
+    /**
+     * Compares models by all their fields, since the model classes do not implement equals
+     */
+    private static final ObjectMapper FIELDS = new ObjectMapper()
+        .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+        .registerModule(new SimpleModule().addSerializer(JavaType.class, ToStringSerializer.instance));
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void loadedModelEqualsAFreshParse() throws Exception {
+        SpecModelCache cache = new SpecModelCache(temp.getRoot().toPath());
+        String key = SpecModelCache.key("spec-hash", "1.0.0", "models");
+        SpecModel parsed = parsePetstore();
+        assertTrue("the fixture should cover pagination",
+            parsed.getOperations().stream().anyMatch(operation -> operation.getPagination() != null));
+
+        cache.save(key, parsed);
+        SpecModel loaded = cache.load(key);
+
+        assertNotNull(loaded);
+        assertEquals(tree(parsePetstore()), tree(loaded));
+        for (OperationModel operation : loaded.getOperations()) {
+            String id = DependencyGraph.operationNodeId(operation.getHttpMethod(), operation.getPath());
+            assertEquals(parsed.getGraph().subgraphHash(id), loaded.getGraph().subgraphHash(id));
+        }
+    }
+
+    @Test
+    public void missingOrCorruptEntriesLoadAsNull() throws Exception {
+        SpecModelCache cache = new SpecModelCache(temp.getRoot().toPath());
+        String key = SpecModelCache.key("spec-hash", "1.0.0");
+        assertNull(cache.load(key));
+
+        cache.save(key, parsePetstore());
+        Path file = temp.getRoot().toPath().resolve(key + ".bin");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertNull(cache.load(key));
+    }
+
+    @Test
+    public void keyCoversExtractionSettings() {
+        assertEquals(SpecModelCache.key("spec-hash", "1.0.0", "models"),
+            SpecModelCache.key("spec-hash", "1.0.0", "models"));
+        assertNotEquals(SpecModelCache.key("spec-hash", "1.0.0", "models"),
+            SpecModelCache.key("spec-hash", "1.0.0", "other.models"));
+        assertNotEquals(SpecModelCache.key("spec-hash", "1.0.0"), SpecModelCache.key("spec-hash", "1.0.1"));
+    }
+
+    /**
+     * Parse the petstore spec with listPets paginated by an added offset parameter, a rate limit on
+     * getPet, batch variants and an Idempotency-Key, so every part of the format is written
+     */
+    private static SpecModel parsePetstore() {
+        OpenAPI openAPI = new OpenAPIV3Parser().read(PETSTORE);
+        openAPI.getPaths().get("/pets").getGet().addParametersItem(new QueryParameter()
+            .name("offset")
+            .schema(new IntegerSchema()));
+        openAPI.getPaths().get("/pets/{petId}").getGet().addExtension("x-rate-limit", 2.5);
+
+        OpenAPIParser parser = new OpenAPIParser(openAPI, new TypeMapper(openAPI, "com.example.petstore.client.model"));
+        parser.setDetectPagination(true);
+        parser.setBatchOperations(Arrays.asList("getPet", "updatePet"), 4);
+        parser.setIdempotencyKeyOperations(Collections.singletonList("createPet"));
+        return parser.parse(ForkJoinPool.commonPool());
+    }
+
+    private static JsonNode tree(SpecModel spec) {
+        return FIELDS.valueToTree(spec);
+    }
+}
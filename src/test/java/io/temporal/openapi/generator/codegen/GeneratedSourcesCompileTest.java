@@ -0,0 +1,132 @@
+package io.temporal.openapi.generator.codegen;
+
+import com.squareup.javapoet.JavaFile;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.temporal.openapi.generator.model.OperationModel;
+import io.temporal.openapi.generator.model.SchemaModel;
+import io.temporal.openapi.generator.model.SpecModel;
+import io.temporal.openapi.generator.parser.OpenAPIParser;
+import io.temporal.openapi.generator.parser.TypeMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles everything generated for the petstore spec, with batch variants, pagination and operation
+ * metrics enabled, against stubs of the OpenAPI Generator client under {@code petstore-client}
+ */
+public class GeneratedSourcesCompileTest {
+
+    private static final String PETSTORE = "example/src/main/resources/petstore-openapi.yaml";
+    private static final String PACKAGE_NAME = "com.example.petstore.temporal.activities";
+    private static final String API_CLIENT_PACKAGE = "com.example.petstore.client.api";
+    private static final String MODEL_PACKAGE = "com.example.petstore.client.model";
+    private static final String ACTIVITY_NAME = "PetStoreActivity";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void petstoreWithBatchPaginationAndMetricsCompiles() throws Exception {
+        SpecModel spec = parsePetstore();
+        List<OperationModel> operations = spec.getOperations();
+        assertTrue("no operation has a batch variant", BatchGenerator.hasBatch(operations));
+        assertTrue("no operation is paginated", PaginationGenerator.hasPagination(operations));
+
+        List<JavaFile> files = new ArrayList<>();
+        // Stand in for the models OpenAPI Generator creates alongside the client
+        ModelGenerator modelGenerator = new ModelGenerator(MODEL_PACKAGE);
+        for (SchemaModel schema : spec.getSchemas()) {
+            JavaFile model = modelGenerator.generateModel(schema);
+            if (model != null) {
+                files.add(model);
+            }
+        }
+        files.add(new ActivityInterfaceGenerator(PACKAGE_NAME, ACTIVITY_NAME).generateActivityInterface(operations));
+        files.add(new ActivityOptionsGenerator(PACKAGE_NAME, ACTIVITY_NAME).generateActivityOptions(operations));
+        files.add(new ActivityAsyncGenerator(PACKAGE_NAME, ACTIVITY_NAME).generateActivityAsync(operations));
+        files.add(new ActivityImplementationGenerator(PACKAGE_NAME, ACTIVITY_NAME, API_CLIENT_PACKAGE,
+            CompletionMode.BLOCKING, true).generateImplementation(operations));
+        files.add(new WorkerGenerator(PACKAGE_NAME, ACTIVITY_NAME, API_CLIENT_PACKAGE, CompletionMode.BLOCKING, false)
+            .generateWorker(operations));
+        BatchGenerator batchGenerator = new BatchGenerator(PACKAGE_NAME);
+        files.add(batchGenerator.generateBatchItemResult());
+        files.add(batchGenerator.generateBatchExecution());
+        PaginationGenerator paginationGenerator = new PaginationGenerator(PACKAGE_NAME);
+        files.add(paginationGenerator.generatePaginationProgress());
+        files.add(paginationGenerator.generatePageSink());
+
+        compile(files);
+    }
+
+    /**
+     * Parse the petstore spec with an offset parameter added to listPets, so that it is detected as
+     * paginated, every operation selected for a batch variant and createPet sending an Idempotency-Key
+     */
+    private static SpecModel parsePetstore() {
+        OpenAPI openAPI = new OpenAPIV3Parser().read(PETSTORE);
+        assertNotNull(openAPI);
+        openAPI.getPaths().get("/pets").getGet().addParametersItem(new QueryParameter()
+            .name("offset")
+            .schema(new IntegerSchema()));
+
+        OpenAPIParser parser = new OpenAPIParser(openAPI, new TypeMapper(openAPI, MODEL_PACKAGE));
+        parser.setDetectPagination(true);
+        parser.setBatchOperations(Arrays.asList("listPets", "createPet", "getPet", "updatePet", "deletePet",
+            "getPetVaccinations"), 4);
+        parser.setIdempotencyKeyOperations(Collections.singletonList("createPet"));
+        return parser.parse(ForkJoinPool.commonPool());
+    }
+
+    private void compile(List<JavaFile> files) throws IOException, URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("tests must run on a JDK", compiler);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager =
+                 compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            List<JavaFileObject> sources = new ArrayList<>();
+            for (JavaFile file : files) {
+                sources.add(file.toJavaFileObject());
+            }
+            Path stubs = Paths.get(getClass().getResource("/petstore-client").toURI());
+            try (Stream<Path> paths = Files.walk(stubs)) {
+                for (JavaFileObject stub : fileManager.getJavaFileObjectsFromPaths(
+                        paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList()))) {
+                    sources.add(stub);
+                }
+            }
+
+            // Surefire may put the test classpath into a manifest-only jar
+            String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+            List<String> options = Arrays.asList("-classpath", classPath, "-d", temp.getRoot().getPath(),
+                "-proc:none", "--release", "17");
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+
+            String errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> (diagnostic.getSource() != null ? diagnostic.getSource().getName() : "")
+                    + ":" + diagnostic.getLineNumber() + ": " + diagnostic.getMessage(Locale.ROOT))
+                .collect(Collectors.joining("\n"));
+            assertTrue("generated sources do not compile:\n" + errors, compiled);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.temporal.openapi.generator.parser;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OperationFilterTest {
+
+    private static final List<String> PETS = Collections.singletonList("pets");
+
+    @Test
+    public void singleStarMatchesOneSegment() {
+        assertTrue(OperationFilter.compileGlob("/pets/*").matcher("/pets/{petId}").matches());
+        assertFalse(OperationFilter.compileGlob("/pets/*").matcher("/pets/{petId}/vaccinations").matches());
+        assertFalse(OperationFilter.compileGlob("/pets/*").matcher("/pets").matches());
+    }
+
+    @Test
+    public void doubleStarMatchesAnyNumberOfSegments() {
+        assertTrue(OperationFilter.compileGlob("/pets/**").matcher("/pets/{petId}").matches());
+        assertTrue(OperationFilter.compileGlob("/pets/**").matcher("/pets/{petId}/vaccinations").matches());
+        assertTrue(OperationFilter.compileGlob("/**/vaccinations").matcher("/pets/{petId}/vaccinations").matches());
+        assertFalse(OperationFilter.compileGlob("/pets/**").matcher("/stores/1").matches());
+    }
+
+    @Test
+    public void questionMarkMatchesOneCharacterWithinASegment() {
+        assertTrue(OperationFilter.compileGlob("/v?/pets").matcher("/v1/pets").matches());
+        assertFalse(OperationFilter.compileGlob("/v?/pets").matcher("/v10/pets").matches());
+        assertFalse(OperationFilter.compileGlob("/v?pets").matcher("/v/pets").matches());
+    }
+
+    @Test
+    public void regexCharactersInGlobsAreLiteral() {
+        assertTrue(OperationFilter.compileGlob("/pets/{petId}").matcher("/pets/{petId}").matches());
+        assertTrue(OperationFilter.compileGlob("/pets.json").matcher("/pets.json").matches());
+        assertFalse(OperationFilter.compileGlob("/pets.json").matcher("/pets-json").matches());
+    }
+
+    @Test
+    public void emptyFilterSelectsEverything() {
+        OperationFilter filter = new OperationFilter();
+
+        assertTrue(filter.isEmpty());
+        assertTrue(filter.matches("DELETE", "/pets/{petId}", "deletePet", null));
+    }
+
+    @Test
+    public void includeCriteriaOfDifferentKindsMustAllMatch() {
+        OperationFilter filter = new OperationFilter();
+        filter.setIncludePaths(Collections.singletonList("/pets/**"));
+        filter.setIncludeMethods(Collections.singletonList("get"));
+
+        assertTrue(filter.matches("GET", "/pets/{petId}", "getPet", PETS));
+        assertFalse(filter.matches("DELETE", "/pets/{petId}", "deletePet", PETS));
+        assertFalse(filter.matches("GET", "/pets", "listPets", PETS));
+    }
+
+    @Test
+    public void excludeGlobWinsOverInclude() {
+        OperationFilter filter = new OperationFilter();
+        filter.setIncludeTags(PETS);
+        filter.setExcludePaths(Arrays.asList("/pets/*/vaccinations", "/admin/**"));
+
+        assertTrue(filter.matches("GET", "/pets/{petId}", "getPet", PETS));
+        assertFalse(filter.matches("GET", "/pets/{petId}/vaccinations", "getPetVaccinations", PETS));
+        assertFalse(filter.matches("GET", "/pets", "listPets", Collections.singletonList("store")));
+    }
+
+    @Test
+    public void replacingPathsRecompilesTheGlobs() {
+        OperationFilter filter = new OperationFilter();
+        filter.setIncludePaths(Collections.singletonList("/pets"));
+        assertFalse(filter.matches("GET", "/stores", "listStores", null));
+
+        filter.setIncludePaths(Collections.singletonList("/stores"));
+        assertTrue(filter.matches("GET", "/stores", "listStores", null));
+    }
+}
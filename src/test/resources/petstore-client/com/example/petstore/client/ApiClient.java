@@ -0,0 +1,21 @@
+package com.example.petstore.client;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+
+/**
+ * The parts of the OpenAPI Generator native ApiClient the generated activities use
+ */
+public class ApiClient {
+
+    private Consumer<HttpRequest.Builder> interceptor;
+
+    public ApiClient setRequestInterceptor(Consumer<HttpRequest.Builder> interceptor) {
+        this.interceptor = interceptor;
+        return this;
+    }
+
+    public Consumer<HttpRequest.Builder> getRequestInterceptor() {
+        return interceptor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.petstore.client;
+
+import java.net.http.HttpHeaders;
+
+/**
+ * The parts of the OpenAPI Generator native ApiException the generated activities use
+ */
+public class ApiException extends Exception {
+
+    private final int code;
+    private final HttpHeaders responseHeaders;
+    private final String responseBody;
+
+    public ApiException(int code, String message, HttpHeaders responseHeaders, String responseBody) {
+        super(message);
+        this.code = code;
+        this.responseHeaders = responseHeaders;
+        this.responseBody = responseBody;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public HttpHeaders getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
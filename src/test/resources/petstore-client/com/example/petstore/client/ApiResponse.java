@@ -0,0 +1,32 @@
+package com.example.petstore.client;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of the OpenAPI Generator native ApiResponse the generated activities use
+ */
+public class ApiResponse<T> {
+
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final T data;
+
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, T data) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.data = data;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public T getData() {
+        return data;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.petstore.client.api;
+
+import com.example.petstore.client.ApiClient;
+import com.example.petstore.client.ApiException;
+import com.example.petstore.client.ApiResponse;
+import com.example.petstore.client.model.NewPet;
+import com.example.petstore.client.model.Pet;
+import com.example.petstore.client.model.Vaccination;
+
+import java.util.List;
+
+/**
+ * The signatures OpenAPI Generator's native library produces for the petstore spec, with the
+ * offset query parameter GeneratedSourcesCompileTest adds to listPets
+ */
+public class PetsApi {
+
+    public PetsApi(ApiClient apiClient) {
+    }
+
+    public ApiResponse<List<Pet>> listPetsWithHttpInfo(Integer limit, String tag, Integer offset) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+
+    public ApiResponse<Pet> createPetWithHttpInfo(NewPet newPet) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+
+    public ApiResponse<Pet> getPetWithHttpInfo(Long petId) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+
+    public ApiResponse<Pet> updatePetWithHttpInfo(Long petId, NewPet newPet) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+
+    public ApiResponse<Void> deletePetWithHttpInfo(Long petId) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+
+    public ApiResponse<List<Vaccination>> getPetVaccinationsWithHttpInfo(Long petId) throws ApiException {
+        throw new UnsupportedOperationException();
+    }
+}